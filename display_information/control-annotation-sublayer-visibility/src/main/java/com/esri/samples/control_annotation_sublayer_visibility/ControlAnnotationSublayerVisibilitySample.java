@@ -45,6 +45,7 @@ public class ControlAnnotationSublayerVisibilitySample extends Application {
 
   private MapView mapView;
   private MobileMapPackage mobileMapPackage;
+  private boolean openSublayerInScale = true;
 
   @Override
   public void start(Stage stage) {
@@ -115,12 +116,14 @@ public class ControlAnnotationSublayerVisibilitySample extends Application {
                   closedSublayerCheckbox.setOnAction(event -> closedSublayer.setVisible(closedSublayerCheckbox.isSelected()));
                   openSublayerCheckbox.setOnAction(event -> openSublayer.setVisible(openSublayerCheckbox.isSelected()));
 
-                  // gray out the open sublayer when the layer is out of scale
+                  // gray out the open sublayer when the layer is out of scale, restyling only when it moves in or out
+                  // of its scale range rather than on every scale change
+                  openSublayerCheckbox.setStyle("-fx-text-fill: white");
                   mapView.addMapScaleChangedListener(mapScaleChangedEvent -> {
-                    if (openSublayer.isVisibleAtScale(mapView.getMapScale())) {
-                      openSublayerCheckbox.setStyle("-fx-text-fill: white");
-                    } else {
-                      openSublayerCheckbox.setStyle("-fx-text-fill: darkgrey");
+                    boolean inScale = openSublayer.isVisibleAtScale(mapView.getMapScale());
+                    if (inScale != openSublayerInScale) {
+                      openSublayerInScale = inScale;
+                      openSublayerCheckbox.setStyle(inScale ? "-fx-text-fill: white" : "-fx-text-fill: darkgrey");
                     }
                   });
 
@@ -16,15 +16,8 @@
 
 package com.esri.samples.dictionary_renderer_graphics_overlay;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-
 import java.io.File;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -53,6 +46,9 @@ public class DictionaryRendererGraphicsOverlaySample extends Application {
   private MapView mapView;
   private GraphicsOverlay graphicsOverlay;
 
+  // number of graphics added to the graphics overlay at a time while parsing messages
+  private static final int BATCH_SIZE = 500;
+
   @Override
   public void start(Stage stage) throws Exception {
     mapView = new MapView();
@@ -87,13 +83,8 @@ public class DictionaryRendererGraphicsOverlaySample extends Application {
     DictionaryRenderer renderer = new DictionaryRenderer(symbolDictionary);
     graphicsOverlay.setRenderer(renderer);
 
-    // parse graphic attributes from a XML file
-    List<Map<String, Object>> messages = parseMessages();
-
-    // create graphics with attributes and add to graphics overlay
-    messages.stream()
-        .map(DictionaryRendererGraphicsOverlaySample::createGraphic)
-        .collect(Collectors.toCollection(() -> graphicsOverlay.getGraphics()));
+    // parse graphic attributes from a XML file, adding graphics to the graphics overlay as they are read
+    parseMessages();
 
     // once view has loaded
     mapView.addSpatialReferenceChangedListener(e -> {
@@ -103,31 +94,25 @@ public class DictionaryRendererGraphicsOverlaySample extends Application {
   }
 
   /**
-   * Parses a XML file following the mil2525d specification and creates a message for each block of attributes found.
+   * Streams through a XML file following the mil2525d specification and creates a graphic for each block of
+   * attributes found. Graphics are added to the graphics overlay in batches so the whole file never needs to be held
+   * in memory.
    */
-  private List<Map<String, Object>> parseMessages() throws Exception {
+  private void parseMessages() throws Exception {
 
     File mil2525dFile = new File(System.getProperty("data.dir"), "./samples-data/xml/Mil2525DMessages.xml");
-    DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
-    DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
-    Document document = documentBuilder.parse(mil2525dFile);
-    document.getDocumentElement().normalize();
-
-    final List<Map<String, Object>> messages = new ArrayList<>();
 
-    for (int i = 0; i < document.getElementsByTagName("message").getLength() ; i++) {
-      Node message = document.getElementsByTagName("message").item(i);
-
-      Map<String, Object> attributes = new HashMap<>();
-
-      NodeList childNodes = message.getChildNodes();
-      for (int j = 0; j < childNodes.getLength() ; j++) {
-        attributes.put(childNodes.item(j).getNodeName(), childNodes.item(j).getTextContent());
+    List<Graphic> batch = new ArrayList<>(BATCH_SIZE);
+    Mil2525dMessageReader.read(mil2525dFile, attributes -> {
+      batch.add(createGraphic(attributes));
+      if (batch.size() == BATCH_SIZE) {
+        graphicsOverlay.getGraphics().addAll(batch);
+        batch.clear();
       }
-      messages.add(attributes);
-    }
+    });
 
-    return messages;
+    // add any remaining graphics
+    graphicsOverlay.getGraphics().addAll(batch);
   }
 
   /**
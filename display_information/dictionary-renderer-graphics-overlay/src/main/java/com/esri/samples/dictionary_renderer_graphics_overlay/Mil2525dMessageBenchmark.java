@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.dictionary_renderer_graphics_overlay;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how many messages per second {@link Mil2525dMessageReader} reads with a {@code XMLStreamReader}, and the peak
+ * heap it uses, against parsing the whole file into a DOM document as the sample used to. No UI is shown.
+ *
+ * <p>The sample's message file is small, so its messages are repeated into a larger temporary file first. The DOM
+ * path looks up the list of messages again for each message, so its time grows with the square of the message count;
+ * keep the number of copies modest.
+ *
+ * <p>Usage: {@code Mil2525dMessageBenchmark [XML path] [copies] [rounds]}. The sample's message file is read by
+ * default.
+ */
+public class Mil2525dMessageBenchmark {
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args optional XML path, number of copies of each message and number of rounds
+   */
+  public static void main(String[] args) throws Exception {
+
+    File mil2525dFile = args.length > 0 ? new File(args[0]) : new File(System.getProperty("data.dir"),
+      "./samples-data/xml/Mil2525DMessages.xml");
+    int copies = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+    int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+    File file = File.createTempFile("mil2525d-messages", ".xml");
+    try {
+      int messageCount = writeCopies(mil2525dFile, file, copies);
+      System.out.printf("%d messages, %.1f MB%n", messageCount, file.length() / 1e6);
+
+      for (int round = 1; round <= rounds; round++) {
+        System.out.printf("Round %d:%n", round);
+
+        // stream the messages, keeping none of them
+        LongAdder streamed = new LongAdder();
+        resetPeakHeap();
+        long start = System.nanoTime();
+        Mil2525dMessageReader.read(file, attributes -> streamed.increment());
+        report("StAX", start, streamed.sum());
+
+        // parse the whole document, then get the messages from it
+        resetPeakHeap();
+        start = System.nanoTime();
+        List<Map<String, Object>> messages = Mil2525dMessageReader.readWithDom(file);
+        report("DOM", start, messages.size());
+        messages = null;
+      }
+    } finally {
+      Files.delete(file.toPath());
+    }
+  }
+
+  /**
+   * Writes each message of a file to another file a number of times.
+   *
+   * @return the number of messages written
+   */
+  private static int writeCopies(File source, File destination, int copies) throws Exception {
+    List<Map<String, Object>> messages = new ArrayList<>();
+    Mil2525dMessageReader.read(source, messages::add);
+
+    try (OutputStream outputStream = new FileOutputStream(destination)) {
+      XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream, "UTF-8");
+      try {
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.writeStartElement("messages");
+        for (int copy = 0; copy < copies; copy++) {
+          for (Map<String, Object> attributes : messages) {
+            writer.writeStartElement("message");
+            for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+              writer.writeStartElement(attribute.getKey());
+              writer.writeCharacters(String.valueOf(attribute.getValue()));
+              writer.writeEndElement();
+            }
+            writer.writeEndElement();
+          }
+        }
+        writer.writeEndElement();
+        writer.writeEndDocument();
+      } finally {
+        writer.close();
+      }
+    }
+    return messages.size() * copies;
+  }
+
+  /**
+   * Collects garbage, then resets the peak usage of each heap memory pool.
+   */
+  private static void resetPeakHeap() {
+    System.gc();
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        pool.resetPeakUsage();
+      }
+    }
+  }
+
+  /**
+   * Prints the time since a start time with the message throughput and the peak heap use since the pools were reset.
+   * The peaks of the pools are added together, so this overstates the peak when pools peak at different times.
+   */
+  private static void report(String method, long start, long messageCount) {
+    double seconds = (System.nanoTime() - start) / 1e9;
+    long peakHeap = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        peakHeap += pool.getPeakUsage().getUsed();
+      }
+    }
+    System.out.printf("  %-8s %8.2f s %12.0f messages/s %10.1f MB peak heap%n", method, seconds,
+      messageCount / seconds, peakHeap / 1e6);
+  }
+}
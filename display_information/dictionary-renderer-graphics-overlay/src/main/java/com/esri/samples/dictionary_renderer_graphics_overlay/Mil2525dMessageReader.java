@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.dictionary_renderer_graphics_overlay;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads the messages of a XML file following the mil2525d specification, as a map of key/value pairs for each block
+ * of attributes.
+ */
+public class Mil2525dMessageReader {
+
+  private Mil2525dMessageReader() {
+  }
+
+  /**
+   * Streams through the file with an {@link XMLStreamReader}, passing each message on as soon as it has been read, so
+   * the whole file never needs to be held in memory.
+   *
+   * @param file the XML file
+   * @param messageConsumer called with the attributes of each message
+   * @throws Exception if the file can't be read or parsed
+   */
+  public static void read(File file, Consumer<Map<String, Object>> messageConsumer) throws Exception {
+
+    XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+
+    try (InputStream inputStream = new FileInputStream(file)) {
+      XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(inputStream);
+      try {
+        Map<String, Object> attributes = null;
+        while (reader.hasNext()) {
+          if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+            String name = reader.getLocalName();
+            if ("message".equals(name)) {
+              // start collecting the attributes of a new message
+              attributes = new HashMap<>();
+            } else if (attributes != null) {
+              // each child of a message is a key/value pair
+              attributes.put(name, reader.getElementText());
+            }
+          } else if (reader.isEndElement() && "message".equals(reader.getLocalName()) && attributes != null) {
+            messageConsumer.accept(attributes);
+            attributes = null;
+          }
+        }
+      } finally {
+        reader.close();
+      }
+    }
+  }
+
+  /**
+   * Parses the whole file into a DOM document and returns every message at once. This is how the sample used to read
+   * the file, and is kept to compare against {@link #read(File, Consumer)}.
+   *
+   * @param file the XML file
+   * @return the attributes of each message
+   * @throws Exception if the file can't be read or parsed
+   */
+  public static List<Map<String, Object>> readWithDom(File file) throws Exception {
+
+    DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+    DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
+    Document document = documentBuilder.parse(file);
+    document.getDocumentElement().normalize();
+
+    final List<Map<String, Object>> messages = new ArrayList<>();
+
+    for (int i = 0; i < document.getElementsByTagName("message").getLength() ; i++) {
+      Node message = document.getElementsByTagName("message").item(i);
+
+      Map<String, Object> attributes = new HashMap<>();
+
+      NodeList childNodes = message.getChildNodes();
+      for (int j = 0; j < childNodes.getLength() ; j++) {
+        attributes.put(childNodes.item(j).getNodeName(), childNodes.item(j).getTextContent());
+      }
+      messages.add(attributes);
+    }
+
+    return messages;
+  }
+}
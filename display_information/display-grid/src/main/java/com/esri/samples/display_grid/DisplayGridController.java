@@ -16,11 +16,15 @@
 
 package com.esri.samples.display_grid;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import javafx.beans.binding.Bindings;
 import javafx.fxml.FXML;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.ColorPicker;
 import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
 import javafx.scene.paint.Color;
 
 import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
@@ -29,6 +33,7 @@ import com.esri.arcgisruntime.geometry.SpatialReferences;
 import com.esri.arcgisruntime.mapping.ArcGISMap;
 import com.esri.arcgisruntime.mapping.BasemapStyle;
 import com.esri.arcgisruntime.mapping.Viewpoint;
+import com.esri.arcgisruntime.mapping.view.DrawStatus;
 import com.esri.arcgisruntime.mapping.view.Grid;
 import com.esri.arcgisruntime.mapping.view.LatitudeLongitudeGrid;
 import com.esri.arcgisruntime.mapping.view.MapView;
@@ -50,6 +55,20 @@ public class DisplayGridController {
   @FXML private ColorPicker labelColorPicker;
   @FXML private ComboBox<Grid.LabelPosition> labelPositionComboBox;
   @FXML private ComboBox<LatitudeLongitudeGrid.LabelFormat> labelFormatComboBox;
+  @FXML private Label redrawLabel;
+
+  private static final int GRID_CACHE_SIZE = 8;
+
+  // grids already built, keyed by grid type and colors, so their symbols are only created once
+  private final Map<String, Grid> gridCache = new LinkedHashMap<String, Grid>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Grid> eldest) {
+      return size() > GRID_CACHE_SIZE;
+    }
+  };
+
+  private GridType redrawGridType;
+  private long redrawStart;
 
   /**
    * Used for combo box.
@@ -94,6 +113,15 @@ public class DisplayGridController {
         gridTypeComboBox.getSelectionModel().selectedItemProperty())
     );
 
+    // show how long the map view takes to finish drawing after the grid is replaced
+    mapView.addDrawStatusChangedListener(e -> {
+      if (e.getDrawStatus() == DrawStatus.COMPLETED && redrawStart != 0) {
+        long milliseconds = (System.nanoTime() - redrawStart) / 1000000;
+        redrawLabel.setText(redrawGridType + " grid drawn in " + milliseconds + " ms");
+        redrawStart = 0;
+      }
+    });
+
     // update the grid with the default values on start
     updateGrid();
   }
@@ -103,9 +131,45 @@ public class DisplayGridController {
    */
   @FXML
   private void updateGrid() {
+    // get the grid for the selected type and colors, reusing it and its symbols if it was built before
+    GridType gridType = gridTypeComboBox.getSelectionModel().getSelectedItem();
+    int gridColor = ColorUtil.colorToArgb(gridColorPicker.getValue());
+    int labelColor = ColorUtil.colorToArgb(labelColorPicker.getValue());
+    Grid grid = gridCache.computeIfAbsent(gridType + ":" + gridColor + ":" + labelColor,
+        key -> createGrid(gridType, gridColor, labelColor));
+
+    // grid visibility
+    grid.setVisible(gridVisibleCheckBox.isSelected());
+
+    // label visibility
+    grid.setLabelVisible(labelsVisibleCheckBox.isSelected());
+
+    // label position and format
+    if (grid instanceof LatitudeLongitudeGrid) {
+      grid.setLabelPosition(labelPositionComboBox.getSelectionModel().getSelectedItem());
+      ((LatitudeLongitudeGrid) grid).setLabelFormat(labelFormatComboBox.getSelectionModel().getSelectedItem());
+    }
+
+    // set the grid, timing the redraw if it replaces a different grid
+    if (mapView.getGrid() != grid) {
+      redrawGridType = gridType;
+      redrawStart = System.nanoTime();
+      mapView.setGrid(grid);
+    }
+  }
+
+  /**
+   * Creates a grid of the given type, with lines and labels for each grid level in the given colors.
+   *
+   * @param gridType the type of grid
+   * @param gridColor color of the grid lines
+   * @param labelColor color of the grid labels
+   * @return the grid
+   */
+  private Grid createGrid(GridType gridType, int gridColor, int labelColor) {
     // grid type
     Grid grid = null;
-    switch (gridTypeComboBox.getSelectionModel().getSelectedItem()) {
+    switch (gridType) {
       case LAT_LON:
         grid = new LatitudeLongitudeGrid();
         break;
@@ -123,32 +187,17 @@ public class DisplayGridController {
     // color the grid lines and labels for each grid level
     for (int i = 0; i < grid.getLevelCount(); i++) {
       // grid lines
-      LineSymbol gridLineSymbol = new SimpleLineSymbol(SimpleLineSymbol.Style.SOLID, ColorUtil.colorToArgb(gridColorPicker
-          .getValue()), 1 + i);
+      LineSymbol gridLineSymbol = new SimpleLineSymbol(SimpleLineSymbol.Style.SOLID, gridColor, 1 + i);
       grid.setLineSymbol(i, gridLineSymbol);
 
       // labels
-      TextSymbol labelTextSymbol = new TextSymbol(14, "text", ColorUtil.colorToArgb(labelColorPicker.getValue()),
-          TextSymbol.HorizontalAlignment.LEFT, TextSymbol.VerticalAlignment.BOTTOM);
+      TextSymbol labelTextSymbol = new TextSymbol(14, "text", labelColor, TextSymbol.HorizontalAlignment.LEFT,
+          TextSymbol.VerticalAlignment.BOTTOM);
       labelTextSymbol.setHaloColor(0xFFFFFFFF); //white
       labelTextSymbol.setHaloWidth(2 + i);
       grid.setTextSymbol(i, labelTextSymbol);
     }
-
-    // grid visibility
-    grid.setVisible(gridVisibleCheckBox.isSelected());
-
-    // label visibility
-    grid.setLabelVisible(labelsVisibleCheckBox.isSelected());
-
-    // label position and format
-    if (grid instanceof LatitudeLongitudeGrid) {
-      grid.setLabelPosition(labelPositionComboBox.getSelectionModel().getSelectedItem());
-      ((LatitudeLongitudeGrid) grid).setLabelFormat(labelFormatComboBox.getSelectionModel().getSelectedItem());
-    }
-
-    // set the grid
-    mapView.setGrid(grid);
+    return grid;
   }
 
   /**
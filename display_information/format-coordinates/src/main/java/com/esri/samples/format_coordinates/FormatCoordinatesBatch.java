@@ -0,0 +1,224 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.format_coordinates;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
+import com.esri.arcgisruntime.ArcGISRuntimeException;
+import com.esri.arcgisruntime.geometry.CoordinateFormatter;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+
+/**
+ * Converts a file of coordinate strings from one notation to another without showing a UI.
+ *
+ * <p>The input file has one coordinate string per line. Each line of the output file holds the input string and the
+ * converted string separated by a tab, or the input string alone if it could not be converted. The file is read and
+ * written a chunk of lines at a time, and the lines of each chunk are converted in parallel.
+ *
+ * <p>Usage: {@code FormatCoordinatesBatch <input file> <output file> <from notation> <to notation> [threads]}, where
+ * a notation is one of DD, DMS, UTM, USNG or MGRS.
+ */
+public class FormatCoordinatesBatch {
+
+  // number of lines read, converted and written at a time
+  static final int CHUNK_SIZE = 10000;
+
+  /**
+   * The coordinate notations the batch can convert between.
+   */
+  enum Notation {
+    DD, DMS, UTM, USNG, MGRS;
+
+    /**
+     * Parses a coordinate string in this notation to a WGS84 point.
+     *
+     * @param coordinates the coordinate string
+     * @return the point, or null if the string could not be parsed
+     */
+    Point parse(String coordinates) {
+      switch (this) {
+        case DD:
+        case DMS:
+          return CoordinateFormatter.fromLatitudeLongitude(coordinates, SpatialReferences.getWgs84());
+        case UTM:
+          return CoordinateFormatter.fromUtm(coordinates, SpatialReferences.getWgs84(),
+              CoordinateFormatter.UtmConversionMode.LATITUDE_BAND_INDICATORS);
+        case USNG:
+          return CoordinateFormatter.fromUsng(coordinates, SpatialReferences.getWgs84());
+        default:
+          return CoordinateFormatter.fromMgrs(coordinates, SpatialReferences.getWgs84(),
+              CoordinateFormatter.MgrsConversionMode.AUTOMATIC);
+      }
+    }
+
+    /**
+     * Formats a point as a coordinate string in this notation.
+     *
+     * @param point the point
+     * @return the coordinate string
+     */
+    String format(Point point) {
+      switch (this) {
+        case DD:
+          return CoordinateFormatter.toLatitudeLongitude(point,
+              CoordinateFormatter.LatitudeLongitudeFormat.DECIMAL_DEGREES, 4);
+        case DMS:
+          return CoordinateFormatter.toLatitudeLongitude(point,
+              CoordinateFormatter.LatitudeLongitudeFormat.DEGREES_MINUTES_SECONDS, 1);
+        case UTM:
+          return CoordinateFormatter.toUtm(point, CoordinateFormatter.UtmConversionMode.LATITUDE_BAND_INDICATORS, true);
+        case USNG:
+          return CoordinateFormatter.toUsng(point, 4, true);
+        default:
+          return CoordinateFormatter.toMgrs(point, CoordinateFormatter.MgrsConversionMode.AUTOMATIC, 4, true);
+      }
+    }
+  }
+
+  /**
+   * Runs the batch conversion.
+   *
+   * @param args input file, output file, from notation, to notation and an optional thread count
+   */
+  public static void main(String[] args) throws Exception {
+
+    if (args.length < 4) {
+      System.err.println("Usage: FormatCoordinatesBatch <input file> <output file> <from notation> <to notation> " +
+          "[threads]");
+      System.exit(1);
+    }
+
+    Notation from = Notation.valueOf(args[2].toUpperCase(Locale.ROOT));
+    Notation to = Notation.valueOf(args[3].toUpperCase(Locale.ROOT));
+    int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+    // the coordinate formatter needs the runtime, but not a map view
+    ArcGISRuntimeEnvironment.initialize();
+
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    long count = 0;
+    long failed = 0;
+    long start = System.nanoTime();
+
+    try (BufferedReader reader = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8);
+         BufferedWriter writer = Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+
+      List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+      String line;
+      while ((line = reader.readLine()) != null) {
+        chunk.add(line);
+        if (chunk.size() == CHUNK_SIZE) {
+          List<String> converted = convertChunk(pool, chunk, from, to);
+          writeLines(writer, converted);
+          count += chunk.size();
+          failed += countFailed(converted);
+          chunk.clear();
+        }
+      }
+      List<String> converted = convertChunk(pool, chunk, from, to);
+      writeLines(writer, converted);
+      count += chunk.size();
+      failed += countFailed(converted);
+    } finally {
+      pool.shutdown();
+    }
+
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("Converted %d coordinates from %s to %s on %d threads in %.2f s (%.0f points/s), %d failed%n",
+        count, from, to, threads, seconds, count / seconds, failed);
+
+    ArcGISRuntimeEnvironment.dispose();
+  }
+
+  /**
+   * Converts the lines of a chunk in parallel, keeping their order.
+   *
+   * @param pool pool to run the conversions on
+   * @param chunk lines to convert
+   * @param from notation of the lines
+   * @param to notation to convert to
+   * @return the output lines
+   */
+  static List<String> convertChunk(ForkJoinPool pool, List<String> chunk, Notation from, Notation to)
+      throws Exception {
+    return pool.submit(() -> chunk.parallelStream()
+        .map(line -> convert(line, from, to))
+        .collect(Collectors.toList()))
+        .get();
+  }
+
+  /**
+   * Converts a single line, returning the input line with the converted string appended after a tab, or the trimmed
+   * input line alone if it could not be converted.
+   *
+   * @param line coordinate string to convert
+   * @param from notation of the line
+   * @param to notation to convert to
+   * @return the output line
+   */
+  static String convert(String line, Notation from, Notation to) {
+    String coordinates = line.trim();
+    if (coordinates.isEmpty()) {
+      return line;
+    }
+    try {
+      // some strings in the wrong format parse to no point rather than throwing
+      Point point = from.parse(coordinates);
+      String converted = point == null ? null : to.format(point);
+      return converted == null ? coordinates : coordinates + "\t" + converted;
+    } catch (ArcGISRuntimeException e) {
+      // leave lines in the wrong format unconverted
+      return coordinates;
+    }
+  }
+
+  /**
+   * Counts the output lines of coordinate strings that could not be converted.
+   *
+   * @param lines output lines
+   * @return the number of lines without a converted string
+   */
+  static long countFailed(List<String> lines) {
+    return lines.stream()
+        .filter(line -> !line.trim().isEmpty() && line.indexOf('\t') < 0)
+        .count();
+  }
+
+  /**
+   * Writes lines to the output file.
+   *
+   * @param writer writer for the output file
+   * @param lines lines to write
+   */
+  private static void writeLines(BufferedWriter writer, List<String> lines) throws Exception {
+    for (String line : lines) {
+      writer.write(line);
+      writer.newLine();
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.format_coordinates;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+
+import com.esri.samples.format_coordinates.FormatCoordinatesBatch.Notation;
+
+/**
+ * Measures how many points per second {@link FormatCoordinatesBatch} converts between each pair of notations, and how
+ * that scales with the number of threads, without showing a UI or reading a file.
+ *
+ * <p>Random points are formatted in each notation, then converted to every other notation in chunks, as the batch
+ * does, on pools of 1, 2, 4 and so on threads, ending with the number of available processors. The results are
+ * printed as a table of points per second with a row for each pair of notations and a column for each thread count.
+ *
+ * <p>Usage: {@code FormatCoordinatesBenchmark [points] [max threads]}
+ */
+public class FormatCoordinatesBenchmark {
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args optional number of points and maximum number of threads
+   */
+  public static void main(String[] args) throws Exception {
+
+    int pointCount = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+    int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+    List<Integer> threadCounts = threadCounts(maxThreads);
+
+    // the coordinate formatter needs the runtime, but not a map view
+    ArcGISRuntimeEnvironment.initialize();
+
+    // random points between the latitudes UTM covers
+    Random random = new Random(42);
+    List<Point> points = new ArrayList<>(pointCount);
+    for (int i = 0; i < pointCount; i++) {
+      points.add(new Point(random.nextDouble() * 360 - 180, random.nextDouble() * 164 - 80,
+          SpatialReferences.getWgs84()));
+    }
+    System.out.printf("Converting %d points in chunks of %d (points/s)%n", pointCount,
+        FormatCoordinatesBatch.CHUNK_SIZE);
+
+    // table header
+    System.out.printf("%-14s", "from -> to");
+    for (int threads : threadCounts) {
+      System.out.printf(" %10s", threads + (threads == 1 ? " thread" : " threads"));
+    }
+    System.out.printf(" %8s%n", "failed");
+
+    for (Notation from : Notation.values()) {
+      // format the input lines outside the timing
+      List<String> lines = new ArrayList<>(pointCount);
+      for (Point point : points) {
+        lines.add(from.format(point));
+      }
+
+      for (Notation to : Notation.values()) {
+        if (to == from) {
+          continue;
+        }
+        System.out.printf("%-14s", from + " -> " + to);
+        long failed = 0;
+        for (int threads : threadCounts) {
+          ForkJoinPool pool = new ForkJoinPool(threads);
+          try {
+            // warm up on the first chunk, then convert all the lines
+            FormatCoordinatesBatch.convertChunk(pool, chunk(lines, 0), from, to);
+            failed = 0;
+            long start = System.nanoTime();
+            for (int offset = 0; offset < lines.size(); offset += FormatCoordinatesBatch.CHUNK_SIZE) {
+              failed += FormatCoordinatesBatch.countFailed(
+                  FormatCoordinatesBatch.convertChunk(pool, chunk(lines, offset), from, to));
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf(" %10.0f", pointCount / seconds);
+          } finally {
+            pool.shutdown();
+          }
+        }
+        System.out.printf(" %8d%n", failed);
+      }
+    }
+
+    ArcGISRuntimeEnvironment.dispose();
+  }
+
+  /**
+   * Gets the thread counts to measure: 1, 2, 4 and so on, ending with the maximum even if it isn't a power of two.
+   *
+   * @param maxThreads maximum number of threads
+   * @return the thread counts, in increasing order
+   */
+  private static List<Integer> threadCounts(int maxThreads) {
+    List<Integer> threadCounts = new ArrayList<>();
+    for (int threads = 1; threads < maxThreads; threads *= 2) {
+      threadCounts.add(threads);
+    }
+    threadCounts.add(Math.max(maxThreads, 1));
+    return threadCounts;
+  }
+
+  /**
+   * Gets the chunk of lines starting at an offset, as the batch reads them.
+   *
+   * @param lines all the lines
+   * @param offset index of the first line of the chunk
+   * @return the chunk
+   */
+  private static List<String> chunk(List<String> lines, int offset) {
+    return lines.subList(offset, Math.min(offset + FormatCoordinatesBatch.CHUNK_SIZE, lines.size()));
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.show_callout;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Measures how many bytes of Java heap are allocated to format the callout text for each mouse event, and how many
+ * events per second are formatted, without showing a UI. Formatting with {@code String.format}, as the sample used to,
+ * is compared with {@link CoordinateFormatter} with and without its cache.
+ *
+ * <p>The positions follow a random walk of small steps, like the mouse hovering over the map at a city scale, so
+ * consecutive events often round to the same position. Each method is run for a warm-up round before it is measured.
+ *
+ * <p>Usage: {@code CalloutFormatBenchmark [events]}
+ */
+public class CalloutFormatBenchmark {
+
+  // largest step of the walk between mouse events, in degrees
+  private static final double STEP = 0.0005;
+  // number of formatted positions kept by the cached formatter, as in the sample
+  private static final int CACHE_SIZE = 64;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args optional number of mouse events
+   */
+  public static void main(String[] args) {
+
+    int eventCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+
+    // a walk around Edinburgh
+    Random random = new Random(42);
+    double[] positions = new double[2 * eventCount];
+    double latitude = 55.953;
+    double longitude = -3.189;
+    for (int i = 0; i < eventCount; i++) {
+      latitude += (random.nextDouble() - 0.5) * STEP;
+      longitude += (random.nextDouble() - 0.5) * STEP;
+      positions[2 * i] = latitude;
+      positions[2 * i + 1] = longitude;
+    }
+    System.out.printf("%d mouse events%n", eventCount);
+
+    measure("String.format", positions,
+      (lat, lon) -> String.format("Lat: %.3f, Long: %.3f", lat, lon));
+    CoordinateFormatter builder = new CoordinateFormatter(0);
+    measure("StringBuilder", positions, builder::format);
+    CoordinateFormatter cached = new CoordinateFormatter(CACHE_SIZE);
+    measure("StringBuilder + LRU", positions, cached::format);
+  }
+
+  /**
+   * Formats every position after a warm-up round, then prints the event throughput and the bytes allocated per event.
+   */
+  private static void measure(String method, double[] positions, PositionFormat format) {
+    int eventCount = positions.length / 2;
+    long length = 0;
+    for (int i = 0; i < eventCount; i++) {
+      length += format.format(positions[2 * i], positions[2 * i + 1]).length();
+    }
+
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+    for (int i = 0; i < eventCount; i++) {
+      length += format.format(positions[2 * i], positions[2 * i + 1]).length();
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+    // use the text lengths, so the formatting can't be optimized away
+    if (length == 0) {
+      throw new IllegalStateException("Nothing was formatted");
+    }
+    System.out.printf("  %-22s %8.2f s %12.0f events/s %8.1f bytes/event%n", method, seconds, eventCount / seconds,
+      allocated / (double) eventCount);
+  }
+
+  /**
+   * Formats a position, taking the coordinates unboxed so that only the formatting allocates.
+   */
+  private interface PositionFormat {
+    String format(double latitude, double longitude);
+  }
+}
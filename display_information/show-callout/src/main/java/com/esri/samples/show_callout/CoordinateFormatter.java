@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.show_callout;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Formats latitudes and longitudes to three decimal places for the callout, through a reused {@link StringBuilder}
+ * instead of parsing a format string each time. The text of recent positions is kept in a small LRU cache, keyed by
+ * the rounded position, so a mouse resting on or returning to a position gets the same string back without building
+ * it again.
+ *
+ * <p>Not thread safe; the sample only uses it on the JavaFX application thread.
+ */
+public class CoordinateFormatter {
+
+  private final StringBuilder text = new StringBuilder();
+  private final Map<Long, String> cache;
+
+  /**
+   * Creates a formatter.
+   *
+   * @param cacheSize number of formatted positions kept, or 0 to build the text every time
+   */
+  public CoordinateFormatter(int cacheSize) {
+    cache = cacheSize <= 0 ? null : new LinkedHashMap<Long, String>(cacheSize, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+        return size() > cacheSize;
+      }
+    };
+  }
+
+  /**
+   * Formats a position as {@code Lat: <latitude>, Long: <longitude>}, each rounded to three decimal places.
+   *
+   * @param latitude the latitude, in degrees
+   * @param longitude the longitude, in degrees
+   * @return the formatted position
+   */
+  public String format(double latitude, double longitude) {
+
+    long latitudeThousandths = Math.round(latitude * 1000);
+    long longitudeThousandths = Math.round(longitude * 1000);
+    if (cache == null) {
+      return build(latitudeThousandths, longitudeThousandths);
+    }
+
+    // longitudes are between -180000 and 180000 thousandths, so this key is unique for each rounded position
+    long key = latitudeThousandths * 1000000 + longitudeThousandths;
+    String formatted = cache.get(key);
+    if (formatted == null) {
+      formatted = build(latitudeThousandths, longitudeThousandths);
+      cache.put(key, formatted);
+    }
+    return formatted;
+  }
+
+  /**
+   * Builds the text for a position rounded to thousandths of a degree.
+   */
+  private String build(long latitudeThousandths, long longitudeThousandths) {
+    text.setLength(0);
+    text.append("Lat: ");
+    appendThousandths(text, latitudeThousandths);
+    text.append(", Long: ");
+    appendThousandths(text, longitudeThousandths);
+    return text.toString();
+  }
+
+  /**
+   * Appends a number of thousandths as a decimal with three decimal places.
+   *
+   * @param stringBuilder the string builder to append to
+   * @param thousandths the value, in thousandths
+   */
+  private static void appendThousandths(StringBuilder stringBuilder, long thousandths) {
+
+    if (thousandths < 0) {
+      stringBuilder.append('-');
+      thousandths = -thousandths;
+    }
+    stringBuilder.append(thousandths / 1000).append('.');
+    long fraction = thousandths % 1000;
+    if (fraction < 100) {
+      stringBuilder.append('0');
+    }
+    if (fraction < 10) {
+      stringBuilder.append('0');
+    }
+    stringBuilder.append(fraction);
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.show_callout;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Point2D;
+
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+import com.esri.arcgisruntime.mapping.view.Callout;
+import com.esri.arcgisruntime.mapping.view.MapView;
+
+/**
+ * Shows the map view's callout with the latitude and longitude under the mouse, updating it at most once per JavaFX
+ * pulse however often the mouse moves. Only the latest screen point staged before a pulse is shown.
+ *
+ * <p>All methods must be called on the JavaFX application thread.
+ */
+public class HoverCallout {
+
+  // number of formatted positions kept by the formatter
+  private static final int CACHE_SIZE = 64;
+
+  private final MapView mapView;
+  private final Callout callout;
+  private final CoordinateFormatter formatter = new CoordinateFormatter(CACHE_SIZE);
+  private final AnimationTimer timer;
+
+  private Point2D pendingScreenPoint;
+
+  /**
+   * Creates a hover callout for the given map view.
+   *
+   * @param mapView the map view whose callout is shown
+   */
+  public HoverCallout(MapView mapView) {
+    this.mapView = mapView;
+    callout = mapView.getCallout();
+    callout.setTitle("Location");
+    timer = new AnimationTimer() {
+      @Override
+      public void handle(long now) {
+        stop();
+        showPendingPoint();
+      }
+    };
+  }
+
+  /**
+   * Stages a screen point to show the callout at on the next pulse, replacing any point staged before it.
+   *
+   * @param screenPoint the screen point
+   */
+  public void request(Point2D screenPoint) {
+    pendingScreenPoint = screenPoint;
+    timer.start();
+  }
+
+  /**
+   * Dismisses the callout and drops any staged point.
+   */
+  public void dismiss() {
+    timer.stop();
+    pendingScreenPoint = null;
+    callout.dismiss();
+  }
+
+  /**
+   * Shows the callout at the latest staged point, with its WGS84 coordinates.
+   */
+  private void showPendingPoint() {
+
+    Point2D screenPoint = pendingScreenPoint;
+    pendingScreenPoint = null;
+    Point mapPoint = screenPoint == null ? null : mapView.screenToLocation(screenPoint);
+    if (mapPoint == null) {
+      return;
+    }
+
+    // project the map point to get its latitude and longitude
+    Point projectedPoint = (Point) GeometryEngine.project(mapPoint, SpatialReferences.getWgs84());
+    callout.setDetail(formatter.format(projectedPoint.getY(), projectedPoint.getX()));
+    callout.showCalloutAt(mapPoint);
+  }
+}
@@ -24,17 +24,14 @@ import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
 
 import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
-import com.esri.arcgisruntime.geometry.GeometryEngine;
-import com.esri.arcgisruntime.geometry.Point;
-import com.esri.arcgisruntime.geometry.SpatialReferences;
 import com.esri.arcgisruntime.mapping.ArcGISMap;
 import com.esri.arcgisruntime.mapping.BasemapStyle;
-import com.esri.arcgisruntime.mapping.view.Callout;
 import com.esri.arcgisruntime.mapping.view.MapView;
 
 public class ShowCalloutSample extends Application {
 
   private MapView mapView;
+  private boolean following;
 
   @Override
   public void start(Stage stage) {
@@ -62,8 +59,8 @@ public class ShowCalloutSample extends Application {
       mapView = new MapView();
       mapView.setMap(map);
 
-      // get the map view's callout
-      Callout callout = mapView.getCallout();
+      // show the callout at the location under the mouse, updating it at most once per pulse while the mouse moves
+      HoverCallout hoverCallout = new HoverCallout(mapView);
 
       // click event to display the callout
       mapView.setOnMouseClicked(e -> {
@@ -71,25 +68,21 @@ public class ShowCalloutSample extends Application {
         // check that the primary mouse button was clicked and user is not panning
         if (e.getButton() == MouseButton.PRIMARY && e.isStillSincePress()) {
 
-          // create a point from where the user clicked
-          Point2D point = new Point2D(e.getX(), e.getY());
-
-          // create a map point from a point
-          Point mapPoint = mapView.screenToLocation(point);
-
-          // project user-tapped map point location
-          Point projectedPoint = (Point)GeometryEngine.project(mapPoint, SpatialReferences.getWgs84());
-
-          // set the callout's details
-          callout.setTitle("Location");
-          callout.setDetail(String.format("Lat: %.3f, Long: %.3f", projectedPoint.getY(), projectedPoint.getX()));
-
-          // show the callout where the user clicked
-          callout.showCalloutAt(mapPoint);
+          // show the callout where the user clicked, then follow the mouse
+          following = true;
+          hoverCallout.request(new Point2D(e.getX(), e.getY()));
 
           // dismiss the callout on secondary click
         } else if (e.getButton() == MouseButton.SECONDARY && e.isStillSincePress()) {
-          callout.dismiss();
+          following = false;
+          hoverCallout.dismiss();
+        }
+      });
+
+      // move the callout with the mouse once it has been shown
+      mapView.setOnMouseMoved(e -> {
+        if (following) {
+          hoverCallout.request(new Point2D(e.getX(), e.getY()));
         }
       });
 
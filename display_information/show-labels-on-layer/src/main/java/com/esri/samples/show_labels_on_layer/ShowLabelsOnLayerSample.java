@@ -17,12 +17,23 @@
 package com.esri.samples.show_labels_on_layer;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javafx.application.Application;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
 import javafx.stage.Stage;
 
 import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
@@ -36,13 +47,28 @@ import com.esri.arcgisruntime.loadable.LoadStatus;
 import com.esri.arcgisruntime.mapping.ArcGISMap;
 import com.esri.arcgisruntime.mapping.BasemapStyle;
 import com.esri.arcgisruntime.mapping.labeling.ArcadeLabelExpression;
+import com.esri.arcgisruntime.mapping.view.DrawStatus;
 import com.esri.arcgisruntime.mapping.view.MapView;
 import com.esri.arcgisruntime.symbology.ColorUtil;
 import com.esri.arcgisruntime.symbology.TextSymbol;
 
 public class ShowLabelsOnLayerSample extends Application {
 
+  // label expressions of increasing cost, to compare how long the map takes to draw with each
+  private static final Map<String, String> LABEL_EXPRESSIONS = new LinkedHashMap<>();
+  static {
+    LABEL_EXPRESSIONS.put("Name only", "$feature.NAME");
+    LABEL_EXPRESSIONS.put("Name, party and district",
+      "$feature.NAME + \" (\" + left($feature.PARTY,1) + \")\\nDistrict \" + $feature.CDFIPS");
+    LABEL_EXPRESSIONS.put("Formatted name, party and district",
+      "var party = Decode($feature.PARTY, 'Republican', 'Rep.', 'Democrat', 'Dem.', 'Ind.');\n" +
+      "return Proper(Lower($feature.NAME)) + \" (\" + party + \")\\nDistrict \" + Text(Number($feature.CDFIPS), '00');");
+  }
+
   private MapView mapView;
+  private long drawStart;
+  private long drawCount;
+  private long totalDrawMilliseconds;
 
   @Override
   public void start(Stage stage) {
@@ -88,18 +114,55 @@ public class ShowLabelsOnLayerSample extends Application {
         }
       });
 
-      // create label definitions for each party
-      LabelDefinition republicanLabelDefinition = makeLabelDefinition("Republican", Color.RED);
-      LabelDefinition democratLabelDefinition = makeLabelDefinition("Democrat", Color.BLUE);
-
       // enable labels on the feature layer
       featureLayer.setLabelsEnabled(true);
 
-      // add the definitions to the feature layer
-      featureLayer.getLabelDefinitions().addAll(Arrays.asList(republicanLabelDefinition, democratLabelDefinition));
+      // create a combo box to choose the label expression
+      var expressionComboBox = new ComboBox<String>();
+      expressionComboBox.getItems().addAll(LABEL_EXPRESSIONS.keySet());
+      expressionComboBox.setMaxWidth(Double.MAX_VALUE);
+
+      // replace the label definitions for each party when a different expression is chosen
+      expressionComboBox.getSelectionModel().selectedItemProperty().addListener((observable, oldValue, newValue) -> {
+        String expression = LABEL_EXPRESSIONS.get(newValue);
+        LabelDefinition republicanLabelDefinition = makeLabelDefinition("Republican", Color.RED, expression);
+        LabelDefinition democratLabelDefinition = makeLabelDefinition("Democrat", Color.BLUE, expression);
+        featureLayer.getLabelDefinitions().setAll(Arrays.asList(republicanLabelDefinition, democratLabelDefinition));
+
+        // restart the draw time average for the new expression
+        drawCount = 0;
+        totalDrawMilliseconds = 0;
+      });
+      expressionComboBox.getSelectionModel().select("Name, party and district");
+
+      // show how long the map view takes to draw, including placing the labels, after each navigation or change
+      var drawTimeLabel = new Label("Waiting for the map to draw");
+      drawTimeLabel.setTextFill(Color.WHITE);
+      mapView.addDrawStatusChangedListener(drawStatusChangedEvent -> {
+        if (drawStatusChangedEvent.getDrawStatus() == DrawStatus.IN_PROGRESS) {
+          drawStart = System.nanoTime();
+        } else if (drawStatusChangedEvent.getDrawStatus() == DrawStatus.COMPLETED && drawStart != 0) {
+          long milliseconds = (System.nanoTime() - drawStart) / 1000000;
+          drawStart = 0;
+          drawCount++;
+          totalDrawMilliseconds += milliseconds;
+          drawTimeLabel.setText("Drawn at 1:" + Math.round(mapView.getMapScale()) + " in " + milliseconds + " ms\n" +
+            "Average over " + drawCount + " draws: " + totalDrawMilliseconds / drawCount + " ms");
+        }
+      });
+
+      // create a control panel for the expression and draw time
+      var controlsVBox = new VBox(6);
+      controlsVBox.setBackground(new Background(new BackgroundFill(Paint.valueOf("rgba(0,0,0,0.3)"), CornerRadii.EMPTY,
+        Insets.EMPTY)));
+      controlsVBox.setPadding(new Insets(10.0));
+      controlsVBox.setMaxSize(260, 80);
+      controlsVBox.getChildren().addAll(expressionComboBox, drawTimeLabel);
 
-      // add the map view to stack pane
-      stackPane.getChildren().add(mapView);
+      // add the map view and control panel to stack pane
+      stackPane.getChildren().addAll(mapView, controlsVBox);
+      StackPane.setAlignment(controlsVBox, Pos.TOP_LEFT);
+      StackPane.setMargin(controlsVBox, new Insets(10, 0, 0, 10));
 
     } catch (Exception e) {
       // on any error, display stack trace
@@ -112,10 +175,11 @@ public class ShowLabelsOnLayerSample extends Application {
    *
    * @param party the name of the party to be passed into the label definition's WHERE clause
    * @param color the color to be passed into the text symbol
+   * @param expression the arcade expression script for the label text
    *
    * @return label definition created from the given arcade expression
    */
-  private LabelDefinition makeLabelDefinition(String party, Color color) {
+  private LabelDefinition makeLabelDefinition(String party, Color color, String expression) {
 
     // create text symbol for styling the label
     var textSymbol = new TextSymbol();
@@ -125,8 +189,7 @@ public class ShowLabelsOnLayerSample extends Application {
     textSymbol.setHaloWidth(2);
 
     // create a label definition with an Arcade expression script
-    var arcadeLabelExpression =
-      new ArcadeLabelExpression("$feature.NAME + \" (\" + left($feature.PARTY,1) + \")\\nDistrict \" + $feature.CDFIPS");
+    var arcadeLabelExpression = new ArcadeLabelExpression(expression);
     var labelDefinition = new LabelDefinition(arcadeLabelExpression, textSymbol);
     labelDefinition.setPlacement(LabelingPlacement.POLYGON_ALWAYS_HORIZONTAL);
     labelDefinition.setWhereClause(String.format("PARTY = '%s'", party));
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.samples.sketch_on_map;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.esri.arcgisruntime.geometry.Envelope;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.mapping.view.Graphic;
+import com.esri.arcgisruntime.mapping.view.GraphicsOverlay;
+
+/**
+ * Holds the sketches saved to a graphics overlay, keeping at most a fixed number of them as graphics. Once the limit is
+ * reached, the oldest sketches outside the visible area are spilled to a temporary file as compressed geometry JSON and
+ * removed from the overlay. A spilled sketch keeps its graphic, without a geometry, so only its extent stays in memory,
+ * and it is reloaded when the visible area moves over it again.
+ *
+ * <p>A sketch that is written again reuses its place in the file when the new data fits. Places given up by larger
+ * sketches and removed sketches are reclaimed by compacting the file once they make up more than half of it.
+ */
+public class SavedSketchStore {
+
+  // free space in the spill file, in bytes, below which the file isn't compacted
+  private static final long MIN_COMPACTION_BYTES = 1 << 20;
+
+  private final GraphicsOverlay graphicsOverlay;
+  private final int maxLiveSketches;
+  private final Path spillPath;
+  private final FileChannel spillFile;
+
+  // sketches currently shown as graphics, oldest first
+  private final Map<Graphic, SavedSketch> liveSketches = new LinkedHashMap<>();
+  // sketches only held in the spill file
+  private final Map<Graphic, SavedSketch> spilledSketches = new LinkedHashMap<>();
+  private Envelope visibleExtent;
+  // bytes of the spill file no sketch is using
+  private long freeBytes;
+
+  /**
+   * Creates a store that shows its sketches in the given graphics overlay.
+   *
+   * @param graphicsOverlay overlay the saved sketches are shown in
+   * @param maxLiveSketches maximum number of sketches kept as graphics
+   * @throws UncheckedIOException if the spill file can't be created
+   */
+  public SavedSketchStore(GraphicsOverlay graphicsOverlay, int maxLiveSketches) {
+    this.graphicsOverlay = graphicsOverlay;
+    this.maxLiveSketches = maxLiveSketches;
+    try {
+      spillPath = Files.createTempFile("sketches", ".bin");
+      spillFile = FileChannel.open(spillPath, StandardOpenOption.READ, StandardOpenOption.WRITE,
+        StandardOpenOption.DELETE_ON_CLOSE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Adds a newly saved sketch to the graphics overlay.
+   *
+   * @param graphic graphic of the saved sketch
+   */
+  public void add(Graphic graphic) {
+    graphicsOverlay.getGraphics().add(graphic);
+    liveSketches.put(graphic, new SavedSketch(graphic.getGeometry().getExtent()));
+    spillExcessSketches();
+  }
+
+  /**
+   * Records that the geometry of a saved sketch has been edited, so it is written again if it is spilled.
+   *
+   * @param graphic graphic of the edited sketch
+   */
+  public void update(Graphic graphic) {
+    SavedSketch sketch = liveSketches.get(graphic);
+    if (sketch != null) {
+      sketch.extent = graphic.getGeometry().getExtent();
+      sketch.modified = true;
+    }
+  }
+
+  /**
+   * Gets the geometry of a saved sketch, reading it from the spill file if the sketch has been spilled.
+   *
+   * @param graphic graphic of the saved sketch
+   * @return the sketch's geometry
+   */
+  public Geometry getGeometry(Graphic graphic) {
+    SavedSketch sketch = spilledSketches.get(graphic);
+    return sketch != null ? read(sketch) : graphic.getGeometry();
+  }
+
+  /**
+   * Replaces the geometry of a saved sketch, showing it again if it has been spilled.
+   *
+   * @param graphic graphic of the saved sketch
+   * @param geometry the new geometry
+   */
+  public void setGeometry(Graphic graphic, Geometry geometry) {
+    SavedSketch sketch = spilledSketches.remove(graphic);
+    if (sketch != null) {
+      graphicsOverlay.getGraphics().add(graphic);
+      liveSketches.put(graphic, sketch);
+    }
+    graphic.setGeometry(geometry);
+    update(graphic);
+    spillExcessSketches();
+  }
+
+  /**
+   * Removes a saved sketch, whether it is shown or spilled. The graphic keeps its geometry.
+   *
+   * @param graphic graphic of the saved sketch
+   */
+  public void remove(Graphic graphic) {
+    SavedSketch sketch = liveSketches.remove(graphic);
+    if (sketch != null) {
+      graphicsOverlay.getGraphics().remove(graphic);
+    } else {
+      sketch = spilledSketches.remove(graphic);
+      if (sketch == null) {
+        return;
+      }
+      graphic.setGeometry(read(sketch));
+    }
+    release(sketch);
+    compactIfSparse();
+  }
+
+  /**
+   * Reloads spilled sketches that overlap the visible area, then spills sketches outside it if there are too many.
+   *
+   * @param extent the visible extent of the map view
+   */
+  public void setVisibleExtent(Envelope extent) {
+    visibleExtent = extent;
+    Iterator<Map.Entry<Graphic, SavedSketch>> iterator = spilledSketches.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Graphic, SavedSketch> entry = iterator.next();
+      SavedSketch sketch = entry.getValue();
+      if (isVisible(sketch)) {
+        iterator.remove();
+        Graphic graphic = entry.getKey();
+        graphic.setGeometry(read(sketch));
+        graphicsOverlay.getGraphics().add(graphic);
+        liveSketches.put(graphic, sketch);
+      }
+    }
+    spillExcessSketches();
+  }
+
+  /**
+   * Whether there are no saved sketches, shown or spilled.
+   *
+   * @return true if nothing has been saved
+   */
+  public boolean isEmpty() {
+    return liveSketches.isEmpty() && spilledSketches.isEmpty();
+  }
+
+  /**
+   * Removes all of the saved sketches.
+   */
+  public void clear() {
+    graphicsOverlay.getGraphics().clear();
+    liveSketches.clear();
+    spilledSketches.clear();
+    freeBytes = 0;
+    try {
+      spillFile.truncate(0);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Closes and deletes the spill file.
+   */
+  public void close() {
+    try {
+      spillFile.close();
+    } catch (IOException e) {
+      // the file is deleted on close, nothing more to release
+    }
+  }
+
+  /**
+   * Spills the oldest sketches until no more than the maximum are shown, preferring sketches outside the visible area.
+   * Selected sketches are never spilled, so a sketch being edited stays on the map.
+   */
+  private void spillExcessSketches() {
+    for (boolean includeVisible : new boolean[] {false, true}) {
+      Iterator<Map.Entry<Graphic, SavedSketch>> iterator = liveSketches.entrySet().iterator();
+      while (liveSketches.size() > maxLiveSketches && iterator.hasNext()) {
+        Map.Entry<Graphic, SavedSketch> entry = iterator.next();
+        Graphic graphic = entry.getKey();
+        SavedSketch sketch = entry.getValue();
+        if (!graphic.isSelected() && (includeVisible || !isVisible(sketch))) {
+          if (sketch.modified) {
+            write(sketch, graphic.getGeometry());
+          }
+          iterator.remove();
+          graphicsOverlay.getGraphics().remove(graphic);
+          graphic.setGeometry(null);
+          spilledSketches.put(graphic, sketch);
+        }
+      }
+    }
+    compactIfSparse();
+  }
+
+  private boolean isVisible(SavedSketch sketch) {
+    return visibleExtent != null && GeometryEngine.intersects(visibleExtent, sketch.extent);
+  }
+
+  /**
+   * Gives up a sketch's place in the spill file.
+   */
+  private void release(SavedSketch sketch) {
+    if (sketch.offset >= 0) {
+      freeBytes += sketch.capacity;
+      sketch.offset = -1;
+      sketch.capacity = 0;
+      sketch.modified = true;
+    }
+  }
+
+  /**
+   * Writes a sketch's geometry to the spill file as compressed JSON, in its current place if the data fits, otherwise
+   * at the end of the file.
+   *
+   * @param sketch the sketch to record the position of the geometry in
+   * @param geometry the geometry to write
+   */
+  private void write(SavedSketch sketch, Geometry geometry) {
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(geometry.toJson().getBytes(StandardCharsets.UTF_8));
+      deflater.finish();
+      ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      while (!deflater.finished()) {
+        compressed.write(buffer, 0, deflater.deflate(buffer));
+      }
+
+      if (compressed.size() > sketch.capacity) {
+        release(sketch);
+        sketch.offset = spillFile.size();
+        sketch.capacity = compressed.size();
+      }
+      sketch.length = compressed.size();
+      sketch.modified = false;
+      writeFully(ByteBuffer.wrap(compressed.toByteArray()), sketch.offset);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * Reads a sketch's geometry back from the spill file.
+   *
+   * @param sketch the sketch to read
+   * @return the sketch's geometry
+   */
+  private Geometry read(SavedSketch sketch) {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(readFully(sketch.offset, sketch.length).array());
+      ByteArrayOutputStream json = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      while (!inflater.finished()) {
+        int count = inflater.inflate(buffer);
+        if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          // all of the data has been used, but the stream hasn't ended
+          throw new DataFormatException("Unexpected end of compressed data");
+        }
+        json.write(buffer, 0, count);
+      }
+      return Geometry.fromJson(new String(json.toByteArray(), StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (DataFormatException e) {
+      throw new IllegalStateException("Corrupt sketch in " + spillPath, e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  /**
+   * Moves the data of every written sketch to the start of the spill file, in file order, then truncates the file, once
+   * more than half of it is free. Sketches shown with unwritten changes give up their place instead, as they will be
+   * written again anyway.
+   */
+  private void compactIfSparse() {
+    try {
+      if (freeBytes < MIN_COMPACTION_BYTES || freeBytes * 2 < spillFile.size()) {
+        return;
+      }
+
+      List<SavedSketch> written = new ArrayList<>();
+      for (SavedSketch sketch : liveSketches.values()) {
+        if (sketch.modified) {
+          release(sketch);
+        } else if (sketch.offset >= 0) {
+          written.add(sketch);
+        }
+      }
+      written.addAll(spilledSketches.values());
+      written.sort(Comparator.comparingLong(sketch -> sketch.offset));
+
+      // each sketch moves toward the start, so it never overwrites data that hasn't been moved yet
+      long position = 0;
+      for (SavedSketch sketch : written) {
+        if (sketch.offset != position) {
+          writeFully(readFully(sketch.offset, sketch.length), position);
+          sketch.offset = position;
+        }
+        sketch.capacity = sketch.length;
+        position += sketch.length;
+      }
+      spillFile.truncate(position);
+      freeBytes = 0;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Reads a number of bytes from a position in the spill file.
+   *
+   * @throws IOException if the file ends first
+   */
+  private ByteBuffer readFully(long position, int length) throws IOException {
+    ByteBuffer data = ByteBuffer.allocate(length);
+    while (data.hasRemaining()) {
+      int count = spillFile.read(data, position);
+      if (count < 0) {
+        throw new IOException("Unexpected end of " + spillPath);
+      }
+      position += count;
+    }
+    data.flip();
+    return data;
+  }
+
+  /**
+   * Writes all of the remaining data to a position in the spill file.
+   */
+  private void writeFully(ByteBuffer data, long position) throws IOException {
+    while (data.hasRemaining()) {
+      position += spillFile.write(data, position);
+    }
+  }
+
+  /**
+   * The extent of a saved sketch and, once written, the place of its geometry in the spill file.
+   */
+  private static class SavedSketch {
+    private Envelope extent;
+    private long offset = -1;
+    // bytes of the file reserved for the sketch, at least its length
+    private int capacity;
+    private int length;
+    // whether the geometry has changed since it was last written
+    private boolean modified = true;
+
+    private SavedSketch(Envelope extent) {
+      this.extent = extent;
+    }
+  }
+}
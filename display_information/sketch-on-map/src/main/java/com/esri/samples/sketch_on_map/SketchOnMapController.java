@@ -35,6 +35,7 @@ import com.esri.arcgisruntime.mapping.view.SketchEditor;
 import com.esri.arcgisruntime.symbology.SimpleFillSymbol;
 import com.esri.arcgisruntime.symbology.SimpleLineSymbol;
 import com.esri.arcgisruntime.symbology.SimpleMarkerSymbol;
+import com.esri.arcgisruntime.symbology.Symbol;
 
 
 public class SketchOnMapController {
@@ -60,6 +61,13 @@ public class SketchOnMapController {
   private SimpleFillSymbol fillSymbol;
   private SimpleLineSymbol lineSymbol;
   private SimpleMarkerSymbol pointSymbol;
+  private SavedSketchStore savedSketchStore;
+  private SketchSessionJournal sketchSessionJournal;
+
+  // number of saved sketches kept on the map before older ones are spilled to disk
+  private static final int MAX_LIVE_SKETCHES = 200;
+  // number of saved sketches and edits that can be undone once sketching has stopped
+  private static final int SESSION_HISTORY_DEPTH = 100;
 
   public void initialize() {
 
@@ -82,6 +90,17 @@ public class SketchOnMapController {
     // add the graphics overlay to the map view
     mapView.getGraphicsOverlays().add(graphicsOverlay);
 
+    // keep a bounded number of saved sketches as graphics, spilling older ones to disk until they come back into view
+    savedSketchStore = new SavedSketchStore(graphicsOverlay, MAX_LIVE_SKETCHES);
+    mapView.addNavigationChangedListener(e -> {
+      if (!e.isNavigating() && mapView.getVisibleArea() != null) {
+        savedSketchStore.setVisibleExtent(mapView.getVisibleArea().getExtent());
+      }
+    });
+
+    // record saved sketches and edits as vertex changes, so they can be undone after the sketch editor has stopped
+    sketchSessionJournal = new SketchSessionJournal(savedSketchStore, SESSION_HISTORY_DEPTH);
+
     // create a new sketch editor and add it to the map view
     sketchEditor = new SketchEditor();
     mapView.setSketchEditor(sketchEditor);
@@ -190,22 +209,28 @@ public class SketchOnMapController {
   }
 
   /**
-   * Undo the last change made to the sketch, whilst sketching is active.
+   * Undo the last change made to the sketch whilst sketching is active, otherwise the last saved sketch or edit.
    */
   @FXML
   private void handleUndoButtonClicked() {
     if (sketchEditor.canUndo()) {
       sketchEditor.undo();
+    } else if (sketchEditor.getGeometry() == null && sketchSessionJournal.canUndo()) {
+      sketchSessionJournal.undo();
+      updateSessionButtons();
     }
   }
 
   /**
-   * Redo the last change made to the sketch, whilst sketching is active.
+   * Redo the last change made to the sketch whilst sketching is active, otherwise the last undone sketch or edit.
    */
   @FXML
   private void handleRedoButtonClicked() {
     if (sketchEditor.canRedo()) {
       sketchEditor.redo();
+    } else if (sketchEditor.getGeometry() == null && sketchSessionJournal.canRedo()) {
+      sketchSessionJournal.redo();
+      updateSessionButtons();
     }
   }
 
@@ -222,22 +247,13 @@ public class SketchOnMapController {
     if (sketchGeometry != null) {
       if (!graphicsOverlay.getSelectedGraphics().isEmpty()) {
         graphic = graphicsOverlay.getSelectedGraphics().get(0);
+        sketchSessionJournal.recordEdit(graphic, graphic.getGeometry(), sketchGeometry);
         graphic.setGeometry(sketchGeometry);
+        savedSketchStore.update(graphic);
       } else {
-        graphic = new Graphic(sketchGeometry);
-
-        switch (sketchGeometry.getGeometryType()) {
-          case POLYGON:
-            graphic.setSymbol(fillSymbol);
-            break;
-          case POLYLINE:
-            graphic.setSymbol(lineSymbol);
-            break;
-          case POINT:
-          case MULTIPOINT:
-            graphic.setSymbol(pointSymbol);
-        }
-        graphicsOverlay.getGraphics().add(graphic);
+        graphic = new Graphic(sketchGeometry, symbolForGeometry(sketchGeometry));
+        sketchSessionJournal.recordAdd(graphic);
+        savedSketchStore.add(graphic);
       }
     }
     sketchEditor.stop();
@@ -246,10 +262,7 @@ public class SketchOnMapController {
     selectGraphic();
     graphicsOverlay.clearSelection();
     disableButtons();
-
-    if (!graphicsOverlay.getGraphics().isEmpty()) {
-      clearButton.setDisable(false);
-    }
+    updateSessionButtons();
     stopButton.setDisable(true);
   }
 
@@ -259,11 +272,40 @@ public class SketchOnMapController {
   @FXML
   private void handleClearButtonClicked() {
 
-    graphicsOverlay.getGraphics().clear();
+    savedSketchStore.clear();
+    sketchSessionJournal.clear();
     sketchEditor.stop();
     disableButtons();
   }
 
+  /**
+   * Enables the undo and redo buttons for the saved sketches, and the clear button if there are any.
+   */
+  private void updateSessionButtons() {
+
+    undoButton.setDisable(!sketchSessionJournal.canUndo());
+    redoButton.setDisable(!sketchSessionJournal.canRedo());
+    clearButton.setDisable(savedSketchStore.isEmpty());
+  }
+
+  /**
+   * Gets the symbol for a saved sketch, depending on its geometry type.
+   *
+   * @param geometry the sketch geometry
+   * @return the symbol for the geometry
+   */
+  private Symbol symbolForGeometry(Geometry geometry) {
+
+    switch (geometry.getGeometryType()) {
+      case POLYGON:
+        return fillSymbol;
+      case POLYLINE:
+        return lineSymbol;
+      default:
+        return pointSymbol;
+    }
+  }
+
   /**
    * Allows the user to select a graphic from the graphics overlay.
    */
@@ -313,6 +355,10 @@ public class SketchOnMapController {
    */
   void terminate() {
 
+    if (savedSketchStore != null) {
+      savedSketchStore.close();
+    }
+
     if (mapView != null) {
       mapView.dispose();
     }
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.samples.sketch_on_map;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryType;
+import com.esri.arcgisruntime.geometry.ImmutablePart;
+import com.esri.arcgisruntime.geometry.Multipart;
+import com.esri.arcgisruntime.geometry.Multipoint;
+import com.esri.arcgisruntime.geometry.Part;
+import com.esri.arcgisruntime.geometry.PartCollection;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.PointCollection;
+import com.esri.arcgisruntime.geometry.Polygon;
+import com.esri.arcgisruntime.geometry.Polyline;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+import com.esri.arcgisruntime.mapping.view.Graphic;
+
+/**
+ * Keeps the history of the sketches saved during a session, so that saving a new sketch or an edit can be undone and
+ * redone after the sketch editor has been stopped, which clears the editor's own undo stack.
+ *
+ * <p>An edit is recorded as a vertex delta: the run of vertices that changed, before and after, with the start of each
+ * part. Moving one vertex of a sketch with thousands of them keeps two vertices. A new sketch keeps no vertices until
+ * it is undone, as its geometry is still held by the store. Only the latest changes up to the history depth are kept.
+ *
+ * <p>Sketches are flat, so only the x and y of each vertex are recorded.
+ */
+public class SketchSessionJournal {
+
+  private final SavedSketchStore savedSketchStore;
+  private final int historyDepth;
+  private final Deque<Change> undoStack = new ArrayDeque<>();
+  private final Deque<Change> redoStack = new ArrayDeque<>();
+
+  /**
+   * Creates a journal of the changes made to the sketches of a store.
+   *
+   * @param savedSketchStore store holding the saved sketches
+   * @param historyDepth maximum number of changes that can be undone
+   */
+  public SketchSessionJournal(SavedSketchStore savedSketchStore, int historyDepth) {
+    this.savedSketchStore = savedSketchStore;
+    this.historyDepth = historyDepth;
+  }
+
+  /**
+   * Records that a new sketch is being saved. Call this before adding the sketch to the store, which may spill it.
+   *
+   * @param graphic graphic of the new sketch
+   */
+  public void recordAdd(Graphic graphic) {
+    Geometry geometry = graphic.getGeometry();
+    push(new Change(graphic, geometry.getGeometryType(), geometry.getSpatialReference(), null));
+  }
+
+  /**
+   * Records that the geometry of a saved sketch has been replaced.
+   *
+   * @param graphic graphic of the edited sketch
+   * @param before geometry before the edit
+   * @param after geometry after the edit
+   */
+  public void recordEdit(Graphic graphic, Geometry before, Geometry after) {
+    VertexDelta delta = VertexDelta.between(Vertices.of(before), Vertices.of(after));
+    push(new Change(graphic, after.getGeometryType(), after.getSpatialReference(), delta));
+  }
+
+  /**
+   * Whether there is a change to undo.
+   *
+   * @return true if a change can be undone
+   */
+  public boolean canUndo() {
+    return !undoStack.isEmpty();
+  }
+
+  /**
+   * Whether there is an undone change to redo.
+   *
+   * @return true if a change can be redone
+   */
+  public boolean canRedo() {
+    return !redoStack.isEmpty();
+  }
+
+  /**
+   * Undoes the latest change.
+   *
+   * @throws IllegalStateException if there is nothing to undo
+   */
+  public void undo() {
+    if (undoStack.isEmpty()) {
+      throw new IllegalStateException("Nothing to undo");
+    }
+    Change change = undoStack.pop();
+
+    if (change.delta == null) {
+      // keep the new sketch's vertices to redo it, then remove it
+      change.addedVertices = Vertices.of(savedSketchStore.getGeometry(change.graphic));
+      savedSketchStore.remove(change.graphic);
+    } else {
+      Vertices current = Vertices.of(savedSketchStore.getGeometry(change.graphic));
+      savedSketchStore.setGeometry(change.graphic, change.delta.revert(current).toGeometry(change.geometryType,
+        change.spatialReference));
+    }
+    redoStack.push(change);
+  }
+
+  /**
+   * Redoes the latest undone change.
+   *
+   * @throws IllegalStateException if there is nothing to redo
+   */
+  public void redo() {
+    if (redoStack.isEmpty()) {
+      throw new IllegalStateException("Nothing to redo");
+    }
+    Change change = redoStack.pop();
+
+    if (change.delta == null) {
+      change.graphic.setGeometry(change.addedVertices.toGeometry(change.geometryType, change.spatialReference));
+      change.addedVertices = null;
+      savedSketchStore.add(change.graphic);
+    } else {
+      Vertices current = Vertices.of(savedSketchStore.getGeometry(change.graphic));
+      savedSketchStore.setGeometry(change.graphic, change.delta.apply(current).toGeometry(change.geometryType,
+        change.spatialReference));
+    }
+    undoStack.push(change);
+  }
+
+  /**
+   * Forgets all of the recorded changes.
+   */
+  public void clear() {
+    undoStack.clear();
+    redoStack.clear();
+  }
+
+  /**
+   * Adds a change to undo, dropping the oldest change once the history is full. A new change can't follow undone ones,
+   * so they are dropped too.
+   */
+  private void push(Change change) {
+    redoStack.clear();
+    undoStack.push(change);
+    while (undoStack.size() > historyDepth) {
+      undoStack.removeLast();
+    }
+  }
+
+  /**
+   * A recorded change to a saved sketch: a new sketch if it has no delta, otherwise an edit.
+   */
+  private static class Change {
+    private final Graphic graphic;
+    private final GeometryType geometryType;
+    private final SpatialReference spatialReference;
+    private final VertexDelta delta;
+    // vertices of a new sketch while it is undone
+    private Vertices addedVertices;
+
+    private Change(Graphic graphic, GeometryType geometryType, SpatialReference spatialReference,
+                   VertexDelta delta) {
+      this.graphic = graphic;
+      this.geometryType = geometryType;
+      this.spatialReference = spatialReference;
+      this.delta = delta;
+    }
+  }
+
+  /**
+   * The x and y of each vertex of a geometry in turn, with the index of the first vertex of each part.
+   */
+  private static class Vertices {
+    private final double[] coordinates;
+    private final int[] partStarts;
+
+    private Vertices(double[] coordinates, int[] partStarts) {
+      this.coordinates = coordinates;
+      this.partStarts = partStarts;
+    }
+
+    /**
+     * Gets the vertices of a point, multipoint, polyline or polygon.
+     */
+    private static Vertices of(Geometry geometry) {
+      if (geometry instanceof Point) {
+        Point point = (Point) geometry;
+        return new Vertices(new double[] {point.getX(), point.getY()}, new int[] {0});
+      }
+      if (geometry instanceof Multipoint) {
+        return new Vertices(pack(((Multipoint) geometry).getPoints(), ((Multipoint) geometry).getPoints().size()),
+          new int[] {0});
+      }
+
+      Multipart multipart = (Multipart) geometry;
+      int[] partStarts = new int[multipart.getParts().size()];
+      int vertexCount = 0;
+      for (int i = 0; i < partStarts.length; i++) {
+        partStarts[i] = vertexCount;
+        vertexCount += multipart.getParts().get(i).getPointCount();
+      }
+      double[] coordinates = new double[2 * vertexCount];
+      int index = 0;
+      for (ImmutablePart part : multipart.getParts()) {
+        for (Point point : part.getPoints()) {
+          coordinates[index++] = point.getX();
+          coordinates[index++] = point.getY();
+        }
+      }
+      return new Vertices(coordinates, partStarts);
+    }
+
+    private static double[] pack(Iterable<Point> points, int count) {
+      double[] coordinates = new double[2 * count];
+      int index = 0;
+      for (Point point : points) {
+        coordinates[index++] = point.getX();
+        coordinates[index++] = point.getY();
+      }
+      return coordinates;
+    }
+
+    /**
+     * Creates a geometry of the given type from the vertices.
+     */
+    private Geometry toGeometry(GeometryType geometryType, SpatialReference spatialReference) {
+      switch (geometryType) {
+        case POINT:
+          return new Point(coordinates[0], coordinates[1], spatialReference);
+        case MULTIPOINT:
+          return new Multipoint(toPoints(0, coordinates.length / 2, spatialReference));
+        default:
+          PartCollection parts = new PartCollection(spatialReference);
+          for (int i = 0; i < partStarts.length; i++) {
+            int end = i + 1 < partStarts.length ? partStarts[i + 1] : coordinates.length / 2;
+            parts.add(new Part(toPoints(partStarts[i], end, spatialReference)));
+          }
+          return geometryType == GeometryType.POLYGON ? new Polygon(parts) : new Polyline(parts);
+      }
+    }
+
+    private PointCollection toPoints(int start, int end, SpatialReference spatialReference) {
+      PointCollection points = new PointCollection(spatialReference);
+      for (int i = start; i < end; i++) {
+        points.add(coordinates[2 * i], coordinates[2 * i + 1]);
+      }
+      return points;
+    }
+  }
+
+  /**
+   * The run of coordinates that differs between two sets of vertices, which share the coordinates before and after it,
+   * and the part starts of both.
+   */
+  private static class VertexDelta {
+    private final int start;
+    private final double[] removed;
+    private final double[] inserted;
+    private final int[] partStartsBefore;
+    private final int[] partStartsAfter;
+
+    private VertexDelta(int start, double[] removed, double[] inserted, int[] partStartsBefore,
+                        int[] partStartsAfter) {
+      this.start = start;
+      this.removed = removed;
+      this.inserted = inserted;
+      this.partStartsBefore = partStartsBefore;
+      this.partStartsAfter = partStartsAfter;
+    }
+
+    /**
+     * Finds the run of whole vertices that differs between two sets of vertices.
+     */
+    private static VertexDelta between(Vertices before, Vertices after) {
+      double[] a = before.coordinates;
+      double[] b = after.coordinates;
+      int shortest = Math.min(a.length, b.length);
+
+      // coordinates in common at the start, then at the end, counting whole vertices only
+      int prefix = 0;
+      while (prefix < shortest && a[prefix] == b[prefix]) {
+        prefix++;
+      }
+      prefix -= prefix % 2;
+      int suffix = 0;
+      while (suffix < shortest - prefix && a[a.length - 1 - suffix] == b[b.length - 1 - suffix]) {
+        suffix++;
+      }
+      suffix -= suffix % 2;
+
+      return new VertexDelta(prefix, Arrays.copyOfRange(a, prefix, a.length - suffix),
+        Arrays.copyOfRange(b, prefix, b.length - suffix), before.partStarts, after.partStarts);
+    }
+
+    private Vertices apply(Vertices before) {
+      return new Vertices(splice(before.coordinates, removed.length, inserted), partStartsAfter);
+    }
+
+    private Vertices revert(Vertices after) {
+      return new Vertices(splice(after.coordinates, inserted.length, removed), partStartsBefore);
+    }
+
+    /**
+     * Replaces a number of coordinates from the start of the delta with others.
+     */
+    private double[] splice(double[] coordinates, int replacedLength, double[] replacement) {
+      double[] result = new double[coordinates.length - replacedLength + replacement.length];
+      System.arraycopy(coordinates, 0, result, 0, start);
+      System.arraycopy(replacement, 0, result, start, replacement.length);
+      System.arraycopy(coordinates, start + replacedLength, result, start + replacement.length,
+        coordinates.length - start - replacedLength);
+      return result;
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.samples.update_graphics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.mapping.view.Graphic;
+import com.esri.arcgisruntime.mapping.view.GraphicsOverlay;
+import com.esri.arcgisruntime.symbology.SimpleMarkerSymbol;
+import com.esri.arcgisruntime.util.ListChangedEvent;
+
+/**
+ * A uniform grid over the point graphics of a graphics overlay, used to hit-test clicks without a round trip through
+ * the native identify. The index listens to the overlay's graphics list so it stays in sync as graphics are added and
+ * removed. Graphics that aren't points with a simple marker symbol are not indexed and are left to the native identify.
+ */
+public class GraphicHitTestIndex {
+
+  private final double cellSize;
+  private final Map<Long, List<Graphic>> cells = new HashMap<>();
+  private final Map<Graphic, Long> cellKeys = new HashMap<>();
+  private final Set<Graphic> unindexedGraphics = new HashSet<>();
+
+  /**
+   * Creates an index over the graphics of the given overlay.
+   *
+   * @param graphicsOverlay overlay whose graphics are indexed
+   * @param cellSize width and height of a grid cell, in the units of the graphics' spatial reference
+   */
+  public GraphicHitTestIndex(GraphicsOverlay graphicsOverlay, double cellSize) {
+    this.cellSize = cellSize;
+
+    graphicsOverlay.getGraphics().forEach(this::add);
+    graphicsOverlay.getGraphics().addListChangedListener(e -> {
+      if (e.getAction() == ListChangedEvent.Action.ADDED) {
+        e.getItems().forEach(this::add);
+      } else {
+        e.getItems().forEach(this::remove);
+      }
+    });
+  }
+
+  /**
+   * Returns the indexed graphic closest to the given location, or null if none is within the tolerance.
+   *
+   * @param location location to test, in the spatial reference of the graphics
+   * @param toleranceX horizontal search distance, in the units of the graphics' spatial reference
+   * @param toleranceY vertical search distance, in the units of the graphics' spatial reference
+   * @return closest graphic within tolerance, or null
+   */
+  public Graphic hitTest(Point location, double toleranceX, double toleranceY) {
+
+    Graphic closest = null;
+    double closestDistance = Double.MAX_VALUE;
+
+    // visit only the cells overlapping the search envelope
+    long minColumn = cellIndex(location.getX() - toleranceX);
+    long maxColumn = cellIndex(location.getX() + toleranceX);
+    long minRow = cellIndex(location.getY() - toleranceY);
+    long maxRow = cellIndex(location.getY() + toleranceY);
+
+    for (long column = minColumn; column <= maxColumn; column++) {
+      for (long row = minRow; row <= maxRow; row++) {
+        List<Graphic> graphics = cells.get(cellKey(column, row));
+        if (graphics == null) {
+          continue;
+        }
+        for (Graphic graphic : graphics) {
+          Point point = (Point) graphic.getGeometry();
+          double dx = point.getX() - location.getX();
+          double dy = point.getY() - location.getY();
+          if (Math.abs(dx) <= toleranceX && Math.abs(dy) <= toleranceY) {
+            double distance = dx * dx + dy * dy;
+            if (distance < closestDistance) {
+              closest = graphic;
+              closestDistance = distance;
+            }
+          }
+        }
+      }
+    }
+    return closest;
+  }
+
+  /**
+   * Moves a graphic to the cell matching its current geometry. Call this after changing the geometry of a graphic in
+   * the overlay.
+   *
+   * @param graphic graphic whose geometry has changed
+   */
+  public void update(Graphic graphic) {
+    remove(graphic);
+    add(graphic);
+  }
+
+  /**
+   * Whether the overlay contains graphics that can only be hit-tested with the native identify.
+   *
+   * @return true if some graphics are not indexed
+   */
+  public boolean hasUnindexedGraphics() {
+    return !unindexedGraphics.isEmpty();
+  }
+
+  /**
+   * Adds a graphic to the cell containing its location, or to the unindexed set if it isn't a simple point.
+   *
+   * @param graphic graphic to add
+   */
+  private void add(Graphic graphic) {
+    if (graphic.getGeometry() instanceof Point && graphic.getSymbol() instanceof SimpleMarkerSymbol) {
+      Point point = (Point) graphic.getGeometry();
+      long key = cellKey(cellIndex(point.getX()), cellIndex(point.getY()));
+      cells.computeIfAbsent(key, k -> new ArrayList<>()).add(graphic);
+      cellKeys.put(graphic, key);
+    } else {
+      unindexedGraphics.add(graphic);
+    }
+  }
+
+  /**
+   * Removes a graphic from the index.
+   *
+   * @param graphic graphic to remove
+   */
+  private void remove(Graphic graphic) {
+    Long key = cellKeys.remove(graphic);
+    if (key != null) {
+      List<Graphic> graphics = cells.get(key);
+      graphics.remove(graphic);
+      if (graphics.isEmpty()) {
+        cells.remove(key);
+      }
+    } else {
+      unindexedGraphics.remove(graphic);
+    }
+  }
+
+  private long cellIndex(double coordinate) {
+    return (long) Math.floor(coordinate / cellSize);
+  }
+
+  private static long cellKey(long column, long row) {
+    return (column << 32) ^ (row & 0xFFFFFFFFL);
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.samples.update_graphics;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javafx.animation.AnimationTimer;
+
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.mapping.view.Graphic;
+import com.esri.arcgisruntime.symbology.Symbol;
+
+/**
+ * Stages changes to graphics and applies them together once per JavaFX pulse. Changes may be staged from any thread.
+ * When the same property of a graphic is staged more than once before a pulse, only the latest value is applied.
+ */
+public class GraphicUpdater {
+
+  private final Consumer<Graphic> onGeometryApplied;
+  private final AnimationTimer timer;
+  private Map<Graphic, PendingUpdate> pendingUpdates = new LinkedHashMap<>();
+  private boolean timerRunning;
+
+  /**
+   * Creates an updater that applies the staged changes on each JavaFX pulse.
+   *
+   * @param onGeometryApplied called on the JavaFX application thread after a graphic's staged geometry is applied
+   */
+  public GraphicUpdater(Consumer<Graphic> onGeometryApplied) {
+    this(onGeometryApplied, true);
+  }
+
+  /**
+   * Creates an updater.
+   *
+   * @param onGeometryApplied called after a graphic's staged geometry is applied, on the thread applying the changes
+   * @param applyEachPulse whether to apply the staged changes on each JavaFX pulse; if false, they are only applied
+   *     when {@link #applyPendingUpdates()} is called, and the JavaFX toolkit isn't needed
+   */
+  public GraphicUpdater(Consumer<Graphic> onGeometryApplied, boolean applyEachPulse) {
+    this.onGeometryApplied = onGeometryApplied;
+    timer = !applyEachPulse ? null : new AnimationTimer() {
+      @Override
+      public void handle(long now) {
+        applyPendingUpdates();
+      }
+    };
+  }
+
+  /**
+   * Stages a new geometry for a graphic.
+   *
+   * @param graphic graphic to update
+   * @param geometry new geometry
+   */
+  public synchronized void setGeometry(Graphic graphic, Geometry geometry) {
+    pendingUpdate(graphic).geometry = geometry;
+  }
+
+  /**
+   * Stages a new symbol for a graphic.
+   *
+   * @param graphic graphic to update
+   * @param symbol new symbol
+   */
+  public synchronized void setSymbol(Graphic graphic, Symbol symbol) {
+    pendingUpdate(graphic).symbol = symbol;
+  }
+
+  /**
+   * Stages a new value for one of a graphic's attributes.
+   *
+   * @param graphic graphic to update
+   * @param key attribute name
+   * @param value new attribute value
+   */
+  public synchronized void putAttribute(Graphic graphic, String key, Object value) {
+    pendingUpdate(graphic).attributes.put(key, value);
+  }
+
+  /**
+   * Stops applying staged changes. Any changes not yet applied are discarded.
+   */
+  public synchronized void stop() {
+    if (timer != null) {
+      timer.stop();
+    }
+    timerRunning = false;
+    pendingUpdates.clear();
+  }
+
+  /**
+   * Gets the pending update for a graphic, creating it and making sure the timer is running if there isn't one.
+   *
+   * @param graphic graphic to update
+   * @return the graphic's pending update
+   */
+  private PendingUpdate pendingUpdate(Graphic graphic) {
+    if (!timerRunning && timer != null) {
+      // AnimationTimer can be started from any thread
+      timer.start();
+      timerRunning = true;
+    }
+    return pendingUpdates.computeIfAbsent(graphic, g -> new PendingUpdate());
+  }
+
+  /**
+   * Applies all of the staged changes, then stops the timer until something new is staged. This is called on each
+   * pulse while changes are staged, unless the updater was created to be applied only when this is called.
+   */
+  public void applyPendingUpdates() {
+
+    // swap in an empty map so staging isn't blocked while the updates are applied
+    Map<Graphic, PendingUpdate> updates;
+    synchronized (this) {
+      updates = pendingUpdates;
+      pendingUpdates = new LinkedHashMap<>();
+      if (timer != null) {
+        timer.stop();
+      }
+      timerRunning = false;
+    }
+
+    updates.forEach((graphic, update) -> {
+      if (update.symbol != null) {
+        graphic.setSymbol(update.symbol);
+      }
+      if (!update.attributes.isEmpty()) {
+        graphic.getAttributes().putAll(update.attributes);
+      }
+      if (update.geometry != null) {
+        graphic.setGeometry(update.geometry);
+        onGeometryApplied.accept(graphic);
+      }
+    });
+  }
+
+  /**
+   * The latest staged changes for a single graphic.
+   */
+  private static class PendingUpdate {
+    private Geometry geometry;
+    private Symbol symbol;
+    private final Map<String, Object> attributes = new HashMap<>();
+  }
+}
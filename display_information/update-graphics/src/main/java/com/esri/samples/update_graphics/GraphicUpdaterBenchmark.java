@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.samples.update_graphics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+import com.esri.arcgisruntime.mapping.view.Graphic;
+import com.esri.arcgisruntime.mapping.view.GraphicsOverlay;
+import com.esri.arcgisruntime.symbology.SimpleMarkerSymbol;
+
+/**
+ * Measures how many graphic updates per second are made when moving graphics through a {@link GraphicUpdater}, against
+ * calling {@link Graphic#setGeometry} for each update, without showing a UI. The graphics are points with simple
+ * marker symbols, like the sample's, so both paths move every graphic between the cells of a
+ * {@link GraphicHitTestIndex}, as the sample does.
+ *
+ * <p>Each frame, every graphic is moved a number of times, like a feed sending several positions between pulses. The
+ * naive path sets each position on the graphic straight away; the staged path stages each position and applies the
+ * latest one for each graphic once per frame.
+ *
+ * <p>Usage: {@code GraphicUpdaterBenchmark [graphics] [updates per graphic per frame] [frames]}
+ */
+public class GraphicUpdaterBenchmark {
+
+  // largest step of a graphic for each update, in degrees
+  private static final double STEP = 0.001;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args optional number of graphics, number of updates of each graphic per frame and number of frames
+   */
+  public static void main(String[] args) {
+
+    int graphicCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+    int updatesPerFrame = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+    int frames = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+    // the graphics need the runtime, but not a map view
+    ArcGISRuntimeEnvironment.initialize();
+
+    System.out.printf("%d graphics, %d updates per graphic per frame, %d frames%n", graphicCount, updatesPerFrame,
+      frames);
+
+    // set each position on the graphic, then move it in the index
+    GraphicsOverlay naiveOverlay = createOverlay(graphicCount);
+    GraphicHitTestIndex naiveIndex = createIndex(naiveOverlay);
+    LongAdder naiveApplied = new LongAdder();
+    measure("setGeometry", naiveOverlay, updatesPerFrame, frames, naiveApplied, (graphic, point) -> {
+      graphic.setGeometry(point);
+      naiveIndex.update(graphic);
+      naiveApplied.increment();
+    }, () -> {
+    });
+
+    // stage each position, then apply the latest ones once per frame
+    GraphicsOverlay stagedOverlay = createOverlay(graphicCount);
+    GraphicHitTestIndex stagedIndex = createIndex(stagedOverlay);
+    LongAdder stagedApplied = new LongAdder();
+    GraphicUpdater updater = new GraphicUpdater(graphic -> {
+      stagedIndex.update(graphic);
+      stagedApplied.increment();
+    }, false);
+    measure("GraphicUpdater", stagedOverlay, updatesPerFrame, frames, stagedApplied, updater::setGeometry,
+      updater::applyPendingUpdates);
+
+    ArcGISRuntimeEnvironment.dispose();
+  }
+
+  /**
+   * Creates an overlay with marker graphics at random points.
+   */
+  private static GraphicsOverlay createOverlay(int graphicCount) {
+    Random random = new Random(42);
+    SpatialReference wgs84 = SpatialReferences.getWgs84();
+    SimpleMarkerSymbol marker = new SimpleMarkerSymbol(SimpleMarkerSymbol.Style.CIRCLE, 0xFFFF0000, 10);
+    List<Graphic> graphics = new ArrayList<>(graphicCount);
+    for (int i = 0; i < graphicCount; i++) {
+      graphics.add(new Graphic(new Point(random.nextDouble() * 10, random.nextDouble() * 10, wgs84), marker));
+    }
+    GraphicsOverlay graphicsOverlay = new GraphicsOverlay();
+    graphicsOverlay.getGraphics().addAll(graphics);
+    return graphicsOverlay;
+  }
+
+  /**
+   * Creates a hit test index with the sample's cell size, checking that every graphic of the overlay is in its grid.
+   */
+  private static GraphicHitTestIndex createIndex(GraphicsOverlay graphicsOverlay) {
+    GraphicHitTestIndex index = new GraphicHitTestIndex(graphicsOverlay, 0.01);
+    if (index.hasUnindexedGraphics()) {
+      throw new IllegalStateException("Some graphics aren't in the index's grid, so moving them wouldn't update it");
+    }
+    return index;
+  }
+
+  /**
+   * Moves every graphic of the overlay a number of times each frame, ending each frame with the given action, then
+   * prints the update throughput and how many geometries were set on graphics.
+   */
+  private static void measure(String method, GraphicsOverlay graphicsOverlay, int updatesPerFrame, int frames,
+                              LongAdder applied, BiConsumer<Graphic, Point> update, Runnable endFrame) {
+    List<Graphic> graphics = new ArrayList<>(graphicsOverlay.getGraphics());
+    SpatialReference wgs84 = SpatialReferences.getWgs84();
+    double[] coordinates = new double[2 * graphics.size()];
+    for (int i = 0; i < graphics.size(); i++) {
+      Point point = (Point) graphics.get(i).getGeometry();
+      coordinates[2 * i] = point.getX();
+      coordinates[2 * i + 1] = point.getY();
+    }
+
+    // make the positions up front, so only the updates are timed
+    Random random = new Random(7);
+    Point[][] positions = new Point[frames * updatesPerFrame][graphics.size()];
+    for (Point[] step : positions) {
+      for (int i = 0; i < graphics.size(); i++) {
+        coordinates[2 * i] += (random.nextDouble() - 0.5) * STEP;
+        coordinates[2 * i + 1] += (random.nextDouble() - 0.5) * STEP;
+        step[i] = new Point(coordinates[2 * i], coordinates[2 * i + 1], wgs84);
+      }
+    }
+
+    long start = System.nanoTime();
+    for (int frame = 0; frame < frames; frame++) {
+      for (int u = 0; u < updatesPerFrame; u++) {
+        Point[] step = positions[frame * updatesPerFrame + u];
+        for (int i = 0; i < graphics.size(); i++) {
+          update.accept(graphics.get(i), step[i]);
+        }
+      }
+      endFrame.run();
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    long updates = (long) positions.length * graphics.size();
+    System.out.printf("  %-16s %8.2f s %12.0f updates/s %12.0f frames/s %10d geometries set%n", method, seconds,
+      updates / seconds, frames / seconds, applied.sum());
+  }
+}
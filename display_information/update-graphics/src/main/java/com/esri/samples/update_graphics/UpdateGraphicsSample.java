@@ -42,6 +42,7 @@ import javafx.stage.Stage;
 
 import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
 import com.esri.arcgisruntime.concurrent.ListenableFuture;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
 import com.esri.arcgisruntime.geometry.Point;
 import com.esri.arcgisruntime.geometry.SpatialReference;
 import com.esri.arcgisruntime.geometry.SpatialReferences;
@@ -64,6 +65,8 @@ public class UpdateGraphicsSample extends Application {
   private Graphic identifiedGraphic;
   private GraphicsOverlay graphicsOverlay;
   private Point2D mapViewPoint;
+  private GraphicHitTestIndex hitTestIndex;
+  private GraphicUpdater graphicUpdater;
 
   // colors for symbols
   private static final int PURPLE = 0xFF800080;
@@ -116,7 +119,7 @@ public class UpdateGraphicsSample extends Application {
       // set the symbol of the graphic
       symbolBox.showingProperty().addListener((obs, wasShowing, isShowing) -> {
         if (identifiedGraphic.isSelected() && !isShowing) {
-          identifiedGraphic.setSymbol(markers.get(symbolBox.getSelectionModel().getSelectedIndex()));
+          graphicUpdater.setSymbol(identifiedGraphic, markers.get(symbolBox.getSelectionModel().getSelectedIndex()));
         }
       });
 
@@ -142,6 +145,12 @@ public class UpdateGraphicsSample extends Application {
       // create default graphics for graphics overlay
       createGraphics();
 
+      // index the graphics for hit-testing, with cells of roughly a kilometre
+      hitTestIndex = new GraphicHitTestIndex(graphicsOverlay, 0.01);
+
+      // apply changes to graphics once per pulse, keeping the index in sync with moved graphics
+      graphicUpdater = new GraphicUpdater(hitTestIndex::update);
+
       updateDescriptionButton.setOnAction(e -> {
         if (identifiedGraphic.isSelected()) {
           // get attributes from selected graphic
@@ -158,7 +167,7 @@ public class UpdateGraphicsSample extends Application {
           Optional<String> result = dialog.showAndWait();
           result.ifPresent(text -> {
             if (!text.isEmpty()) {
-              attributes.put("DESCRIPTION", text);
+              graphicUpdater.putAttribute(identifiedGraphic, "DESCRIPTION", text);
             }
           });
         }
@@ -175,42 +184,44 @@ public class UpdateGraphicsSample extends Application {
           // create a point where the user clicked
           mapViewPoint = new Point2D(e.getX(), e.getY());
 
-          // identify graphics on the graphics overlay
-          ListenableFuture<IdentifyGraphicsOverlayResult> identifyGraphics =
-            mapView.identifyGraphicsOverlayAsync(graphicsOverlay, mapViewPoint, 10, false);
-
-          identifyGraphics.addDoneListener(() -> {
-            try {
-              if (!identifyGraphics.get().getGraphics().isEmpty()) {
-                // get the first identified graphic
-                identifiedGraphic = identifyGraphics.get().getGraphics().get(0);
-                // select the identified graphic
-                identifiedGraphic.setSelected(true);
-                // update the drop down box with the identified graphic's current symbol
-                String style = ((SimpleMarkerSymbol) identifiedGraphic.getSymbol()).getStyle().toString();
-                symbolBox.getSelectionModel().select(style);
-                // show the UI
-                disableUI(false);
-
-                // enable dragging of the identified graphic to move its location
-                mapView.setOnMouseDragged(event -> {
-                  if (identifiedGraphic.isSelected() && identifiedGraphic != null) {
-                    // set the cursor to closed hand to indicate graphic dragging is active
-                    mapView.setCursor(Cursor.CLOSED_HAND);
-                    // create a point from the dragged location
-                    mapViewPoint = new Point2D(event.getX(), event.getY());
-                    Point mapPoint = mapView.screenToLocation(mapViewPoint);
-                    // update the location of the graphic to the dragged location
-                    identifiedGraphic.setGeometry(mapPoint);
-                  }
-                });
-              } else {
-                disableUI(true);
+          // hit-test the indexed point graphics, using a tolerance of 10 pixels either side of the click
+          Point location = toGraphicsLocation(mapViewPoint);
+          Point corner = toGraphicsLocation(new Point2D(e.getX() + 10, e.getY() + 10));
+          Graphic hitGraphic = location == null || corner == null ? null :
+            hitTestIndex.hitTest(location, Math.abs(corner.getX() - location.getX()),
+              Math.abs(corner.getY() - location.getY()));
+
+          if (hitGraphic != null || !hitTestIndex.hasUnindexedGraphics()) {
+            selectGraphic(hitGraphic);
+          } else {
+            // fall back to identifying graphics on the graphics overlay for graphics the index doesn't cover
+            ListenableFuture<IdentifyGraphicsOverlayResult> identifyGraphics =
+              mapView.identifyGraphicsOverlayAsync(graphicsOverlay, mapViewPoint, 10, false);
+
+            identifyGraphics.addDoneListener(() -> {
+              try {
+                List<Graphic> graphics = identifyGraphics.get().getGraphics();
+                selectGraphic(graphics.isEmpty() ? null : graphics.get(0));
+              } catch (Exception x) {
+                new Alert(Alert.AlertType.ERROR, "Error identifying clicked graphic").show();
               }
-            } catch (Exception x) {
-              new Alert(Alert.AlertType.ERROR, "Error identifying clicked graphic").show();
-            }
-          });
+            });
+          }
+        }
+      });
+
+      // enable dragging of the identified graphic to move its location
+      mapView.setOnMouseDragged(event -> {
+        if (identifiedGraphic != null && identifiedGraphic.isSelected()) {
+          // set the cursor to closed hand to indicate graphic dragging is active
+          mapView.setCursor(Cursor.CLOSED_HAND);
+          // create a point from the dragged location
+          mapViewPoint = new Point2D(event.getX(), event.getY());
+          Point location = toGraphicsLocation(mapViewPoint);
+          if (location != null) {
+            // stage the dragged location, only the latest location is applied on the next pulse
+            graphicUpdater.setGeometry(identifiedGraphic, location);
+          }
         }
       });
 
@@ -271,6 +282,37 @@ public class UpdateGraphicsSample extends Application {
     }
   }
 
+  /**
+   * Selects the given graphic and shows the UI for updating it, or hides the UI if there is no graphic.
+   *
+   * @param graphic graphic to select, or null
+   */
+  private void selectGraphic(Graphic graphic) {
+    if (graphic != null) {
+      identifiedGraphic = graphic;
+      // select the identified graphic
+      identifiedGraphic.setSelected(true);
+      // update the drop down box with the identified graphic's current symbol
+      String style = ((SimpleMarkerSymbol) identifiedGraphic.getSymbol()).getStyle().toString();
+      symbolBox.getSelectionModel().select(style);
+      // show the UI
+      disableUI(false);
+    } else {
+      disableUI(true);
+    }
+  }
+
+  /**
+   * Converts a screen point to a location in the spatial reference of the graphics.
+   *
+   * @param screenPoint point on the map view
+   * @return location in WGS84, or null if the screen point is not on the map
+   */
+  private Point toGraphicsLocation(Point2D screenPoint) {
+    Point mapPoint = mapView.screenToLocation(screenPoint);
+    return mapPoint == null ? null : (Point) GeometryEngine.project(mapPoint, SpatialReferences.getWgs84());
+  }
+
   /**
    * Disables the visibility of the UI controls.
    *
@@ -287,6 +329,9 @@ public class UpdateGraphicsSample extends Application {
   @Override
   public void stop() {
 
+    if (graphicUpdater != null) {
+      graphicUpdater.stop();
+    }
     if (mapView != null) {
       mapView.dispose();
     }
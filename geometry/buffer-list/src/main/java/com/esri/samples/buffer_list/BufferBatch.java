@@ -0,0 +1,170 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.buffer_list;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javafx.application.Platform;
+
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.Polygon;
+
+/**
+ * Buffers a list of geometries on a fork/join pool instead of the JavaFX application thread. The input is split into
+ * chunks that are buffered in parallel. Without union, the buffers of each chunk are passed on as soon as they are
+ * ready. With union, each chunk is buffered into a single polygon and the chunk polygons are then unioned in groups,
+ * level by level, until one polygon is left.
+ */
+public class BufferBatch {
+
+  // number of polygons unioned together at each level of the union
+  private static final int UNION_GROUP_SIZE = 8;
+
+  private final List<Geometry> geometries;
+  private final List<Double> distances;
+  private final boolean union;
+  private final int chunkSize;
+  private volatile boolean cancelled;
+
+  /**
+   * Creates a batch from copies of the given lists, so they can keep changing while the batch runs.
+   *
+   * @param geometries geometries to buffer
+   * @param distances buffer distance for each geometry, in the units of the geometries' spatial reference
+   * @param union whether to union the buffers into one polygon
+   * @param chunkSize number of geometries buffered together as one task
+   */
+  public BufferBatch(List<Geometry> geometries, List<Double> distances, boolean union, int chunkSize) {
+    this.geometries = new ArrayList<>(geometries);
+    this.distances = new ArrayList<>(distances);
+    this.union = union;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Starts buffering on the given pool. The callbacks are called on the JavaFX application thread, and stop being
+   * called once the batch is cancelled.
+   *
+   * @param pool pool to buffer on
+   * @param onBuffers called with the buffers of each chunk, or with the single unioned polygon at the end
+   * @param onProgress called with the fraction of chunks buffered
+   * @param onFinished called when all of the buffers have been passed on
+   * @param onFailed called if buffering fails
+   */
+  public void start(ForkJoinPool pool, Consumer<List<Polygon>> onBuffers, DoubleConsumer onProgress,
+                    Runnable onFinished, Consumer<Exception> onFailed) {
+    pool.execute(() -> {
+      try {
+        List<Polygon> unioned = buffer(buffers -> runLater(() -> onBuffers.accept(buffers)),
+          progress -> runLater(() -> onProgress.accept(progress)));
+        if (union) {
+          runLater(() -> onBuffers.accept(unioned));
+        }
+        runLater(onFinished);
+      } catch (Exception e) {
+        runLater(() -> onFailed.accept(e));
+      }
+    });
+  }
+
+  /**
+   * Buffers all of the geometries on the fork/join pool of the calling thread.
+   *
+   * @param onChunkBuffered called on a pool thread with the buffers of each chunk when they are not unioned
+   * @param onProgress called on a pool thread with the fraction of chunks buffered
+   * @return the unioned polygon if union was requested, otherwise all of the buffers
+   */
+  public List<Polygon> buffer(Consumer<List<Polygon>> onChunkBuffered, DoubleConsumer onProgress) {
+
+    int chunkCount = (geometries.size() + chunkSize - 1) / chunkSize;
+    AtomicInteger chunksBuffered = new AtomicInteger();
+
+    // buffer each chunk in parallel, unioning the chunk's buffers if requested
+    List<Polygon> buffers = IntStream.range(0, chunkCount).parallel()
+      .mapToObj(chunk -> {
+        if (cancelled) {
+          return Collections.<Polygon>emptyList();
+        }
+        int from = chunk * chunkSize;
+        int to = Math.min(from + chunkSize, geometries.size());
+        List<Polygon> chunkBuffers = GeometryEngine.buffer(geometries.subList(from, to), distances.subList(from, to),
+          union);
+        if (!union) {
+          onChunkBuffered.accept(chunkBuffers);
+        }
+        onProgress.accept((double) chunksBuffered.incrementAndGet() / chunkCount);
+        return chunkBuffers;
+      })
+      .flatMap(List::stream)
+      .collect(Collectors.toList());
+
+    if (!union) {
+      return buffers;
+    }
+
+    // union the chunk polygons in groups, in parallel, until only one is left
+    while (buffers.size() > 1 && !cancelled) {
+      List<Polygon> level = buffers;
+      buffers = IntStream.range(0, (level.size() + UNION_GROUP_SIZE - 1) / UNION_GROUP_SIZE).parallel()
+        .mapToObj(group -> {
+          List<Geometry> polygons = new ArrayList<>(level.subList(group * UNION_GROUP_SIZE,
+            Math.min((group + 1) * UNION_GROUP_SIZE, level.size())));
+          return (Polygon) GeometryEngine.union(polygons);
+        })
+        .collect(Collectors.toList());
+    }
+    return buffers;
+  }
+
+  /**
+   * Stops the batch. Chunks already being buffered finish, but their results are not passed on.
+   */
+  public void cancel() {
+    cancelled = true;
+  }
+
+  /**
+   * Whether the batch has been cancelled.
+   *
+   * @return true if the batch has been cancelled
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Runs a callback on the JavaFX application thread unless the batch has been cancelled by then.
+   *
+   * @param callback the callback to run
+   */
+  private void runLater(Runnable callback) {
+    Platform.runLater(() -> {
+      if (!cancelled) {
+        callback.run();
+      }
+    });
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.buffer_list;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
+import com.esri.arcgisruntime.geometry.Envelope;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.LinearUnit;
+import com.esri.arcgisruntime.geometry.LinearUnitId;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+
+/**
+ * Measures how buffering with {@link BufferBatch} scales with the number of threads, without showing a UI.
+ *
+ * <p>Random points are generated inside the area where the sample's spatial reference is valid and buffered with and
+ * without union on pools of 1, 2, 4 and so on threads, ending with the number of available processors even if it isn't
+ * a power of two.
+ *
+ * <p>Usage: {@code BufferBatchBenchmark [points] [chunk size]}
+ */
+public class BufferBatchBenchmark {
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args optional number of points and chunk size
+   */
+  public static void main(String[] args) throws Exception {
+
+    int pointCount = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+    int chunkSize = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+    // the geometry engine needs the runtime, but not a map view
+    ArcGISRuntimeEnvironment.initialize();
+
+    // generate random points inside the area the sample's spatial reference is valid for, with random distances
+    SpatialReference statePlaneNorthCentralTexas = SpatialReference.create(32038);
+    Envelope boundary = GeometryEngine.project(
+      new Envelope(-103.070, 31.720, -94.000, 34.580, SpatialReferences.getWgs84()), statePlaneNorthCentralTexas)
+      .getExtent();
+    double milesToMeters = new LinearUnit(LinearUnitId.MILES).convertTo(new LinearUnit(LinearUnitId.METERS), 1);
+
+    Random random = new Random(42);
+    List<Geometry> points = new ArrayList<>(pointCount);
+    List<Double> distances = new ArrayList<>(pointCount);
+    for (int i = 0; i < pointCount; i++) {
+      points.add(new Point(boundary.getXMin() + random.nextDouble() * boundary.getWidth(),
+        boundary.getYMin() + random.nextDouble() * boundary.getHeight(), statePlaneNorthCentralTexas));
+      // distances of 1 to 10 miles, converted to meters as the sample does
+      distances.add((1 + random.nextDouble() * 9) * milesToMeters);
+    }
+
+    System.out.printf("Buffering %d points in chunks of %d%n", pointCount, chunkSize);
+    for (boolean union : new boolean[] {false, true}) {
+      double singleThreadSeconds = 0;
+      for (int threads : threadCounts(Runtime.getRuntime().availableProcessors())) {
+        BufferBatch batch = new BufferBatch(points, distances, union, chunkSize);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        try {
+          pool.submit(() -> batch.buffer(buffers -> {}, progress -> {})).get();
+        } finally {
+          pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (threads == 1) {
+          singleThreadSeconds = seconds;
+        }
+        System.out.printf("%s, %2d threads: %.2f s (%.0f points/s, speedup %.2fx)%n", union ? "union" : "no union",
+          threads, seconds, pointCount / seconds, singleThreadSeconds / seconds);
+      }
+    }
+
+    ArcGISRuntimeEnvironment.dispose();
+  }
+
+  /**
+   * Gets the thread counts to measure: 1, 2, 4 and so on, ending with the maximum even if it isn't a power of two.
+   *
+   * @param maxThreads maximum number of threads
+   * @return the thread counts, in increasing order
+   */
+  private static List<Integer> threadCounts(int maxThreads) {
+    List<Integer> threadCounts = new ArrayList<>();
+    for (int threads = 1; threads < maxThreads; threads *= 2) {
+      threadCounts.add(threads);
+    }
+    threadCounts.add(Math.max(maxThreads, 1));
+    return threadCounts;
+  }
+}
@@ -19,6 +19,7 @@ package com.esri.samples.buffer_list;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import javafx.application.Application;
 import javafx.geometry.Insets;
@@ -28,6 +29,7 @@ import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.Spinner;
 import javafx.scene.input.MouseButton;
 import javafx.scene.layout.Background;
@@ -60,7 +62,12 @@ import com.esri.arcgisruntime.symbology.SimpleMarkerSymbol;
 
 public class BufferListSample extends Application {
 
+  // number of points buffered together as one task
+  private static final int CHUNK_SIZE = 1000;
+
   private MapView mapView;
+  private final ForkJoinPool bufferPool = new ForkJoinPool();
+  private BufferBatch runningBatch;
 
   @Override
   public void start(Stage stage) {
@@ -128,7 +135,7 @@ public class BufferListSample extends Application {
       controlsVBox.setBackground(new Background(new BackgroundFill(Paint.valueOf("rgba(0,0,0,0.3)"), CornerRadii.EMPTY,
           Insets.EMPTY)));
       controlsVBox.setPadding(new Insets(10.0));
-      controlsVBox.setMaxSize(200, 150);
+      controlsVBox.setMaxSize(200, 210);
       controlsVBox.getStyleClass().add("panel-region");
 
       // create a spinner to set the buffer size (in miles)
@@ -148,10 +155,21 @@ public class BufferListSample extends Application {
       Button createButton = new Button("Create Buffer(s)");
       controlsVBox.getChildren().add(createButton);
 
+      // create a button to cancel buffering
+      Button cancelButton = new Button("Cancel");
+      cancelButton.setDisable(true);
+      controlsVBox.getChildren().add(cancelButton);
+
       // create a button to clear the buffer(s)
       Button clearButton = new Button("Clear");
       controlsVBox.getChildren().add(clearButton);
 
+      // create a progress bar to show how many of the points have been buffered
+      ProgressBar progressBar = new ProgressBar(0);
+      progressBar.setMaxWidth(Double.MAX_VALUE);
+      progressBar.setVisible(false);
+      controlsVBox.getChildren().add(progressBar);
+
       // when the user clicks the map, save the clicked location, along with the current distance value
       List<Geometry> geometries = new ArrayList<>();
       List<Double> distances = new ArrayList<>();
@@ -178,15 +196,47 @@ public class BufferListSample extends Application {
       createButton.setOnAction(e -> {
         // if the buffers are unioned, only one polygon is returned
         if (!geometries.isEmpty() && !distances.isEmpty()) {
-          List<Polygon> buffers = GeometryEngine.buffer(geometries, distances, unionCheckBox.isSelected());
-          buffers.forEach(bufferGeometry -> {
-            Graphic bufferGraphic = new Graphic(bufferGeometry, fillSymbol);
-            bufferGraphicsOverlay.getGraphics().add(bufferGraphic);
-          });
+          // buffer the points in chunks off the JavaFX application thread, adding the buffers of each chunk as they
+          // are created
+          runningBatch = new BufferBatch(geometries, distances, unionCheckBox.isSelected(), CHUNK_SIZE);
+          createButton.setDisable(true);
+          cancelButton.setDisable(false);
+          progressBar.setProgress(0);
+          progressBar.setVisible(true);
+
+          runningBatch.start(bufferPool,
+            buffers -> {
+              List<Graphic> bufferGraphics = new ArrayList<>(buffers.size());
+              buffers.forEach(bufferGeometry -> bufferGraphics.add(new Graphic(bufferGeometry, fillSymbol)));
+              bufferGraphicsOverlay.getGraphics().addAll(bufferGraphics);
+            },
+            progressBar::setProgress,
+            () -> {
+              runningBatch = null;
+              createButton.setDisable(false);
+              cancelButton.setDisable(true);
+              progressBar.setVisible(false);
+            },
+            ex -> {
+              cancelButton.fire();
+              new Alert(Alert.AlertType.ERROR, "Error creating buffers: " + ex.getMessage()).show();
+            });
+        }
+      });
+
+      // stop buffering, keeping the buffers already added
+      cancelButton.setOnAction(e -> {
+        if (runningBatch != null) {
+          runningBatch.cancel();
+          runningBatch = null;
         }
+        createButton.setDisable(false);
+        cancelButton.setDisable(true);
+        progressBar.setVisible(false);
       });
 
       clearButton.setOnAction(e -> {
+        cancelButton.fire();
         bufferGraphicsOverlay.getGraphics().clear();
         geometries.clear();
         distances.clear();
@@ -208,6 +258,12 @@ public class BufferListSample extends Application {
   @Override
   public void stop() {
 
+    // stop any buffering still running
+    if (runningBatch != null) {
+      runningBatch.cancel();
+    }
+    bufferPool.shutdownNow();
+
     if (mapView != null) {
       mapView.dispose();
     }
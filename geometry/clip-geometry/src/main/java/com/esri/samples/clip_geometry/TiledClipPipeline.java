@@ -0,0 +1,299 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.clip_geometry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import com.esri.arcgisruntime.data.Feature;
+import com.esri.arcgisruntime.data.FeatureCollectionTable;
+import com.esri.arcgisruntime.data.FeatureQueryResult;
+import com.esri.arcgisruntime.data.FeatureTable;
+import com.esri.arcgisruntime.data.Field;
+import com.esri.arcgisruntime.data.QueryParameters;
+import com.esri.arcgisruntime.geometry.Envelope;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.GeometryType;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+
+/**
+ * Clips every feature of a feature table, such as a shapefile or geodatabase table, to each of a list of tile
+ * envelopes and writes the clipped geometries to a feature collection table.
+ *
+ * <p>Features are read as a stream and clipped in batches on a pool, with only a few batches in memory at a time. The
+ * tiles are put in a grid so that each feature is only compared with the tiles near it, and a feature is only clipped
+ * by the geometry engine when its envelope crosses a tile's edge: features whose envelopes miss a tile are skipped and
+ * features whose envelopes are inside a tile are written whole. The results of each batch are added to the output table
+ * as soon as the batch is done.
+ */
+public class TiledClipPipeline {
+
+  /**
+   * Name of the output field holding the index of the tile a geometry was clipped to.
+   */
+  public static final String TILE_FIELD = "TILE";
+  /**
+   * Name of the output field holding the position of the clipped feature in the source table.
+   */
+  public static final String SOURCE_FIELD = "SOURCE";
+
+  private final double[] tileEnvelopes;
+  private final List<Envelope> tiles;
+  private final TileGrid grid;
+  private final int batchSize;
+
+  private final LongAdder featuresRead = new LongAdder();
+  private final LongAdder clipCalls = new LongAdder();
+  private final LongAdder featuresInsideTiles = new LongAdder();
+  private final LongAdder featuresWritten = new LongAdder();
+
+  /**
+   * Creates a pipeline for a list of tiles.
+   *
+   * @param tiles envelopes to clip to, in the spatial reference of the source tables
+   * @param batchSize number of features clipped together and written to the output table at once
+   */
+  public TiledClipPipeline(List<Envelope> tiles, int batchSize) {
+    this.tiles = new ArrayList<>(tiles);
+    this.batchSize = batchSize;
+    tileEnvelopes = new double[4 * tiles.size()];
+    for (int i = 0; i < tiles.size(); i++) {
+      Envelope tile = tiles.get(i);
+      tileEnvelopes[4 * i] = tile.getXMin();
+      tileEnvelopes[4 * i + 1] = tile.getYMin();
+      tileEnvelopes[4 * i + 2] = tile.getXMax();
+      tileEnvelopes[4 * i + 3] = tile.getYMax();
+    }
+    grid = new TileGrid(tileEnvelopes);
+  }
+
+  /**
+   * Creates a feature collection table for the clipped geometries, with fields for the tile and source feature of
+   * each.
+   *
+   * @param geometryType geometry type of the source table
+   * @param spatialReference spatial reference of the source table
+   * @return the output table
+   */
+  public static FeatureCollectionTable createOutputTable(GeometryType geometryType, SpatialReference spatialReference) {
+    List<Field> fields = Arrays.asList(Field.createInteger(TILE_FIELD, "Tile"),
+      Field.createInteger(SOURCE_FIELD, "Source feature"));
+    return new FeatureCollectionTable(fields, geometryType, spatialReference);
+  }
+
+  /**
+   * Clips every feature of a loaded source table to the tiles, writing the results to the output table as they are
+   * made. Blocks until every feature has been clipped and written.
+   *
+   * @param source table to read the features from
+   * @param output table to write the clipped geometries to, as created by
+   *     {@link #createOutputTable(GeometryType, SpatialReference)}
+   * @param pool pool to clip the batches on
+   * @throws InterruptedException if interrupted while waiting for the features or batches
+   * @throws ExecutionException if reading, clipping or writing fails
+   */
+  public void run(FeatureTable source, FeatureCollectionTable output, ForkJoinPool pool)
+    throws InterruptedException, ExecutionException {
+
+    QueryParameters queryParameters = new QueryParameters();
+    queryParameters.setWhereClause("1=1");
+    FeatureQueryResult features = source.queryFeaturesAsync(queryParameters).get();
+
+    // keep at most two batches per thread in memory, waiting for the oldest before reading further
+    int maxBatches = 2 * pool.getParallelism();
+    Deque<Future<?>> batches = new ArrayDeque<>();
+    List<Geometry> batch = new ArrayList<>(batchSize);
+    int sourceIndex = 0;
+    for (Feature feature : features) {
+      batch.add(feature.getGeometry());
+      featuresRead.increment();
+      if (batch.size() == batchSize) {
+        submitBatch(batch, sourceIndex - batchSize + 1, output, pool, batches, maxBatches);
+        batch = new ArrayList<>(batchSize);
+      }
+      sourceIndex++;
+    }
+    if (!batch.isEmpty()) {
+      submitBatch(batch, sourceIndex - batch.size(), output, pool, batches, maxBatches);
+    }
+    while (!batches.isEmpty()) {
+      batches.removeFirst().get();
+    }
+  }
+
+  /**
+   * Returns a summary of the features read and written and of the clips made by the geometry engine, compared with
+   * clipping every feature to every tile.
+   *
+   * @return the statistics
+   */
+  public String getStatistics() {
+    long pairs = featuresRead.sum() * tiles.size();
+    return "Features read: " + featuresRead.sum() + ", tiles: " + tiles.size() +
+      "\nClips by the geometry engine: " + clipCalls.sum() + " of " + pairs + " feature and tile pairs" +
+      "\nFeatures inside a tile: " + featuresInsideTiles.sum() +
+      "\nClipped geometries written: " + featuresWritten.sum();
+  }
+
+  /**
+   * Submits a batch to the pool, first waiting for the oldest batch if too many are in progress.
+   */
+  private void submitBatch(List<Geometry> batch, int firstSourceIndex, FeatureCollectionTable output,
+                           ForkJoinPool pool, Deque<Future<?>> batches, int maxBatches)
+    throws InterruptedException, ExecutionException {
+
+    if (batches.size() >= maxBatches) {
+      batches.removeFirst().get();
+    }
+    batches.addLast(pool.submit(() -> {
+      clipBatch(batch, firstSourceIndex, output);
+      return null;
+    }));
+  }
+
+  /**
+   * Clips a batch of geometries to the tiles their envelopes meet and writes the results to the output table.
+   */
+  private void clipBatch(List<Geometry> batch, int firstSourceIndex, FeatureCollectionTable output)
+    throws InterruptedException, ExecutionException {
+
+    List<Geometry> clippedGeometries = new ArrayList<>();
+    List<int[]> clippedIndices = new ArrayList<>();
+    for (int i = 0; i < batch.size(); i++) {
+      Geometry geometry = batch.get(i);
+      if (geometry == null || geometry.isEmpty()) {
+        continue;
+      }
+      Envelope extent = geometry.getExtent();
+      double[] envelope = {extent.getXMin(), extent.getYMin(), extent.getXMax(), extent.getYMax()};
+      for (int tile : grid.candidates(envelope)) {
+        Geometry clipped;
+        if (!envelopesIntersect(envelope, tile)) {
+          continue;
+        } else if (tileContains(envelope, tile)) {
+          // the tile covers the whole geometry, so clipping wouldn't change it
+          featuresInsideTiles.increment();
+          clipped = geometry;
+        } else {
+          clipCalls.increment();
+          clipped = GeometryEngine.clip(geometry, tiles.get(tile));
+        }
+        if (clipped != null && !clipped.isEmpty()) {
+          clippedGeometries.add(clipped);
+          clippedIndices.add(new int[] {tile, firstSourceIndex + i});
+        }
+      }
+    }
+
+    // create and add the features for the batch in one edit
+    synchronized (output) {
+      List<Feature> clippedFeatures = new ArrayList<>(clippedGeometries.size());
+      for (int i = 0; i < clippedGeometries.size(); i++) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(TILE_FIELD, clippedIndices.get(i)[0]);
+        attributes.put(SOURCE_FIELD, clippedIndices.get(i)[1]);
+        clippedFeatures.add(output.createFeature(attributes, clippedGeometries.get(i)));
+      }
+      output.addFeaturesAsync(clippedFeatures).get();
+      featuresWritten.add(clippedFeatures.size());
+    }
+  }
+
+  private boolean envelopesIntersect(double[] envelope, int tile) {
+    return envelope[0] <= tileEnvelopes[4 * tile + 2] && tileEnvelopes[4 * tile] <= envelope[2] &&
+      envelope[1] <= tileEnvelopes[4 * tile + 3] && tileEnvelopes[4 * tile + 1] <= envelope[3];
+  }
+
+  private boolean tileContains(double[] envelope, int tile) {
+    return tileEnvelopes[4 * tile] <= envelope[0] && tileEnvelopes[4 * tile + 1] <= envelope[1] &&
+      tileEnvelopes[4 * tile + 2] >= envelope[2] && tileEnvelopes[4 * tile + 3] >= envelope[3];
+  }
+
+  /**
+   * A uniform grid over the tile envelopes, listing in each cell the tiles that overlap it.
+   */
+  private static class TileGrid {
+
+    private final double xMin;
+    private final double yMin;
+    private final double cellWidth;
+    private final double cellHeight;
+    private final int size;
+    private final List<List<Integer>> cells;
+
+    private TileGrid(double[] envelopes) {
+      int envelopeCount = envelopes.length / 4;
+      double minX = Double.POSITIVE_INFINITY;
+      double minY = Double.POSITIVE_INFINITY;
+      double maxX = Double.NEGATIVE_INFINITY;
+      double maxY = Double.NEGATIVE_INFINITY;
+      for (int i = 0; i < envelopeCount; i++) {
+        minX = Math.min(minX, envelopes[4 * i]);
+        minY = Math.min(minY, envelopes[4 * i + 1]);
+        maxX = Math.max(maxX, envelopes[4 * i + 2]);
+        maxY = Math.max(maxY, envelopes[4 * i + 3]);
+      }
+      xMin = minX;
+      yMin = minY;
+
+      // aim for about one tile per cell
+      size = Math.max(1, (int) Math.sqrt(envelopeCount));
+      cellWidth = Math.max((maxX - minX) / size, Double.MIN_NORMAL);
+      cellHeight = Math.max((maxY - minY) / size, Double.MIN_NORMAL);
+      cells = new ArrayList<>(size * size);
+      for (int i = 0; i < size * size; i++) {
+        cells.add(new ArrayList<>(2));
+      }
+      for (int i = 0; i < envelopeCount; i++) {
+        for (int y = cell(envelopes[4 * i + 1], yMin, cellHeight); y <= cell(envelopes[4 * i + 3], yMin, cellHeight); y++) {
+          for (int x = cell(envelopes[4 * i], xMin, cellWidth); x <= cell(envelopes[4 * i + 2], xMin, cellWidth); x++) {
+            cells.get(y * size + x).add(i);
+          }
+        }
+      }
+    }
+
+    /**
+     * Lists the tiles in the cells an envelope overlaps, each once and in index order.
+     */
+    private int[] candidates(double[] envelope) {
+      IntStream.Builder found = IntStream.builder();
+      for (int y = cell(envelope[1], yMin, cellHeight); y <= cell(envelope[3], yMin, cellHeight); y++) {
+        for (int x = cell(envelope[0], xMin, cellWidth); x <= cell(envelope[2], xMin, cellWidth); x++) {
+          cells.get(y * size + x).forEach(found::add);
+        }
+      }
+      // a tile spanning several cells is listed in each of them
+      return found.build().sorted().distinct().toArray();
+    }
+
+    private int cell(double coordinate, double origin, double cellSize) {
+      return Math.min(size - 1, Math.max(0, (int) ((coordinate - origin) / cellSize)));
+    }
+  }
+}
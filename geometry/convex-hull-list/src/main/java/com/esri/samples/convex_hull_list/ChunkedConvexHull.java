@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.convex_hull_list;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.ImmutablePart;
+import com.esri.arcgisruntime.geometry.Multipart;
+import com.esri.arcgisruntime.geometry.Multipoint;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.PointCollection;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+
+/**
+ * Computes the convex hull of very large sets of points a chunk at a time. The hull of the vertices of partial hulls is
+ * the hull of all of the points, so each chunk can be reduced to its hull independently and the partial hulls merged
+ * afterwards, either in parallel from coordinates in memory or incrementally from a file.
+ */
+public class ChunkedConvexHull {
+
+  private ChunkedConvexHull() {
+  }
+
+  /**
+   * Computes the convex hull of points given as interleaved x and y coordinates, taking the hulls of the chunks in
+   * parallel on the given pool and merging them into one.
+   *
+   * @param coordinates x and y coordinates of the points, interleaved
+   * @param spatialReference spatial reference of the coordinates
+   * @param chunkSize number of points in each chunk
+   * @param pool pool to take the chunk hulls on
+   * @return the convex hull, which is a point or polyline when the points are coincident or collinear
+   * @throws InterruptedException if interrupted while waiting for the chunk hulls
+   * @throws ExecutionException if taking a chunk hull fails
+   */
+  public static Geometry parallel(double[] coordinates, SpatialReference spatialReference, int chunkSize,
+                                  ForkJoinPool pool) throws InterruptedException, ExecutionException {
+
+    int pointCount = coordinates.length / 2;
+    int chunkCount = (pointCount + chunkSize - 1) / chunkSize;
+
+    // take the hull of each chunk in parallel
+    List<Geometry> chunkHulls = pool.submit(() -> IntStream.range(0, chunkCount).parallel()
+      .mapToObj(chunk -> {
+        PointCollection points = new PointCollection(spatialReference);
+        for (int i = chunk * chunkSize, end = Math.min(i + chunkSize, pointCount); i < end; i++) {
+          points.add(coordinates[2 * i], coordinates[2 * i + 1]);
+        }
+        return GeometryEngine.convexHull(new Multipoint(points));
+      })
+      .collect(Collectors.toList()))
+      .get();
+
+    // merge the partial hulls by taking the hull of all of their vertices
+    PointCollection vertices = new PointCollection(spatialReference);
+    chunkHulls.forEach(hull -> addVertices(hull, vertices));
+    return GeometryEngine.convexHull(new Multipoint(vertices));
+  }
+
+  /**
+   * Computes the convex hull of the points in a text file with one "x,y" point per line, without holding more than one
+   * chunk of points and the hull so far in memory. Blank lines are skipped.
+   *
+   * @param file the file of points
+   * @param spatialReference spatial reference of the coordinates
+   * @param chunkSize number of points read before the hull is updated
+   * @return the convex hull, or null if the file has no points
+   * @throws IOException if the file can't be read
+   * @throws NumberFormatException if a line isn't a pair of numbers
+   */
+  public static Geometry streaming(Path file, SpatialReference spatialReference, int chunkSize) throws IOException {
+
+    Geometry hull = null;
+    PointCollection points = new PointCollection(spatialReference);
+
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        int comma = line.indexOf(',');
+        if (comma < 0) {
+          if (line.trim().isEmpty()) {
+            continue;
+          }
+          throw new NumberFormatException("Expected x,y but found: " + line);
+        }
+        points.add(Double.parseDouble(line.substring(0, comma).trim()),
+          Double.parseDouble(line.substring(comma + 1).trim()));
+
+        // replace the chunk with the hull of the chunk and the hull so far
+        if (points.size() >= chunkSize) {
+          hull = updateHull(hull, points);
+          points.clear();
+        }
+      }
+    }
+
+    return points.isEmpty() ? hull : updateHull(hull, points);
+  }
+
+  /**
+   * Takes the hull of the given points together with the vertices of the hull so far.
+   *
+   * @param hull the hull so far, or null if there isn't one yet
+   * @param points points to add to the hull
+   * @return the updated hull
+   */
+  private static Geometry updateHull(Geometry hull, PointCollection points) {
+    if (hull != null) {
+      addVertices(hull, points);
+    }
+    return GeometryEngine.convexHull(new Multipoint(points));
+  }
+
+  /**
+   * Adds the vertices of a hull to a point collection. A hull may be a polygon, a polyline when the points are collinear,
+   * or a point when they are coincident.
+   *
+   * @param hull the hull
+   * @param vertices collection to add the vertices to
+   */
+  private static void addVertices(Geometry hull, PointCollection vertices) {
+    if (hull instanceof Point) {
+      vertices.add((Point) hull);
+    } else if (hull instanceof Multipoint) {
+      for (Point point : ((Multipoint) hull).getPoints()) {
+        vertices.add(point);
+      }
+    } else if (hull instanceof Multipart) {
+      for (ImmutablePart part : ((Multipart) hull).getParts()) {
+        for (Point point : part.getPoints()) {
+          vertices.add(point);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.convex_hull_list;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.Multipoint;
+import com.esri.arcgisruntime.geometry.PointCollection;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+
+/**
+ * Compares the time taken to find the convex hull of random points with a single call to the geometry engine, with
+ * {@link ChunkedConvexHull#parallel} and with {@link ChunkedConvexHull#streaming}, without showing a UI.
+ *
+ * <p>Usage: {@code ConvexHullBenchmark [point counts] [chunk size] [threads]}, where the point counts are separated by
+ * commas. The default counts of 1, 10 and 50 million points need a heap of several gigabytes, which the
+ * {@code runBenchmark} task sets to 4 GB.
+ */
+public class ConvexHullBenchmark {
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args optional comma separated point counts, chunk size and thread count
+   */
+  public static void main(String[] args) throws Exception {
+
+    String[] pointCounts = (args.length > 0 ? args[0] : "1000000,10000000,50000000").split(",");
+    int chunkSize = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+    int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+    // the geometry engine needs the runtime, but not a map view
+    ArcGISRuntimeEnvironment.initialize();
+
+    SpatialReference webMercator = SpatialReferences.getWebMercator();
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    Random random = new Random(42);
+
+    try {
+      for (String count : pointCounts) {
+        int pointCount = Integer.parseInt(count.trim());
+
+        // scatter the points normally around the origin, so the hull has a realistic number of vertices
+        double[] coordinates = new double[2 * pointCount];
+        for (int i = 0; i < coordinates.length; i++) {
+          coordinates[i] = random.nextGaussian() * 1000000;
+        }
+        System.out.printf("%d points:%n", pointCount);
+
+        // a single call with all of the points in one multipoint
+        long start = System.nanoTime();
+        PointCollection points = new PointCollection(webMercator);
+        for (int i = 0; i < pointCount; i++) {
+          points.add(coordinates[2 * i], coordinates[2 * i + 1]);
+        }
+        Geometry singleHull = GeometryEngine.convexHull(new Multipoint(points));
+        points = null;
+        report("single call", start, singleHull, singleHull);
+
+        // partial hulls of each chunk in parallel, then merged
+        start = System.nanoTime();
+        Geometry parallelHull = ChunkedConvexHull.parallel(coordinates, webMercator, chunkSize, pool);
+        report("parallel, " + threads + " threads", start, parallelHull, singleHull);
+
+        // the hull updated a chunk at a time while reading a file
+        Path file = Files.createTempFile("convex-hull-points", ".csv");
+        try {
+          try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < pointCount; i++) {
+              writer.write(coordinates[2 * i] + "," + coordinates[2 * i + 1]);
+              writer.newLine();
+            }
+          }
+          start = System.nanoTime();
+          Geometry streamingHull = ChunkedConvexHull.streaming(file, webMercator, chunkSize);
+          report("streaming from file", start, streamingHull, singleHull);
+        } finally {
+          Files.delete(file);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+
+    ArcGISRuntimeEnvironment.dispose();
+  }
+
+  /**
+   * Prints the time since a start time, and whether a hull matches the hull from the single call.
+   *
+   * @param method name of the method timed
+   * @param start start time in nanoseconds
+   * @param hull the hull found
+   * @param expected the hull from the single call
+   */
+  private static void report(String method, long start, Geometry hull, Geometry expected) {
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("  %-24s %8.2f s%s%n", method, seconds, GeometryEngine.equals(hull, expected) ? "" :
+      " (hull differs from single call)");
+  }
+}
@@ -36,7 +36,6 @@ import javafx.scene.control.Button;
 import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
 import com.esri.arcgisruntime.geometry.Geometry;
 import com.esri.arcgisruntime.geometry.GeometryEngine;
-import com.esri.arcgisruntime.geometry.Point;
 import com.esri.arcgisruntime.geometry.PointCollection;
 import com.esri.arcgisruntime.geometry.Polygon;
 import com.esri.arcgisruntime.geometry.SpatialReferences;
@@ -98,22 +97,27 @@ public class ConvexHullListSample extends Application {
       // create a simple fill symbol for the two input polygon graphics
       SimpleFillSymbol polygonFill = new SimpleFillSymbol(SimpleFillSymbol.Style.SOLID, 0x300000FF, polygonOutline);
 
+      // create a simple line symbol for the outline of the convex hull graphic(s)
+      SimpleLineSymbol convexHullLine = new SimpleLineSymbol(SimpleLineSymbol.Style.SOLID, 0xFFFF0000, 5);
+      // create a simple fill symbol shared by all of the convex hull graphic(s)
+      SimpleFillSymbol convexHullFill = new SimpleFillSymbol(SimpleFillSymbol.Style.NULL, 0x00000000, convexHullLine);
+
       // create a point collection that represents polygon1. Use the same spatial reference as the underlying base map.
       PointCollection pointCollection1 = new PointCollection(SpatialReferences.getWebMercator());
 
       // add polygon1 boundary map points to the point collection
-      pointCollection1.add(new Point(-4983189.15470412, 8679428.55774286));
-      pointCollection1.add(new Point(-5222621.66664186, 5147799.00666126));
-      pointCollection1.add(new Point(-13483043.3284937, 4728792.11077023));
-      pointCollection1.add(new Point(-13273539.8805482, 2244679.79941622));
-      pointCollection1.add(new Point(-5372266.98660294, 2035176.3514707));
-      pointCollection1.add(new Point(-5432125.11458738, -4100281.76693377));
-      pointCollection1.add(new Point(-2469147.7793579, -4160139.89491821));
-      pointCollection1.add(new Point(-1900495.56350578, 2035176.3514707));
-      pointCollection1.add(new Point(2768438.41928007, 1975318.22348627));
-      pointCollection1.add(new Point(2409289.65137346, 5477018.71057565));
-      pointCollection1.add(new Point(-2409289.65137346, 5387231.518599));
-      pointCollection1.add(new Point(-2469147.7793579, 8709357.62173508));
+      pointCollection1.add(-4983189.15470412, 8679428.55774286);
+      pointCollection1.add(-5222621.66664186, 5147799.00666126);
+      pointCollection1.add(-13483043.3284937, 4728792.11077023);
+      pointCollection1.add(-13273539.8805482, 2244679.79941622);
+      pointCollection1.add(-5372266.98660294, 2035176.3514707);
+      pointCollection1.add(-5432125.11458738, -4100281.76693377);
+      pointCollection1.add(-2469147.7793579, -4160139.89491821);
+      pointCollection1.add(-1900495.56350578, 2035176.3514707);
+      pointCollection1.add(2768438.41928007, 1975318.22348627);
+      pointCollection1.add(2409289.65137346, 5477018.71057565);
+      pointCollection1.add(-2409289.65137346, 5387231.518599);
+      pointCollection1.add(-2469147.7793579, 8709357.62173508);
 
       // create a polygon geometry from the point collection
       Polygon polygon1 = new Polygon(pointCollection1);
@@ -126,14 +130,14 @@ public class ConvexHullListSample extends Application {
       PointCollection pointCollection2 = new PointCollection(SpatialReferences.getWebMercator());
 
       // add polygon2 boundary map points to the point collection
-      pointCollection2.add(new Point(5993520.19456882, -1063938.49607736));
-      pointCollection2.add(new Point(3085421.63862418, -1383120.04490055));
-      pointCollection2.add(new Point(3794713.96934239, -2979027.78901651));
-      pointCollection2.add(new Point(6880135.60796657, -4078430.90162972));
-      pointCollection2.add(new Point(7092923.30718203, -2837169.32287287));
-      pointCollection2.add(new Point(8617901.81822617, -2092412.37561875));
-      pointCollection2.add(new Point(6986529.4575743, 354646.16535905));
-      pointCollection2.add(new Point(5319692.48038653, 1205796.96222089));
+      pointCollection2.add(5993520.19456882, -1063938.49607736);
+      pointCollection2.add(3085421.63862418, -1383120.04490055);
+      pointCollection2.add(3794713.96934239, -2979027.78901651);
+      pointCollection2.add(6880135.60796657, -4078430.90162972);
+      pointCollection2.add(7092923.30718203, -2837169.32287287);
+      pointCollection2.add(8617901.81822617, -2092412.37561875);
+      pointCollection2.add(6986529.4575743, 354646.16535905);
+      pointCollection2.add(5319692.48038653, 1205796.96222089);
 
       // create a polygon geometry from the point collection
       Polygon polygon2 = new Polygon(pointCollection2);
@@ -167,11 +171,6 @@ public class ConvexHullListSample extends Application {
         // loop through the returned geometries.
         for (Geometry geometry : convexHullGeometries) {
 
-          // create a simple line symbol for the outline of the convex hull graphic(s)
-          SimpleLineSymbol convexHullLine = new SimpleLineSymbol(SimpleLineSymbol.Style.SOLID, 0xFFFF0000, 5);
-          // Create the simple fill symbol for the convex hull graphic(s)
-          SimpleFillSymbol convexHullFill = new SimpleFillSymbol(SimpleFillSymbol.Style.NULL, 0x00000000, convexHullLine);
-
           // create the graphic for the convex hull(s)
           Graphic convexHullGraphic = new Graphic(geometry, convexHullFill);
 
@@ -97,13 +97,13 @@ public class CreateGeometriesSample extends Application {
       Graphic polylineGraphic = new Graphic(polyline, new SimpleLineSymbol(SimpleLineSymbol.Style.SOLID, 0xFF00FFFF,
           3));
 
-      // create a polygon geometry
-      PointCollection coloradoCorners = new PointCollection(SpatialReferences.getWgs84());
-      coloradoCorners.add(-109.048, 40.998);
-      coloradoCorners.add(-102.047, 40.998);
-      coloradoCorners.add(-102.037, 36.989);
-      coloradoCorners.add(-109.048, 36.998);
-      Polygon polygon = new Polygon(coloradoCorners);
+      // create a polygon geometry from packed x and y coordinates, without making a point object for each vertex
+      double[] coloradoCorners = {
+          -109.048, 40.998,
+          -102.047, 40.998,
+          -102.037, 36.989,
+          -109.048, 36.998};
+      Polygon polygon = PackedGeometryFactory.createPolygon(coloradoCorners, null, SpatialReferences.getWgs84());
       Graphic polygonGraphic = new Graphic(polygon, new SimpleFillSymbol(SimpleFillSymbol.Style.CROSS, 0xFF00FF00,
           null));
 
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.create_geometries;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.ImmutablePart;
+import com.esri.arcgisruntime.geometry.Multipart;
+import com.esri.arcgisruntime.geometry.Multipoint;
+import com.esri.arcgisruntime.geometry.Part;
+import com.esri.arcgisruntime.geometry.PartCollection;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.PointCollection;
+import com.esri.arcgisruntime.geometry.Polygon;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+
+/**
+ * Measures how many vertices per second polygons and multipoints are created at, and how many bytes of Java heap are
+ * allocated for each vertex, without showing a UI. Creating them with {@link PackedGeometryFactory} from a
+ * {@code double[]} and from a direct {@link DoubleBuffer} is compared with adding a {@link Point} for each vertex.
+ *
+ * <p>Each method is run for a few warm-up rounds before the measured rounds. The allocation is measured for the
+ * benchmark thread, so it doesn't count memory the geometry engine allocates outside the Java heap.
+ *
+ * <p>Usage: {@code PackedGeometryBenchmark [vertices] [parts] [rounds]}
+ */
+public class PackedGeometryBenchmark {
+
+  // number of unmeasured rounds before each method is measured
+  private static final int WARM_UP_ROUNDS = 3;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args optional number of vertices, number of polygon parts and number of measured rounds
+   */
+  public static void main(String[] args) {
+
+    int vertexCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+    int partCount = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+    int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+    // the geometries need the runtime, but not a map view
+    ArcGISRuntimeEnvironment.initialize();
+
+    SpatialReference webMercator = SpatialReferences.getWebMercator();
+    Random random = new Random(42);
+    double[] coordinates = new double[2 * vertexCount];
+    for (int i = 0; i < coordinates.length; i++) {
+      coordinates[i] = random.nextDouble() * 1000000;
+    }
+    DoubleBuffer buffer = ByteBuffer.allocateDirect(8 * coordinates.length).order(ByteOrder.nativeOrder())
+      .asDoubleBuffer();
+    buffer.put(coordinates).flip();
+    int[] partStarts = new int[partCount];
+    for (int i = 0; i < partCount; i++) {
+      partStarts[i] = (int) ((long) i * vertexCount / partCount);
+    }
+    System.out.printf("%d vertices, %d parts, %d rounds%n", vertexCount, partCount, rounds);
+
+    System.out.println("Polygon:");
+    measure("point objects", vertexCount, rounds, () -> {
+      PartCollection parts = new PartCollection(webMercator);
+      for (int i = 0; i < partCount; i++) {
+        int end = i + 1 < partCount ? partStarts[i + 1] : vertexCount;
+        PointCollection points = new PointCollection(webMercator);
+        for (int j = partStarts[i]; j < end; j++) {
+          points.add(new Point(coordinates[2 * j], coordinates[2 * j + 1], webMercator));
+        }
+        parts.add(new Part(points));
+      }
+      return new Polygon(parts);
+    });
+    measure("packed double[]", vertexCount, rounds,
+      () -> PackedGeometryFactory.createPolygon(coordinates, partStarts, webMercator));
+    measure("packed DoubleBuffer", vertexCount, rounds,
+      () -> PackedGeometryFactory.createPolygon(buffer, partStarts, webMercator));
+
+    System.out.println("Multipoint:");
+    measure("point objects", vertexCount, rounds, () -> {
+      PointCollection points = new PointCollection(webMercator);
+      for (int i = 0; i < vertexCount; i++) {
+        points.add(new Point(coordinates[2 * i], coordinates[2 * i + 1], webMercator));
+      }
+      return new Multipoint(points);
+    });
+    measure("packed double[]", vertexCount, rounds,
+      () -> PackedGeometryFactory.createMultipoint(coordinates, webMercator));
+    measure("packed DoubleBuffer", vertexCount, rounds,
+      () -> PackedGeometryFactory.createMultipoint(buffer, webMercator));
+
+    ArcGISRuntimeEnvironment.dispose();
+  }
+
+  /**
+   * Creates a geometry repeatedly, then prints the vertex throughput and the bytes allocated per vertex of the measured
+   * rounds.
+   */
+  private static void measure(String method, int vertexCount, int rounds, Supplier<Geometry> createGeometry) {
+    for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+      checkVertexCount(createGeometry.get(), vertexCount);
+    }
+
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+    for (int i = 0; i < rounds; i++) {
+      createGeometry.get();
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+    long vertices = (long) vertexCount * rounds;
+    System.out.printf("  %-24s %8.2f s %12.0f vertices/s %8.1f bytes/vertex %10.1f MB/s%n", method, seconds,
+      vertices / seconds, allocated / (double) vertices, allocated / 1e6 / seconds);
+  }
+
+  /**
+   * Checks that a geometry has the expected number of vertices, so that the methods compared make the same geometry.
+   */
+  private static void checkVertexCount(Geometry geometry, int vertexCount) {
+    long count = 0;
+    if (geometry instanceof Multipoint) {
+      count = ((Multipoint) geometry).getPoints().size();
+    } else {
+      for (ImmutablePart part : ((Multipart) geometry).getParts()) {
+        count += part.getPointCount();
+      }
+    }
+    if (count != vertexCount) {
+      throw new IllegalStateException("Expected " + vertexCount + " vertices but the geometry has " + count);
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.create_geometries;
+
+import java.nio.DoubleBuffer;
+
+import com.esri.arcgisruntime.geometry.Multipoint;
+import com.esri.arcgisruntime.geometry.Part;
+import com.esri.arcgisruntime.geometry.PartCollection;
+import com.esri.arcgisruntime.geometry.PointCollection;
+import com.esri.arcgisruntime.geometry.Polygon;
+import com.esri.arcgisruntime.geometry.Polyline;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+
+/**
+ * Creates multipoints, polylines and polygons from packed coordinates: x and y of each vertex in turn, in a
+ * {@code double[]} or a {@link DoubleBuffer}, such as one mapped from a file.
+ *
+ * <p>The coordinates are added to the point collections as pairs of doubles, so no {@code Point} object is made for a
+ * vertex. Multipart geometries take the index of the first vertex of each part.
+ */
+public class PackedGeometryFactory {
+
+  private PackedGeometryFactory() {
+  }
+
+  /**
+   * Creates a multipoint from packed coordinates.
+   *
+   * @param coordinates x and y of each point in turn
+   * @param spatialReference spatial reference of the coordinates
+   * @return the multipoint
+   * @throws IllegalArgumentException if there is an odd number of coordinates
+   */
+  public static Multipoint createMultipoint(double[] coordinates, SpatialReference spatialReference) {
+    return createMultipoint(DoubleBuffer.wrap(coordinates), spatialReference);
+  }
+
+  /**
+   * Creates a multipoint from the packed coordinates between a buffer's position and its limit. The buffer's position
+   * is left unchanged.
+   *
+   * @param coordinates x and y of each point in turn
+   * @param spatialReference spatial reference of the coordinates
+   * @return the multipoint
+   * @throws IllegalArgumentException if there is an odd number of coordinates
+   */
+  public static Multipoint createMultipoint(DoubleBuffer coordinates, SpatialReference spatialReference) {
+    int vertexCount = countVertices(coordinates);
+    return new Multipoint(createPoints(coordinates, 0, vertexCount, spatialReference));
+  }
+
+  /**
+   * Creates a polyline from packed coordinates.
+   *
+   * @param coordinates x and y of each vertex in turn
+   * @param partStarts index of the first vertex of each part, in increasing order, or null for a single part
+   * @param spatialReference spatial reference of the coordinates
+   * @return the polyline
+   * @throws IllegalArgumentException if there is an odd number of coordinates or the part starts are out of range
+   */
+  public static Polyline createPolyline(double[] coordinates, int[] partStarts, SpatialReference spatialReference) {
+    return createPolyline(DoubleBuffer.wrap(coordinates), partStarts, spatialReference);
+  }
+
+  /**
+   * Creates a polyline from the packed coordinates between a buffer's position and its limit. The buffer's position is
+   * left unchanged.
+   *
+   * @param coordinates x and y of each vertex in turn
+   * @param partStarts index of the first vertex of each part, in increasing order, or null for a single part
+   * @param spatialReference spatial reference of the coordinates
+   * @return the polyline
+   * @throws IllegalArgumentException if there is an odd number of coordinates or the part starts are out of range
+   */
+  public static Polyline createPolyline(DoubleBuffer coordinates, int[] partStarts,
+                                        SpatialReference spatialReference) {
+    return new Polyline(createParts(coordinates, partStarts, spatialReference));
+  }
+
+  /**
+   * Creates a polygon from packed coordinates. Rings don't need to repeat their first vertex at the end.
+   *
+   * @param coordinates x and y of each vertex in turn
+   * @param partStarts index of the first vertex of each ring, in increasing order, or null for a single ring
+   * @param spatialReference spatial reference of the coordinates
+   * @return the polygon
+   * @throws IllegalArgumentException if there is an odd number of coordinates or the part starts are out of range
+   */
+  public static Polygon createPolygon(double[] coordinates, int[] partStarts, SpatialReference spatialReference) {
+    return createPolygon(DoubleBuffer.wrap(coordinates), partStarts, spatialReference);
+  }
+
+  /**
+   * Creates a polygon from the packed coordinates between a buffer's position and its limit. The buffer's position is
+   * left unchanged. Rings don't need to repeat their first vertex at the end.
+   *
+   * @param coordinates x and y of each vertex in turn
+   * @param partStarts index of the first vertex of each ring, in increasing order, or null for a single ring
+   * @param spatialReference spatial reference of the coordinates
+   * @return the polygon
+   * @throws IllegalArgumentException if there is an odd number of coordinates or the part starts are out of range
+   */
+  public static Polygon createPolygon(DoubleBuffer coordinates, int[] partStarts, SpatialReference spatialReference) {
+    return new Polygon(createParts(coordinates, partStarts, spatialReference));
+  }
+
+  /**
+   * Counts the vertices between a buffer's position and its limit.
+   */
+  private static int countVertices(DoubleBuffer coordinates) {
+    if (coordinates.remaining() % 2 != 0) {
+      throw new IllegalArgumentException("Expected x and y for each vertex but found " + coordinates.remaining() +
+        " coordinates");
+    }
+    return coordinates.remaining() / 2;
+  }
+
+  /**
+   * Creates a part for each run of vertices starting at a part start.
+   */
+  private static PartCollection createParts(DoubleBuffer coordinates, int[] partStarts,
+                                            SpatialReference spatialReference) {
+    int vertexCount = countVertices(coordinates);
+    int[] starts = partStarts != null ? partStarts : new int[] {0};
+
+    PartCollection parts = new PartCollection(spatialReference);
+    for (int i = 0; i < starts.length; i++) {
+      int end = i + 1 < starts.length ? starts[i + 1] : vertexCount;
+      if (starts[i] < 0 || starts[i] > end || end > vertexCount) {
+        throw new IllegalArgumentException("Part " + i + " runs from vertex " + starts[i] + " to " + end + " of " +
+          vertexCount);
+      }
+      parts.add(new Part(createPoints(coordinates, starts[i], end, spatialReference)));
+    }
+    return parts;
+  }
+
+  /**
+   * Adds the vertices from a start index up to an end index, relative to the buffer's position, to a new point
+   * collection.
+   */
+  private static PointCollection createPoints(DoubleBuffer coordinates, int start, int end,
+                                              SpatialReference spatialReference) {
+    PointCollection points = new PointCollection(spatialReference);
+    int offset = coordinates.position();
+    for (int i = start; i < end; i++) {
+      points.add(coordinates.get(offset + 2 * i), coordinates.get(offset + 2 * i + 1));
+    }
+    return points;
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.cut_geometry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+
+import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
+import com.esri.arcgisruntime.data.Feature;
+import com.esri.arcgisruntime.data.FeatureCollectionTable;
+import com.esri.arcgisruntime.data.FeatureTable;
+import com.esri.arcgisruntime.data.Field;
+import com.esri.arcgisruntime.data.Geodatabase;
+import com.esri.arcgisruntime.data.QueryParameters;
+import com.esri.arcgisruntime.data.ShapefileFeatureTable;
+import com.esri.arcgisruntime.geometry.Envelope;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.GeometryType;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.PointCollection;
+import com.esri.arcgisruntime.geometry.Polygon;
+import com.esri.arcgisruntime.geometry.Polyline;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+import com.esri.arcgisruntime.loadable.Loadable;
+
+/**
+ * Measures how many features per second {@link StreamingCutPipeline} cuts along a grid of polylines, without showing a
+ * UI, against cutting every feature along every polyline one at a time.
+ *
+ * <p>The features are read from a shapefile, or from the first table of a mobile geodatabase, or, when no path is
+ * given, from random polygons in memory.
+ *
+ * <p>Usage: {@code StreamingCutBenchmark [shapefile or geodatabase path, or -] [lines per direction] [threads]}
+ */
+public class StreamingCutBenchmark {
+
+  // number of random polygons when no source is given
+  private static final int RANDOM_POLYGON_COUNT = 5000;
+  // width of the square area the random polygons are spread over, in meters
+  private static final double AREA_SIZE = 1000000;
+  // largest width of a random polygon, in meters
+  private static final double POLYGON_SIZE = 30000;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args optional source path, number of grid lines in each direction and thread count
+   */
+  public static void main(String[] args) throws Exception {
+
+    String sourcePath = args.length > 0 && !args[0].equals("-") ? args[0] : null;
+    int linesPerDirection = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+    int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+    // the geometry engine needs the runtime, but not a map view
+    ArcGISRuntimeEnvironment.initialize();
+
+    FeatureTable source = openSource(sourcePath);
+    QueryParameters queryParameters = new QueryParameters();
+    queryParameters.setWhereClause("1=1");
+
+    // find the extent of the features and cross it with a grid of horizontal and vertical lines
+    double[] extent = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+      Double.NEGATIVE_INFINITY};
+    for (Feature feature : source.queryFeaturesAsync(queryParameters).get()) {
+      Envelope featureExtent = feature.getGeometry().getExtent();
+      extent[0] = Math.min(extent[0], featureExtent.getXMin());
+      extent[1] = Math.min(extent[1], featureExtent.getYMin());
+      extent[2] = Math.max(extent[2], featureExtent.getXMax());
+      extent[3] = Math.max(extent[3], featureExtent.getYMax());
+    }
+    List<Polyline> cutters = new ArrayList<>();
+    for (int i = 1; i <= linesPerDirection; i++) {
+      double x = extent[0] + i * (extent[2] - extent[0]) / (linesPerDirection + 1);
+      double y = extent[1] + i * (extent[3] - extent[1]) / (linesPerDirection + 1);
+      cutters.add(line(x, extent[1], x, extent[3], source));
+      cutters.add(line(extent[0], y, extent[2], y, source));
+    }
+    System.out.printf("%d features, %d cutting polylines%n", source.getTotalFeatureCount(), cutters.size());
+
+    // cut every feature along every polyline, one at a time
+    long start = System.nanoTime();
+    long expectedCount = 0;
+    for (Feature feature : source.queryFeaturesAsync(queryParameters).get()) {
+      List<Geometry> pieces = new ArrayList<>();
+      pieces.add(feature.getGeometry());
+      for (Polyline cutter : cutters) {
+        List<Geometry> cutPieces = new ArrayList<>();
+        for (Geometry piece : pieces) {
+          List<Geometry> cut = GeometryEngine.cut(piece, cutter);
+          if (cut.isEmpty()) {
+            cutPieces.add(piece);
+          } else {
+            cut.stream().filter(part -> part != null && !part.isEmpty()).forEach(cutPieces::add);
+          }
+        }
+        pieces = cutPieces;
+      }
+      expectedCount += pieces.size();
+    }
+    report("every pair, 1 thread", start, source.getTotalFeatureCount(), expectedCount);
+
+    // cut with the pipeline, on one thread and on all of them
+    for (int threadCount : new int[] {1, threads}) {
+      ForkJoinPool pool = new ForkJoinPool(threadCount);
+      try {
+        StreamingCutPipeline pipeline = new StreamingCutPipeline(cutters, 256);
+        FeatureCollectionTable output = StreamingCutPipeline.createOutputTable(source.getGeometryType(),
+          source.getSpatialReference());
+        start = System.nanoTime();
+        pipeline.run(source, output, pool);
+        report("pipeline, " + threadCount + " threads", start, source.getTotalFeatureCount(),
+          output.getTotalFeatureCount());
+        System.out.println(pipeline.getStatistics().replaceAll("(?m)^", "    "));
+      } finally {
+        pool.shutdown();
+      }
+    }
+
+    ArcGISRuntimeEnvironment.dispose();
+  }
+
+  /**
+   * Opens and loads a shapefile or the first table of a mobile geodatabase, or creates a table of random polygons if
+   * there is no path.
+   */
+  private static FeatureTable openSource(String path) throws Exception {
+    if (path == null) {
+      FeatureCollectionTable table = new FeatureCollectionTable(new ArrayList<Field>(), GeometryType.POLYGON,
+        SpatialReferences.getWebMercator());
+      Random random = new Random(42);
+      List<Feature> features = new ArrayList<>();
+      for (int i = 0; i < RANDOM_POLYGON_COUNT; i++) {
+        double x = random.nextDouble() * AREA_SIZE;
+        double y = random.nextDouble() * AREA_SIZE;
+        PointCollection points = new PointCollection(SpatialReferences.getWebMercator());
+        for (int j = 0; j < 12; j++) {
+          double angle = 2 * Math.PI * j / 12;
+          double radius = POLYGON_SIZE / 2 * (0.5 + 0.5 * random.nextDouble());
+          points.add(new Point(x + radius * Math.cos(angle), y + radius * Math.sin(angle)));
+        }
+        features.add(table.createFeature(new HashMap<>(), new Polygon(points)));
+      }
+      table.addFeaturesAsync(features).get();
+      return table;
+    }
+    if (path.endsWith(".geodatabase")) {
+      Geodatabase geodatabase = new Geodatabase(path);
+      load(geodatabase);
+      FeatureTable table = geodatabase.getGeodatabaseFeatureTables().get(0);
+      load(table);
+      return table;
+    }
+    FeatureTable table = new ShapefileFeatureTable(path);
+    load(table);
+    return table;
+  }
+
+  /**
+   * Creates a straight polyline in the spatial reference of the source.
+   */
+  private static Polyline line(double x1, double y1, double x2, double y2, FeatureTable source) {
+    PointCollection points = new PointCollection(source.getSpatialReference());
+    points.add(new Point(x1, y1));
+    points.add(new Point(x2, y2));
+    return new Polyline(points);
+  }
+
+  /**
+   * Loads a loadable and waits until it's done, throwing its load error if it fails.
+   */
+  private static void load(Loadable loadable) throws Exception {
+    CountDownLatch loaded = new CountDownLatch(1);
+    loadable.addDoneLoadingListener(loaded::countDown);
+    loadable.loadAsync();
+    loaded.await();
+    if (loadable.getLoadError() != null) {
+      throw loadable.getLoadError();
+    }
+  }
+
+  /**
+   * Prints the time since a start time with the feature throughput and the number of pieces.
+   */
+  private static void report(String method, long start, long featureCount, long pieceCount) {
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("  %-24s %8.2f s %10.0f features/s %10d pieces%n", method, seconds, featureCount / seconds,
+      pieceCount);
+  }
+}
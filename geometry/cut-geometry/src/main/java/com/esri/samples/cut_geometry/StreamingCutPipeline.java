@@ -0,0 +1,309 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.cut_geometry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import com.esri.arcgisruntime.data.Feature;
+import com.esri.arcgisruntime.data.FeatureCollectionTable;
+import com.esri.arcgisruntime.data.FeatureQueryResult;
+import com.esri.arcgisruntime.data.FeatureTable;
+import com.esri.arcgisruntime.data.Field;
+import com.esri.arcgisruntime.data.QueryParameters;
+import com.esri.arcgisruntime.geometry.Envelope;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.GeometryType;
+import com.esri.arcgisruntime.geometry.Polyline;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+
+/**
+ * Cuts every feature of a feature table, such as a shapefile or geodatabase table, along each of a list of polylines
+ * and writes the pieces to a feature collection table.
+ *
+ * <p>Features are read as a stream and cut in batches on a pool, with only a few batches in memory at a time. The
+ * cutting polylines are put in a grid so that each feature is only compared with the polylines near it, and a piece of
+ * a feature is only cut by the geometry engine when its envelope meets a polyline's envelope. Features that no polyline
+ * reaches are written whole. The pieces of each batch are added to the output table as soon as the batch is done.
+ */
+public class StreamingCutPipeline {
+
+  /**
+   * Name of the output field holding the position of the cut feature in the source table.
+   */
+  public static final String SOURCE_FIELD = "SOURCE";
+  /**
+   * Name of the output field holding the number of a piece among the pieces of its feature.
+   */
+  public static final String PIECE_FIELD = "PIECE";
+
+  private final double[] cutterEnvelopes;
+  private final List<Polyline> cutters;
+  private final CutterGrid grid;
+  private final int batchSize;
+
+  private final LongAdder featuresRead = new LongAdder();
+  private final LongAdder cutCalls = new LongAdder();
+  private final LongAdder featuresNotCut = new LongAdder();
+  private final LongAdder piecesWritten = new LongAdder();
+
+  /**
+   * Creates a pipeline for a list of cutting polylines.
+   *
+   * @param cutters polylines to cut along, in the spatial reference of the source tables
+   * @param batchSize number of features cut together and written to the output table at once
+   */
+  public StreamingCutPipeline(List<Polyline> cutters, int batchSize) {
+    this.cutters = new ArrayList<>(cutters);
+    this.batchSize = batchSize;
+    cutterEnvelopes = new double[4 * cutters.size()];
+    for (int i = 0; i < cutters.size(); i++) {
+      Envelope cutter = cutters.get(i).getExtent();
+      cutterEnvelopes[4 * i] = cutter.getXMin();
+      cutterEnvelopes[4 * i + 1] = cutter.getYMin();
+      cutterEnvelopes[4 * i + 2] = cutter.getXMax();
+      cutterEnvelopes[4 * i + 3] = cutter.getYMax();
+    }
+    grid = new CutterGrid(cutterEnvelopes);
+  }
+
+  /**
+   * Creates a feature collection table for the pieces, with fields for the source feature and piece number of each.
+   *
+   * @param geometryType geometry type of the source table
+   * @param spatialReference spatial reference of the source table
+   * @return the output table
+   */
+  public static FeatureCollectionTable createOutputTable(GeometryType geometryType, SpatialReference spatialReference) {
+    List<Field> fields = Arrays.asList(Field.createInteger(SOURCE_FIELD, "Source feature"),
+      Field.createInteger(PIECE_FIELD, "Piece"));
+    return new FeatureCollectionTable(fields, geometryType, spatialReference);
+  }
+
+  /**
+   * Cuts every feature of a loaded source table along the polylines, writing the pieces to the output table as they
+   * are made. Blocks until every feature has been cut and written.
+   *
+   * @param source table to read the features from
+   * @param output table to write the pieces to, as created by
+   *     {@link #createOutputTable(GeometryType, SpatialReference)}
+   * @param pool pool to cut the batches on
+   * @throws InterruptedException if interrupted while waiting for the features or batches
+   * @throws ExecutionException if reading, cutting or writing fails
+   */
+  public void run(FeatureTable source, FeatureCollectionTable output, ForkJoinPool pool)
+    throws InterruptedException, ExecutionException {
+
+    QueryParameters queryParameters = new QueryParameters();
+    queryParameters.setWhereClause("1=1");
+    FeatureQueryResult features = source.queryFeaturesAsync(queryParameters).get();
+
+    // keep at most two batches per thread in memory, waiting for the oldest before reading further
+    int maxBatches = 2 * pool.getParallelism();
+    Deque<Future<?>> batches = new ArrayDeque<>();
+    List<Geometry> batch = new ArrayList<>(batchSize);
+    int sourceIndex = 0;
+    for (Feature feature : features) {
+      batch.add(feature.getGeometry());
+      featuresRead.increment();
+      if (batch.size() == batchSize) {
+        submitBatch(batch, sourceIndex - batchSize + 1, output, pool, batches, maxBatches);
+        batch = new ArrayList<>(batchSize);
+      }
+      sourceIndex++;
+    }
+    if (!batch.isEmpty()) {
+      submitBatch(batch, sourceIndex - batch.size(), output, pool, batches, maxBatches);
+    }
+    while (!batches.isEmpty()) {
+      batches.removeFirst().get();
+    }
+  }
+
+  /**
+   * Returns a summary of the features read, the pieces written and the cuts made by the geometry engine, compared with
+   * cutting every feature along every polyline.
+   *
+   * @return the statistics
+   */
+  public String getStatistics() {
+    long pairs = featuresRead.sum() * cutters.size();
+    return "Features read: " + featuresRead.sum() + ", cutting polylines: " + cutters.size() +
+      "\nCuts by the geometry engine: " + cutCalls.sum() + " of at least " + pairs + " feature and polyline pairs" +
+      "\nFeatures not cut: " + featuresNotCut.sum() +
+      "\nPieces written: " + piecesWritten.sum();
+  }
+
+  /**
+   * Submits a batch to the pool, first waiting for the oldest batch if too many are in progress.
+   */
+  private void submitBatch(List<Geometry> batch, int firstSourceIndex, FeatureCollectionTable output,
+                           ForkJoinPool pool, Deque<Future<?>> batches, int maxBatches)
+    throws InterruptedException, ExecutionException {
+
+    if (batches.size() >= maxBatches) {
+      batches.removeFirst().get();
+    }
+    batches.addLast(pool.submit(() -> {
+      cutBatch(batch, firstSourceIndex, output);
+      return null;
+    }));
+  }
+
+  /**
+   * Cuts a batch of geometries along the polylines their envelopes meet and writes the pieces to the output table.
+   */
+  private void cutBatch(List<Geometry> batch, int firstSourceIndex, FeatureCollectionTable output)
+    throws InterruptedException, ExecutionException {
+
+    List<Geometry> pieceGeometries = new ArrayList<>();
+    List<int[]> pieceIndices = new ArrayList<>();
+    for (int i = 0; i < batch.size(); i++) {
+      Geometry geometry = batch.get(i);
+      if (geometry == null || geometry.isEmpty()) {
+        continue;
+      }
+      List<Geometry> pieces = new ArrayList<>();
+      pieces.add(geometry);
+      for (int cutter : grid.candidates(envelope(geometry))) {
+        // cut each piece made so far, leaving the pieces the polyline can't reach as they are
+        List<Geometry> cutPieces = new ArrayList<>(pieces.size() + 1);
+        for (Geometry piece : pieces) {
+          if (!envelopesIntersect(envelope(piece), cutter)) {
+            cutPieces.add(piece);
+            continue;
+          }
+          cutCalls.increment();
+          List<Geometry> cut = GeometryEngine.cut(piece, cutters.get(cutter));
+          if (cut.isEmpty()) {
+            cutPieces.add(piece);
+          } else {
+            cut.stream().filter(part -> part != null && !part.isEmpty()).forEach(cutPieces::add);
+          }
+        }
+        pieces = cutPieces;
+      }
+      if (pieces.size() == 1) {
+        featuresNotCut.increment();
+      }
+      for (int piece = 0; piece < pieces.size(); piece++) {
+        pieceGeometries.add(pieces.get(piece));
+        pieceIndices.add(new int[] {firstSourceIndex + i, piece});
+      }
+    }
+
+    // create and add the features for the batch in one edit
+    synchronized (output) {
+      List<Feature> pieceFeatures = new ArrayList<>(pieceGeometries.size());
+      for (int i = 0; i < pieceGeometries.size(); i++) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SOURCE_FIELD, pieceIndices.get(i)[0]);
+        attributes.put(PIECE_FIELD, pieceIndices.get(i)[1]);
+        pieceFeatures.add(output.createFeature(attributes, pieceGeometries.get(i)));
+      }
+      output.addFeaturesAsync(pieceFeatures).get();
+      piecesWritten.add(pieceFeatures.size());
+    }
+  }
+
+  /**
+   * Gets the envelope of a geometry as xmin, ymin, xmax and ymax.
+   */
+  private static double[] envelope(Geometry geometry) {
+    Envelope extent = geometry.getExtent();
+    return new double[] {extent.getXMin(), extent.getYMin(), extent.getXMax(), extent.getYMax()};
+  }
+
+  private boolean envelopesIntersect(double[] envelope, int cutter) {
+    return envelope[0] <= cutterEnvelopes[4 * cutter + 2] && cutterEnvelopes[4 * cutter] <= envelope[2] &&
+      envelope[1] <= cutterEnvelopes[4 * cutter + 3] && cutterEnvelopes[4 * cutter + 1] <= envelope[3];
+  }
+
+  /**
+   * A uniform grid over the cutting polylines' envelopes, listing in each cell the polylines whose envelopes overlap it.
+   */
+  private static class CutterGrid {
+
+    private final double xMin;
+    private final double yMin;
+    private final double cellWidth;
+    private final double cellHeight;
+    private final int size;
+    private final List<List<Integer>> cells;
+
+    private CutterGrid(double[] envelopes) {
+      int envelopeCount = envelopes.length / 4;
+      double minX = Double.POSITIVE_INFINITY;
+      double minY = Double.POSITIVE_INFINITY;
+      double maxX = Double.NEGATIVE_INFINITY;
+      double maxY = Double.NEGATIVE_INFINITY;
+      for (int i = 0; i < envelopeCount; i++) {
+        minX = Math.min(minX, envelopes[4 * i]);
+        minY = Math.min(minY, envelopes[4 * i + 1]);
+        maxX = Math.max(maxX, envelopes[4 * i + 2]);
+        maxY = Math.max(maxY, envelopes[4 * i + 3]);
+      }
+      xMin = minX;
+      yMin = minY;
+
+      // aim for about one polyline per cell
+      size = Math.max(1, (int) Math.sqrt(envelopeCount));
+      cellWidth = Math.max((maxX - minX) / size, Double.MIN_NORMAL);
+      cellHeight = Math.max((maxY - minY) / size, Double.MIN_NORMAL);
+      cells = new ArrayList<>(size * size);
+      for (int i = 0; i < size * size; i++) {
+        cells.add(new ArrayList<>(2));
+      }
+      for (int i = 0; i < envelopeCount; i++) {
+        for (int y = cell(envelopes[4 * i + 1], yMin, cellHeight); y <= cell(envelopes[4 * i + 3], yMin, cellHeight); y++) {
+          for (int x = cell(envelopes[4 * i], xMin, cellWidth); x <= cell(envelopes[4 * i + 2], xMin, cellWidth); x++) {
+            cells.get(y * size + x).add(i);
+          }
+        }
+      }
+    }
+
+    /**
+     * Lists the polylines in the cells an envelope overlaps, each once and in index order.
+     */
+    private int[] candidates(double[] envelope) {
+      IntStream.Builder found = IntStream.builder();
+      for (int y = cell(envelope[1], yMin, cellHeight); y <= cell(envelope[3], yMin, cellHeight); y++) {
+        for (int x = cell(envelope[0], xMin, cellWidth); x <= cell(envelope[2], xMin, cellWidth); x++) {
+          cells.get(y * size + x).forEach(found::add);
+        }
+      }
+      // a polyline spanning several cells is listed in each of them
+      return found.build().sorted().distinct().toArray();
+    }
+
+    private int cell(double coordinate, double origin, double cellSize) {
+      return Math.min(size - 1, Math.max(0, (int) ((coordinate - origin) / cellSize)));
+    }
+  }
+}
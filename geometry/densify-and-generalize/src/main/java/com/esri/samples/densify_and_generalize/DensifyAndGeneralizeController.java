@@ -16,8 +16,16 @@
 
 package com.esri.samples.densify_and_generalize;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javafx.application.Platform;
 import javafx.fxml.FXML;
+import javafx.scene.control.Alert;
 import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
 import javafx.scene.control.Slider;
 
 import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
@@ -29,6 +37,7 @@ import com.esri.arcgisruntime.geometry.Polyline;
 import com.esri.arcgisruntime.geometry.SpatialReference;
 import com.esri.arcgisruntime.mapping.ArcGISMap;
 import com.esri.arcgisruntime.mapping.BasemapStyle;
+import com.esri.arcgisruntime.mapping.view.DrawStatus;
 import com.esri.arcgisruntime.mapping.view.Graphic;
 import com.esri.arcgisruntime.mapping.view.GraphicsOverlay;
 import com.esri.arcgisruntime.mapping.view.MapView;
@@ -43,10 +52,17 @@ public class DensifyAndGeneralizeController {
   @FXML private CheckBox resultVisibilityCheckBox;
   @FXML private CheckBox densifyCheckBox;
   @FXML private CheckBox generalizeCheckBox;
+  @FXML private Label resultLabel;
 
   private Polyline originalPolyline;
   private Graphic resultPointsGraphic;
   private Graphic resultPolylineGraphic;
+  private GeneralizationCache generalizationCache;
+  private ExecutorService generalizeExecutor;
+  private long generalizeRequest;
+  private CompletableFuture<Polyline> pendingGeneralization;
+  private int resultVertexCount;
+  private long drawStart;
 
   @FXML
   public void initialize() {
@@ -89,6 +105,28 @@ public class DensifyAndGeneralizeController {
     resultPolylineGraphic.setSymbol(new SimpleLineSymbol(SimpleLineSymbol.Style.SOLID, 0xFFFF00FF, 3));
     graphicsOverlay.getGraphics().add(resultPolylineGraphic);
 
+    // generalize the polyline at a ladder of deviations covering the slider's range in the background, so that a
+    // nearby level can be shown as soon as the slider moves
+    generalizeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "generalize");
+      thread.setDaemon(true);
+      return thread;
+    });
+    generalizationCache = new GeneralizationCache(originalPolyline, maxDeviationSlider.getMin(),
+        maxDeviationSlider.getMax());
+    generalizationCache.precompute(generalizeExecutor);
+
+    // show how many vertices the result has and how long the map took to draw it
+    mapView.addDrawStatusChangedListener(drawStatusChangedEvent -> {
+      if (drawStatusChangedEvent.getDrawStatus() == DrawStatus.IN_PROGRESS) {
+        drawStart = System.nanoTime();
+      } else if (drawStatusChangedEvent.getDrawStatus() == DrawStatus.COMPLETED && drawStart != 0) {
+        long milliseconds = (System.nanoTime() - drawStart) / 1000000;
+        drawStart = 0;
+        Platform.runLater(() -> resultLabel.setText(resultVertexCount + " vertices, drawn in " + milliseconds + " ms"));
+      }
+    });
+
     // update the densified/generalized parameters when the slider values change
     maxSegmentLengthSlider.valueProperty().addListener(o -> updateGeometry());
     maxDeviationSlider.valueProperty().addListener(o -> updateGeometry());
@@ -102,21 +140,55 @@ public class DensifyAndGeneralizeController {
   }
 
   /**
-   * Called when any of the densify/generalize option values are changed. Applies the densify and generalize 
-   * operations to the original polyline and updates the result graphics with the result geometry.
+   * Called when any of the densify/generalize option values are changed. Shows the generalized polyline from the
+   * nearest cached level straight away, and the exact generalization once it has been made in the background. A
+   * generalization still waiting for the executor is cancelled, so only the latest deviation is generalized.
    */
   @FXML
   private void updateGeometry() {
-    Polyline polyline = originalPolyline;
-    if (generalizeCheckBox.isSelected()) {
-      polyline = (Polyline) GeometryEngine.generalize(polyline, maxDeviationSlider.getValue(), true);
+    long request = ++generalizeRequest;
+    if (pendingGeneralization != null) {
+      pendingGeneralization.cancel(false);
+      pendingGeneralization = null;
+    }
+    if (!generalizeCheckBox.isSelected()) {
+      showResult(originalPolyline);
+      return;
     }
+
+    double maxDeviation = maxDeviationSlider.getValue();
+    CompletableFuture<Polyline> generalized = generalizationCache.generalize(maxDeviation, generalizeExecutor);
+    if (!generalized.isDone()) {
+      showResult(generalizationCache.getNearestLevel(maxDeviation));
+      pendingGeneralization = generalized;
+    }
+    generalized.whenCompleteAsync((polyline, exception) -> {
+      if (exception instanceof CancellationException) {
+        // a newer request replaced this one
+        return;
+      }
+      if (exception != null) {
+        new Alert(Alert.AlertType.ERROR, "Error generalizing polyline").show();
+      } else if (request == generalizeRequest) {
+        // only show the result if the options haven't changed since it was requested
+        showResult(polyline);
+      }
+    }, Platform::runLater);
+  }
+
+  /**
+   * Densifies a generalized polyline if densifying is selected, and updates the result graphics with it.
+   *
+   * @param polyline the generalized polyline
+   */
+  private void showResult(Polyline polyline) {
     if (densifyCheckBox.isSelected()) {
       polyline = (Polyline) GeometryEngine.densify(polyline, maxSegmentLengthSlider.getValue());
     }
     resultPolylineGraphic.setGeometry(polyline);
     Multipoint multipoint = new Multipoint(polyline.getParts().getPartsAsPoints());
     resultPointsGraphic.setGeometry(multipoint);
+    resultVertexCount = multipoint.getPoints().size();
   }
 
   /**
@@ -160,6 +232,9 @@ public class DensifyAndGeneralizeController {
    */
   void terminate() {
 
+    if (generalizeExecutor != null) {
+      generalizeExecutor.shutdownNow();
+    }
     if (mapView != null) {
       mapView.dispose();
     }
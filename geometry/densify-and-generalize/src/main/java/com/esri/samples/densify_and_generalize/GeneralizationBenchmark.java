@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.densify_and_generalize;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.ImmutablePart;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.PointCollection;
+import com.esri.arcgisruntime.geometry.Polyline;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+
+/**
+ * Shows the vertex count of each level of a {@link GeneralizationCache} for a long random polyline, with the time to
+ * generalize the full resolution polyline at that level compared with the time to get the level from the cache,
+ * without showing a UI.
+ *
+ * <p>Usage: {@code GeneralizationBenchmark [vertices]}
+ */
+public class GeneralizationBenchmark {
+
+  // the sample slider's range of maximum deviations
+  private static final double MIN_DEVIATION = 1;
+  private static final double MAX_DEVIATION = 250;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args optional number of polyline vertices
+   */
+  public static void main(String[] args) throws Exception {
+
+    int vertexCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+
+    // the geometry engine needs the runtime, but not a map view
+    ArcGISRuntimeEnvironment.initialize();
+
+    // create a random walk with steps of up to 10 meters, in the sample's spatial reference
+    Random random = new Random(42);
+    PointCollection points = new PointCollection(SpatialReference.create(32126));
+    double x = 2330611;
+    double y = 202360;
+    for (int i = 0; i < vertexCount; i++) {
+      x += (random.nextDouble() - 0.5) * 10;
+      y += random.nextDouble() * 5;
+      points.add(new Point(x, y));
+    }
+    Polyline polyline = new Polyline(points);
+
+    GeneralizationCache generalizationCache = new GeneralizationCache(polyline, MIN_DEVIATION, MAX_DEVIATION);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    long start = System.nanoTime();
+    generalizationCache.precompute(executor).get();
+    System.out.printf("%d vertices, %d levels precomputed in %.0f ms%n", vertexCount,
+      generalizationCache.getLevelCount(), (System.nanoTime() - start) / 1e6);
+
+    System.out.printf("  %10s %10s %16s %16s%n", "tolerance", "vertices", "generalize ms", "from cache ms");
+    for (int level = 0; level < generalizationCache.getLevelCount(); level++) {
+      double tolerance = generalizationCache.getTolerance(level);
+
+      start = System.nanoTime();
+      Polyline generalized = (Polyline) GeometryEngine.generalize(polyline, tolerance, true);
+      double generalizeMilliseconds = (System.nanoTime() - start) / 1e6;
+
+      start = System.nanoTime();
+      Polyline cached = generalizationCache.getNearestLevel(tolerance);
+      double cacheMilliseconds = (System.nanoTime() - start) / 1e6;
+
+      System.out.printf("  %10.0f %10d %16.2f %16.4f%n", tolerance, vertexCount(cached), generalizeMilliseconds,
+        cacheMilliseconds);
+      if (vertexCount(generalized) != vertexCount(cached)) {
+        System.out.println("  cached level differs from generalizing the polyline");
+      }
+    }
+
+    executor.shutdown();
+    ArcGISRuntimeEnvironment.dispose();
+  }
+
+  /**
+   * Counts the vertices in all parts of a polyline.
+   */
+  private static int vertexCount(Polyline polyline) {
+    int count = 0;
+    for (ImmutablePart part : polyline.getParts()) {
+      count += part.getPointCount();
+    }
+    return count;
+  }
+}
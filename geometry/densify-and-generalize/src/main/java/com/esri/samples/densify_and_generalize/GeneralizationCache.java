@@ -0,0 +1,182 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.densify_and_generalize;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.Polyline;
+
+/**
+ * Generalized versions of a polyline at a ladder of tolerances that double from one level to the next, so that a
+ * generalized polyline close to any maximum deviation can be shown straight away. The exact generalization for a
+ * deviation is made in the background and cached, to replace the nearest level once it's ready.
+ *
+ * <p>Exact generalizations are made for the deviation rounded to one of a fixed number of steps between each level and
+ * the next, about 2% apart, so that nearby slider values share a cache entry.
+ */
+public class GeneralizationCache {
+
+  // number of exact generalizations kept in the cache
+  private static final int CACHE_SIZE = 32;
+  // number of rounded deviations from one level of the ladder to the next
+  private static final int DEVIATION_STEPS_PER_LEVEL = 32;
+
+  private final Polyline polyline;
+  private final double minTolerance;
+  private final double[] tolerances;
+  private final AtomicReferenceArray<Polyline> levels;
+  private final Map<Double, Polyline> generalizations =
+    new LinkedHashMap<Double, Polyline>(CACHE_SIZE, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Double, Polyline> eldest) {
+        return size() > CACHE_SIZE;
+      }
+    };
+
+  /**
+   * Creates a cache for a polyline with levels from the smallest tolerance, doubling until the largest is covered.
+   *
+   * @param polyline full resolution polyline
+   * @param minTolerance smallest maximum deviation, in the units of the polyline's spatial reference
+   * @param maxTolerance largest maximum deviation, in the units of the polyline's spatial reference
+   */
+  public GeneralizationCache(Polyline polyline, double minTolerance, double maxTolerance) {
+    this.polyline = polyline;
+    this.minTolerance = minTolerance;
+    int levelCount = 1 + (int) Math.ceil(Math.log(maxTolerance / minTolerance) / Math.log(2));
+    tolerances = new double[levelCount];
+    for (int i = 0; i < levelCount; i++) {
+      tolerances[i] = minTolerance * Math.pow(2, i);
+    }
+    levels = new AtomicReferenceArray<>(levelCount);
+  }
+
+  /**
+   * Generalizes the polyline at every level of the ladder, finest first, on the given executor.
+   *
+   * @param executor executor to generalize on
+   * @return a future that completes when every level is ready
+   */
+  public CompletableFuture<Void> precompute(Executor executor) {
+    return CompletableFuture.runAsync(() -> {
+      for (int i = 0; i < tolerances.length; i++) {
+        levels.set(i, (Polyline) GeometryEngine.generalize(polyline, tolerances[i], true));
+      }
+    }, executor);
+  }
+
+  /**
+   * Gets the ready level whose tolerance is nearest to a maximum deviation, comparing tolerances by their ratio, or the
+   * full resolution polyline if no level is ready yet.
+   *
+   * @param maxDeviation the maximum deviation
+   * @return the nearest generalized polyline
+   */
+  public Polyline getNearestLevel(double maxDeviation) {
+    Polyline nearest = polyline;
+    double nearestRatio = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < tolerances.length; i++) {
+      Polyline level = levels.get(i);
+      double ratio = Math.abs(Math.log(tolerances[i] / maxDeviation));
+      if (level != null && ratio < nearestRatio) {
+        nearest = level;
+        nearestRatio = ratio;
+      }
+    }
+    return nearest;
+  }
+
+  /**
+   * Generalizes the polyline with a maximum deviation, rounded to the nearest step, on the given executor, or completes
+   * straight away if it has been generalized with that rounded deviation before. Cancelling the future before the
+   * executor gets to it skips the generalization, so superseded requests don't hold up newer ones.
+   *
+   * @param maxDeviation the maximum deviation
+   * @param executor executor to generalize on
+   * @return a future for the generalized polyline
+   */
+  public CompletableFuture<Polyline> generalize(double maxDeviation, Executor executor) {
+    double roundedDeviation = roundDeviation(maxDeviation);
+    Polyline cached;
+    synchronized (generalizations) {
+      cached = generalizations.get(roundedDeviation);
+    }
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+
+    CompletableFuture<Polyline> future = new CompletableFuture<>();
+    executor.execute(() -> {
+      // skip requests cancelled while they were queued
+      if (future.isDone()) {
+        return;
+      }
+      try {
+        Polyline generalized = (Polyline) GeometryEngine.generalize(polyline, roundedDeviation, true);
+        synchronized (generalizations) {
+          generalizations.put(roundedDeviation, generalized);
+        }
+        future.complete(generalized);
+      } catch (RuntimeException e) {
+        future.completeExceptionally(e);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Rounds a maximum deviation to the nearest of the steps spaced evenly by ratio from the smallest tolerance.
+   */
+  private double roundDeviation(double maxDeviation) {
+    double steps = Math.log(maxDeviation / minTolerance) / Math.log(2) * DEVIATION_STEPS_PER_LEVEL;
+    return minTolerance * Math.pow(2, Math.round(steps) / (double) DEVIATION_STEPS_PER_LEVEL);
+  }
+
+  /**
+   * Gets the number of levels in the ladder.
+   *
+   * @return the number of levels
+   */
+  public int getLevelCount() {
+    return tolerances.length;
+  }
+
+  /**
+   * Gets the tolerance of a level.
+   *
+   * @param level index of the level, from the finest
+   * @return the tolerance
+   */
+  public double getTolerance(int level) {
+    return tolerances[level];
+  }
+
+  /**
+   * Gets the polyline generalized at a level.
+   *
+   * @param level index of the level, from the finest
+   * @return the generalized polyline, or null if the level isn't ready yet
+   */
+  public Polyline getLevel(int level) {
+    return levels.get(level);
+  }
+}
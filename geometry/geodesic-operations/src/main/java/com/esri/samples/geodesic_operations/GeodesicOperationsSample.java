@@ -36,6 +36,7 @@ import com.esri.arcgisruntime.geometry.Geometry;
 import com.esri.arcgisruntime.geometry.GeometryEngine;
 import com.esri.arcgisruntime.geometry.LinearUnit;
 import com.esri.arcgisruntime.geometry.LinearUnitId;
+import com.esri.arcgisruntime.geometry.Multipart;
 import com.esri.arcgisruntime.geometry.Point;
 import com.esri.arcgisruntime.geometry.PointCollection;
 import com.esri.arcgisruntime.geometry.Polyline;
@@ -53,6 +54,9 @@ public class GeodesicOperationsSample extends Application {
 
   private MapView mapView;
   private final SpatialReference srWgs84 = SpatialReferences.getWgs84();
+  private ScaleAdaptiveDensifier densifier;
+  private Graphic path;
+  private Label vertexCountLabel;
 
   @Override
   public void start(Stage stage) {
@@ -97,7 +101,7 @@ public class GeodesicOperationsSample extends Application {
       graphicsOverlay.getGraphics().add(endLocation);
 
       // create a graphic representing the geodesic path between the two locations
-      Graphic path = new Graphic();
+      path = new Graphic();
       path.setSymbol(new SimpleLineSymbol(SimpleLineSymbol.Style.DASH, 0xFF0000FF, 5));
       graphicsOverlay.getGraphics().add(path);
 
@@ -105,12 +109,14 @@ public class GeodesicOperationsSample extends Application {
       Label distanceLabel = new Label();
       DecimalFormat formatter = new DecimalFormat("#0.00 km");
       distanceLabel.setText(formatter.format(0.0));
-      VBox labelBox = new VBox(distanceLabel);
+      // create a label to show how many vertices the densified path has at the current scale
+      vertexCountLabel = new Label();
+      VBox labelBox = new VBox(distanceLabel, vertexCountLabel);
       labelBox.setBackground(new Background(new BackgroundFill(Paint.valueOf("rgba(0,0,0,0.3)"), CornerRadii.EMPTY,
               Insets.EMPTY)));
       labelBox.setAlignment(Pos.CENTER);
       labelBox.setPadding(new Insets(5));
-      labelBox.setMaxSize(80, 20);
+      labelBox.setMaxSize(120, 40);
       labelBox.getStyleClass().add("panel-region");
 
       // create a linear unit for measuring the distance
@@ -126,16 +132,23 @@ public class GeodesicOperationsSample extends Application {
           // create a straight line path between the start and end locations
           PointCollection points = new PointCollection(Arrays.asList(start, destination), srWgs84);
           Polyline polyline = new Polyline(points);
-          // densify the path as a geodesic curve and show it with the path graphic
-          Geometry pathGeometry = GeometryEngine.densifyGeodetic(polyline, 1, unitOfMeasurement, GeodeticCurveType
-              .GEODESIC);
-          path.setGeometry(pathGeometry);
-          // calculate the path distance
-          double distance = GeometryEngine.lengthGeodetic(pathGeometry, unitOfMeasurement, GeodeticCurveType.GEODESIC);
+          // densify the path as a geodesic curve for the current scale and show it with the path graphic
+          densifier = new ScaleAdaptiveDensifier(polyline, GeodeticCurveType.GEODESIC);
+          showPath(densifier.densify(mapView.getMapScale()));
+          // calculate the path distance, which densifying along the geodesic doesn't change
+          double distance = GeometryEngine.lengthGeodetic(polyline, unitOfMeasurement, GeodeticCurveType.GEODESIC);
           distanceLabel.setText(formatter.format(distance));
         }
       });
 
+      // densify the path again when the scale changes enough to need longer or shorter segments
+      mapView.addMapScaleChangedListener(mapScaleChangedEvent -> {
+        double mapScale = mapView.getMapScale();
+        if (densifier != null && densifier.isBucketChanged(mapScale)) {
+          showPath(densifier.densify(mapScale));
+        }
+      });
+
       // add the scene view and label box to the stack pane
       stackPane.getChildren().addAll(mapView, labelBox);
       StackPane.setMargin(labelBox, new Insets(10, 0, 0, 10));
@@ -146,6 +159,20 @@ public class GeodesicOperationsSample extends Application {
     }
   }
 
+  /**
+   * Shows a densified path with the path graphic, along with its number of vertices.
+   *
+   * @param pathGeometry the densified path
+   */
+  private void showPath(Geometry pathGeometry) {
+    path.setGeometry(pathGeometry);
+    int vertexCount = 0;
+    for (int i = 0; i < ((Multipart) pathGeometry).getParts().size(); i++) {
+      vertexCount += ((Multipart) pathGeometry).getParts().get(i).getPointCount();
+    }
+    vertexCountLabel.setText(vertexCount + " vertices");
+  }
+
   /**
    * Stops and releases all resources used in application.
    */
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.geodesic_operations;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.esri.arcgisruntime.geometry.GeodeticCurveType;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.LinearUnit;
+import com.esri.arcgisruntime.geometry.LinearUnitId;
+import com.esri.arcgisruntime.geometry.Polyline;
+
+/**
+ * Densifies a polyline as a geodetic curve with a segment length that suits the map scale, so that the curve has only
+ * as many vertices as can be seen. Map scales are grouped into buckets that double in size, and the densified
+ * geometry of each bucket is cached, so the polyline is only densified again when the scale moves to a new bucket.
+ */
+public class ScaleAdaptiveDensifier {
+
+  // size of a screen pixel at a map scale of 1:1, in meters, for the standard 96 DPI display
+  private static final double METERS_PER_PIXEL = 0.0254 / 96;
+  // length of a densified segment on screen, in pixels
+  private static final double PIXELS_PER_SEGMENT = 10;
+  // shortest segment used, in meters, which the curve is densified with at large scales
+  private static final double MIN_SEGMENT_LENGTH = 1000;
+
+  private static final LinearUnit METERS = new LinearUnit(LinearUnitId.METERS);
+
+  private final Polyline polyline;
+  private final GeodeticCurveType curveType;
+  private final Map<Double, Geometry> densifiedBySegmentLength = new HashMap<>();
+  private double currentSegmentLength = Double.NaN;
+
+  /**
+   * Creates a densifier for a polyline.
+   *
+   * @param polyline polyline to densify
+   * @param curveType type of curve to densify along
+   */
+  public ScaleAdaptiveDensifier(Polyline polyline, GeodeticCurveType curveType) {
+    this.polyline = polyline;
+    this.curveType = curveType;
+  }
+
+  /**
+   * Gets the polyline densified for a map scale, from the cache if it has been densified for the scale's bucket before.
+   *
+   * @param mapScale the map scale, or NaN if the map hasn't drawn yet
+   * @return the densified polyline
+   */
+  public Geometry densify(double mapScale) {
+    currentSegmentLength = getSegmentLength(mapScale);
+    return densifiedBySegmentLength.computeIfAbsent(currentSegmentLength,
+      segmentLength -> GeometryEngine.densifyGeodetic(polyline, segmentLength, METERS, curveType));
+  }
+
+  /**
+   * Whether the given map scale is in a different bucket from the one last densified for.
+   *
+   * @param mapScale the map scale
+   * @return true if the polyline needs densifying again for the scale
+   */
+  public boolean isBucketChanged(double mapScale) {
+    return getSegmentLength(mapScale) != currentSegmentLength;
+  }
+
+  /**
+   * Gets the segment length for the bucket a map scale falls in, rounding the scale up to the next power of two.
+   * Large scales, and NaN before the map has drawn, all use the shortest segment.
+   */
+  private static double getSegmentLength(double mapScale) {
+    if (Double.isNaN(mapScale) || mapScale <= 0) {
+      return MIN_SEGMENT_LENGTH;
+    }
+    double bucketScale = Math.pow(2, Math.ceil(Math.log(mapScale) / Math.log(2)));
+    return Math.max(MIN_SEGMENT_LENGTH, bucketScale * METERS_PER_PIXEL * PIXELS_PER_SEGMENT);
+  }
+}
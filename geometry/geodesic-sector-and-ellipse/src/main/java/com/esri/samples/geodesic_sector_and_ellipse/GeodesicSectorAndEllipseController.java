@@ -16,18 +16,19 @@
 
 package com.esri.samples.geodesic_sector_and_ellipse;
 
+import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
 import javafx.geometry.Point2D;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Slider;
 import javafx.scene.control.Spinner;
 import javafx.scene.input.MouseButton;
+import javafx.util.Duration;
 
 import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
 import com.esri.arcgisruntime.geometry.GeodesicEllipseParameters;
 import com.esri.arcgisruntime.geometry.GeodesicSectorParameters;
 import com.esri.arcgisruntime.geometry.Geometry;
-import com.esri.arcgisruntime.geometry.GeometryEngine;
 import com.esri.arcgisruntime.geometry.GeometryType;
 import com.esri.arcgisruntime.geometry.Point;
 import com.esri.arcgisruntime.geometry.SpatialReferences;
@@ -62,6 +63,7 @@ public class GeodesicSectorAndEllipseController {
   private FillSymbol sectorFillSymbol;
   private LineSymbol sectorLineSymbol;
   private MarkerSymbol sectorMarkerSymbol;
+  private GeodesicShapeTemplates shapeTemplates;
 
   public void initialize() {
     // authentication with an API key or named user is required to access basemaps and other location services
@@ -97,6 +99,9 @@ public class GeodesicSectorAndEllipseController {
     ellipseGraphic.setSymbol(ellipseLineSymbol);
     graphicsOverlay.getGraphics().add(ellipseGraphic);
 
+    // create the sector and ellipse from templates, so only a change of parameters needs the geometry engine
+    shapeTemplates = new GeodesicShapeTemplates();
+
     // set the center of the sector and ellipse where the user clicks on the map
     mapView.setOnMouseClicked(e -> {
       if (e.isStillSincePress() && e.getButton() == MouseButton.PRIMARY) {
@@ -118,15 +123,18 @@ public class GeodesicSectorAndEllipseController {
     semiAxis2LengthSlider.setValue(defaultParameters.getSemiAxis2Length());
     startDirectionSlider.setValue(defaultParameters.getStartDirection());
 
-    // call updateSector when any of the controls change their value
-    axisDirectionSlider.valueProperty().addListener(e -> updateSector());
-    maxPointCountSpinner.valueProperty().addListener(e -> updateSector());
-    maxSegmentLengthSlider.valueProperty().addListener(e -> updateSector());
-    geometryTypeComboBox.valueProperty().addListener(e -> updateSector());
-    sectorAngleSlider.valueProperty().addListener(e -> updateSector());
-    semiAxis1LengthSlider.valueProperty().addListener(e -> updateSector());
-    semiAxis2LengthSlider.valueProperty().addListener(e -> updateSector());
-    startDirectionSlider.valueProperty().addListener(e -> updateSector());
+    // call updateSector when the controls stop changing their value for a moment, so that dragging a slider doesn't
+    // create a new template for every value it passes through
+    PauseTransition updateDelay = new PauseTransition(Duration.millis(100));
+    updateDelay.setOnFinished(e -> updateSector());
+    axisDirectionSlider.valueProperty().addListener(e -> updateDelay.playFromStart());
+    maxPointCountSpinner.valueProperty().addListener(e -> updateDelay.playFromStart());
+    maxSegmentLengthSlider.valueProperty().addListener(e -> updateDelay.playFromStart());
+    geometryTypeComboBox.valueProperty().addListener(e -> updateDelay.playFromStart());
+    sectorAngleSlider.valueProperty().addListener(e -> updateDelay.playFromStart());
+    semiAxis1LengthSlider.valueProperty().addListener(e -> updateDelay.playFromStart());
+    semiAxis2LengthSlider.valueProperty().addListener(e -> updateDelay.playFromStart());
+    startDirectionSlider.valueProperty().addListener(e -> updateDelay.playFromStart());
 
     // update the sector with the default parameters
     updateSector();
@@ -149,8 +157,8 @@ public class GeodesicSectorAndEllipseController {
     geodesicSectorParameters.setSemiAxis2Length(semiAxis2LengthSlider.getValue());
     geodesicSectorParameters.setStartDirection(startDirectionSlider.getValue());
 
-    // create the geodesic sector parameter
-    Geometry sectorGeometry = GeometryEngine.sectorGeodesic(geodesicSectorParameters);
+    // create the geodesic sector from the template for its parameters
+    Geometry sectorGeometry = shapeTemplates.sectorGeodesic(geodesicSectorParameters);
     // set the sector graphic's geometry to the sector
     sectorGraphic.setGeometry(sectorGeometry);
     // update the graphic's symbol depending on the chosen output geometry type
@@ -172,7 +180,7 @@ public class GeodesicSectorAndEllipseController {
         .getValue(), semiAxis2LengthSlider.getValue());
     geodesicEllipseParameters.setAxisDirection(axisDirectionSlider.getValue());
     // show the geodesic ellipse that the sector is in
-    Geometry ellipseGeometry = GeometryEngine.ellipseGeodesic(geodesicEllipseParameters);
+    Geometry ellipseGeometry = shapeTemplates.ellipseGeodesic(geodesicEllipseParameters);
     ellipseGraphic.setGeometry(ellipseGeometry);
   }
 
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.geodesic_sector_and_ellipse;
+
+import java.util.Random;
+
+import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
+import com.esri.arcgisruntime.geometry.AreaUnit;
+import com.esri.arcgisruntime.geometry.AreaUnitId;
+import com.esri.arcgisruntime.geometry.GeodesicSectorParameters;
+import com.esri.arcgisruntime.geometry.GeodeticCurveType;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.GeometryType;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+
+/**
+ * Compares the number of sensor footprints per second created by the geometry engine and by
+ * {@link GeodesicShapeTemplates}, for footprints at random centers sharing a few parameter sets, without showing a UI.
+ *
+ * <p>Usage: {@code GeodesicShapeBenchmark [footprints] [parameter sets]}
+ */
+public class GeodesicShapeBenchmark {
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args optional number of footprints and number of parameter sets they share
+   */
+  public static void main(String[] args) {
+
+    int footprintCount = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+    int parameterSetCount = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+    // the geometry engine needs the runtime, but not a map view
+    ArcGISRuntimeEnvironment.initialize();
+
+    // create sector parameters for each footprint, cycling through a few random parameter sets
+    Random random = new Random(42);
+    double[][] parameterSets = new double[parameterSetCount][];
+    for (int i = 0; i < parameterSetCount; i++) {
+      parameterSets[i] = new double[] {random.nextDouble() * 360, 30 + random.nextDouble() * 90,
+        random.nextDouble() * 360, 1000 + random.nextDouble() * 50000, 1000 + random.nextDouble() * 50000};
+    }
+    GeodesicSectorParameters[] footprints = new GeodesicSectorParameters[footprintCount];
+    for (int i = 0; i < footprintCount; i++) {
+      double[] parameterSet = parameterSets[i % parameterSetCount];
+      GeodesicSectorParameters parameters = new GeodesicSectorParameters();
+      parameters.setCenter(new Point(random.nextDouble() * 360 - 180, random.nextDouble() * 140 - 70,
+        SpatialReferences.getWgs84()));
+      parameters.setGeometryType(GeometryType.POLYGON);
+      parameters.setAxisDirection(parameterSet[0]);
+      parameters.setSectorAngle(parameterSet[1]);
+      parameters.setStartDirection(parameterSet[2]);
+      parameters.setSemiAxis1Length(parameterSet[3]);
+      parameters.setSemiAxis2Length(parameterSet[4]);
+      parameters.setMaxSegmentLength(100);
+      footprints[i] = parameters;
+    }
+    System.out.printf("%d footprints sharing %d parameter sets%n", footprintCount, parameterSetCount);
+
+    // time the geometry engine
+    Geometry[] engineFootprints = new Geometry[footprintCount];
+    long start = System.nanoTime();
+    for (int i = 0; i < footprintCount; i++) {
+      engineFootprints[i] = GeometryEngine.sectorGeodesic(footprints[i]);
+    }
+    report("geometry engine", start, footprintCount);
+
+    // time the templates, including creating a template for each parameter set
+    GeodesicShapeTemplates shapeTemplates = new GeodesicShapeTemplates();
+    Geometry[] templateFootprints = new Geometry[footprintCount];
+    start = System.nanoTime();
+    for (int i = 0; i < footprintCount; i++) {
+      templateFootprints[i] = shapeTemplates.sectorGeodesic(footprints[i]);
+    }
+    report("templates", start, footprintCount);
+
+    // compare the footprint areas, which the spherical placement changes slightly
+    AreaUnit squareMeters = new AreaUnit(AreaUnitId.SQUARE_METERS);
+    double maxDifference = 0;
+    for (int i = 0; i < footprintCount; i += Math.max(1, footprintCount / 1000)) {
+      double engineArea = GeometryEngine.areaGeodetic(engineFootprints[i], squareMeters, GeodeticCurveType.GEODESIC);
+      double templateArea = GeometryEngine.areaGeodetic(templateFootprints[i], squareMeters,
+        GeodeticCurveType.GEODESIC);
+      maxDifference = Math.max(maxDifference, Math.abs(templateArea - engineArea) / engineArea);
+    }
+    System.out.printf("largest area difference from the geometry engine: %.3f%%%n", 100 * maxDifference);
+
+    ArcGISRuntimeEnvironment.dispose();
+  }
+
+  /**
+   * Prints the time since a start time and the footprint throughput.
+   */
+  private static void report(String method, long start, int footprintCount) {
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("  %-16s %8.2f s %10.0f footprints/s%n", method, seconds, footprintCount / seconds);
+  }
+}
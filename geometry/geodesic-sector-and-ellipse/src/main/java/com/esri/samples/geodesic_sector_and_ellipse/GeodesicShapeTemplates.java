@@ -0,0 +1,233 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.geodesic_sector_and_ellipse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.esri.arcgisruntime.geometry.GeodesicEllipseParameters;
+import com.esri.arcgisruntime.geometry.GeodesicSectorParameters;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.GeometryType;
+import com.esri.arcgisruntime.geometry.ImmutablePart;
+import com.esri.arcgisruntime.geometry.ImmutablePointCollection;
+import com.esri.arcgisruntime.geometry.Multipart;
+import com.esri.arcgisruntime.geometry.Multipoint;
+import com.esri.arcgisruntime.geometry.Part;
+import com.esri.arcgisruntime.geometry.PartCollection;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.PointCollection;
+import com.esri.arcgisruntime.geometry.Polygon;
+import com.esri.arcgisruntime.geometry.Polyline;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+
+/**
+ * Creates geodesic sectors and ellipses from cached templates. The geometry engine creates each shape once for a set of
+ * parameters, at a reference center, and the template keeps the distance and azimuth of each vertex from that center.
+ * Shapes with the same parameters at other centers are placed by offsetting the center by those distances and azimuths
+ * on a sphere, which is much faster than creating them again and, for shapes up to a few hundred kilometers across,
+ * differs from the geometry engine's ellipsoidal result by well under a percent of the shape's size.
+ */
+public class GeodesicShapeTemplates {
+
+  // number of templates kept in the cache
+  private static final int CACHE_SIZE = 64;
+
+  private static final SpatialReference WGS84 = SpatialReferences.getWgs84();
+  private static final Point REFERENCE_CENTER = new Point(0, 0, WGS84);
+
+  private final Map<String, Template> templates = new LinkedHashMap<String, Template>(CACHE_SIZE, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+      return size() > CACHE_SIZE;
+    }
+  };
+
+  /**
+   * Creates a geodesic sector like {@link GeometryEngine#sectorGeodesic(GeodesicSectorParameters)}, from the cached
+   * template for its parameters if there is one.
+   *
+   * @param parameters the sector parameters
+   * @return the sector, in the spatial reference of its center
+   */
+  public Geometry sectorGeodesic(GeodesicSectorParameters parameters) {
+    String key = "sector:" + parameters.getGeometryType() + "," + parameters.getAxisDirection() + "," +
+      parameters.getSectorAngle() + "," + parameters.getStartDirection() + "," + parameters.getSemiAxis1Length() + "," +
+      parameters.getSemiAxis2Length() + "," + parameters.getMaxPointCount() + "," + parameters.getMaxSegmentLength() +
+      "," + parameters.getLinearUnit().getWkid() + "," + parameters.getAngularUnit().getWkid();
+
+    Template template = getTemplate(key, () -> {
+      GeodesicSectorParameters reference = new GeodesicSectorParameters();
+      reference.setCenter(REFERENCE_CENTER);
+      reference.setGeometryType(parameters.getGeometryType());
+      reference.setAxisDirection(parameters.getAxisDirection());
+      reference.setSectorAngle(parameters.getSectorAngle());
+      reference.setStartDirection(parameters.getStartDirection());
+      reference.setSemiAxis1Length(parameters.getSemiAxis1Length());
+      reference.setSemiAxis2Length(parameters.getSemiAxis2Length());
+      reference.setMaxPointCount(parameters.getMaxPointCount());
+      reference.setMaxSegmentLength(parameters.getMaxSegmentLength());
+      reference.setLinearUnit(parameters.getLinearUnit());
+      reference.setAngularUnit(parameters.getAngularUnit());
+      return new Template(GeometryEngine.sectorGeodesic(reference));
+    });
+    return template.place(parameters.getCenter());
+  }
+
+  /**
+   * Creates a geodesic ellipse like {@link GeometryEngine#ellipseGeodesic(GeodesicEllipseParameters)}, from the cached
+   * template for its parameters if there is one.
+   *
+   * @param parameters the ellipse parameters
+   * @return the ellipse, in the spatial reference of its center
+   */
+  public Geometry ellipseGeodesic(GeodesicEllipseParameters parameters) {
+    String key = "ellipse:" + parameters.getGeometryType() + "," + parameters.getAxisDirection() + "," +
+      parameters.getSemiAxis1Length() + "," + parameters.getSemiAxis2Length() + "," + parameters.getMaxPointCount() +
+      "," + parameters.getMaxSegmentLength() + "," + parameters.getLinearUnit().getWkid() + "," +
+      parameters.getAngularUnit().getWkid();
+
+    Template template = getTemplate(key, () -> {
+      GeodesicEllipseParameters reference = new GeodesicEllipseParameters();
+      reference.setCenter(REFERENCE_CENTER);
+      reference.setGeometryType(parameters.getGeometryType());
+      reference.setAxisDirection(parameters.getAxisDirection());
+      reference.setSemiAxis1Length(parameters.getSemiAxis1Length());
+      reference.setSemiAxis2Length(parameters.getSemiAxis2Length());
+      reference.setMaxPointCount(parameters.getMaxPointCount());
+      reference.setMaxSegmentLength(parameters.getMaxSegmentLength());
+      reference.setLinearUnit(parameters.getLinearUnit());
+      reference.setAngularUnit(parameters.getAngularUnit());
+      return new Template(GeometryEngine.ellipseGeodesic(reference));
+    });
+    return template.place(parameters.getCenter());
+  }
+
+  /**
+   * Gets a template from the cache, creating it if it isn't there.
+   */
+  private Template getTemplate(String key, Supplier<Template> create) {
+    Template template;
+    synchronized (templates) {
+      template = templates.get(key);
+    }
+    if (template == null) {
+      template = create.get();
+      synchronized (templates) {
+        templates.put(key, template);
+      }
+    }
+    return template;
+  }
+
+  /**
+   * The vertices of a shape as offsets from its center. Each vertex is stored as the sine and cosine of its angular
+   * distance from the center and of its azimuth, four values per vertex, so that placing it needs no more trigonometry
+   * than an arcsine and an arctangent.
+   */
+  private static class Template {
+
+    private final GeometryType geometryType;
+    private final double[][] parts;
+
+    private Template(Geometry shape) {
+      geometryType = shape.getGeometryType();
+      if (shape instanceof Multipoint) {
+        ImmutablePointCollection points = ((Multipoint) shape).getPoints();
+        parts = new double[1][];
+        parts[0] = new double[4 * points.size()];
+        for (int i = 0; i < points.size(); i++) {
+          setOffset(parts[0], i, points.get(i));
+        }
+      } else {
+        Multipart multipart = (Multipart) shape;
+        parts = new double[multipart.getParts().size()][];
+        for (int p = 0; p < parts.length; p++) {
+          ImmutablePart part = multipart.getParts().get(p);
+          parts[p] = new double[4 * part.getPointCount()];
+          for (int i = 0; i < part.getPointCount(); i++) {
+            setOffset(parts[p], i, part.getPoint(i));
+          }
+        }
+      }
+    }
+
+    /**
+     * Stores the offset of a vertex from the reference center at 0, 0.
+     */
+    private static void setOffset(double[] offsets, int i, Point vertex) {
+      double longitude = Math.toRadians(vertex.getX());
+      double latitude = Math.toRadians(vertex.getY());
+      // haversine distance, which stays accurate for vertices close to the center
+      double distance = 2 * Math.asin(Math.min(1, Math.sqrt(Math.pow(Math.sin(latitude / 2), 2) +
+        Math.cos(latitude) * Math.pow(Math.sin(longitude / 2), 2))));
+      double azimuth = Math.atan2(Math.cos(latitude) * Math.sin(longitude), Math.sin(latitude));
+      offsets[4 * i] = Math.sin(distance);
+      offsets[4 * i + 1] = Math.cos(distance);
+      offsets[4 * i + 2] = Math.sin(azimuth);
+      offsets[4 * i + 3] = Math.cos(azimuth);
+    }
+
+    /**
+     * Places the shape at a center.
+     */
+    private Geometry place(Point center) {
+      SpatialReference spatialReference = center.getSpatialReference();
+      boolean isWgs84 = WGS84.equals(spatialReference);
+      Point wgs84Center = isWgs84 ? center : (Point) GeometryEngine.project(center, WGS84);
+
+      double longitude = Math.toRadians(wgs84Center.getX());
+      double latitude = Math.toRadians(wgs84Center.getY());
+      double sinLatitude = Math.sin(latitude);
+      double cosLatitude = Math.cos(latitude);
+
+      PartCollection partCollection = new PartCollection(WGS84);
+      PointCollection multipointPoints = new PointCollection(WGS84);
+      for (double[] offsets : parts) {
+        PointCollection points = geometryType == GeometryType.MULTIPOINT ? multipointPoints : new PointCollection(WGS84);
+        for (int i = 0; i < offsets.length / 4; i++) {
+          double sinDistance = offsets[4 * i];
+          double cosDistance = offsets[4 * i + 1];
+          double sinPlacedLatitude = sinLatitude * cosDistance + cosLatitude * sinDistance * offsets[4 * i + 3];
+          double placedLongitude = longitude + Math.atan2(offsets[4 * i + 2] * sinDistance * cosLatitude,
+            cosDistance - sinLatitude * sinPlacedLatitude);
+          points.add(Math.toDegrees(placedLongitude), Math.toDegrees(Math.asin(sinPlacedLatitude)));
+        }
+        if (geometryType != GeometryType.MULTIPOINT) {
+          partCollection.add(new Part(points));
+        }
+      }
+
+      Geometry placed;
+      switch (geometryType) {
+        case MULTIPOINT:
+          placed = new Multipoint(multipointPoints);
+          break;
+        case POLYLINE:
+          placed = new Polyline(partCollection);
+          break;
+        default:
+          placed = new Polygon(partCollection);
+          break;
+      }
+      return isWgs84 ? placed : GeometryEngine.project(placed, spatialReference);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.geometry_engine_simplify;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+
+import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
+import com.esri.arcgisruntime.data.Feature;
+import com.esri.arcgisruntime.data.FeatureCollectionTable;
+import com.esri.arcgisruntime.data.FeatureTable;
+import com.esri.arcgisruntime.data.Field;
+import com.esri.arcgisruntime.data.QueryParameters;
+import com.esri.arcgisruntime.data.ShapefileFeatureTable;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.GeometryType;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.PointCollection;
+import com.esri.arcgisruntime.geometry.Polygon;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+
+/**
+ * Validates a shapefile with {@link SimplifyValidationPipeline} without showing a UI, printing its report and how many
+ * features per second it checks compared with checking and simplifying them one at a time.
+ *
+ * <p>When no shapefile is given, random polygons are used, one in ten of which crosses itself.
+ *
+ * <p>Usage: {@code SimplifyValidationBenchmark [shapefile path, or -] [threads] [copy simple features: true|false]}
+ */
+public class SimplifyValidationBenchmark {
+
+  // number of random polygons when no shapefile is given
+  private static final int RANDOM_POLYGON_COUNT = 100000;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args optional shapefile path, thread count and whether to copy the simple features to the output
+   */
+  public static void main(String[] args) throws Exception {
+
+    String shapefilePath = args.length > 0 && !args[0].equals("-") ? args[0] : null;
+    int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+    boolean copySimpleFeatures = args.length > 2 && Boolean.parseBoolean(args[2]);
+
+    // the geometry engine needs the runtime, but not a map view
+    ArcGISRuntimeEnvironment.initialize();
+
+    FeatureTable source = shapefilePath != null ? openShapefile(shapefilePath) : createRandomPolygons();
+    System.out.printf("%d features%n", source.getTotalFeatureCount());
+
+    // check and simplify every feature one at a time
+    QueryParameters queryParameters = new QueryParameters();
+    queryParameters.setWhereClause("1=1");
+    long start = System.nanoTime();
+    long notSimple = 0;
+    for (Feature feature : source.queryFeaturesAsync(queryParameters).get()) {
+      Geometry geometry = feature.getGeometry();
+      if (geometry != null && !geometry.isEmpty() && !GeometryEngine.isSimple(geometry)) {
+        GeometryEngine.simplify(geometry);
+        notSimple++;
+      }
+    }
+    report("one at a time", start, source.getTotalFeatureCount());
+    System.out.printf("    Not simple: %d%n", notSimple);
+
+    // validate with the pipeline
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      SimplifyValidationPipeline pipeline = new SimplifyValidationPipeline(256, copySimpleFeatures);
+      FeatureCollectionTable output = SimplifyValidationPipeline.createOutputTable(source);
+      start = System.nanoTime();
+      pipeline.run(source, output, pool);
+      report("pipeline, " + threads + " threads", start, source.getTotalFeatureCount());
+      System.out.println(pipeline.getReport().replaceAll("(?m)^", "    "));
+    } finally {
+      pool.shutdown();
+    }
+
+    ArcGISRuntimeEnvironment.dispose();
+  }
+
+  /**
+   * Opens a shapefile and waits for it to load, throwing its load error if it fails.
+   */
+  private static FeatureTable openShapefile(String path) throws Exception {
+    ShapefileFeatureTable shapefileFeatureTable = new ShapefileFeatureTable(path);
+    CountDownLatch loaded = new CountDownLatch(1);
+    shapefileFeatureTable.addDoneLoadingListener(loaded::countDown);
+    shapefileFeatureTable.loadAsync();
+    loaded.await();
+    if (shapefileFeatureTable.getLoadError() != null) {
+      throw shapefileFeatureTable.getLoadError();
+    }
+    return shapefileFeatureTable;
+  }
+
+  /**
+   * Creates a table of random quadrilaterals, with the last two vertices of every tenth one swapped so that its edges
+   * cross.
+   */
+  private static FeatureTable createRandomPolygons() throws Exception {
+    FeatureCollectionTable table = new FeatureCollectionTable(new ArrayList<Field>(), GeometryType.POLYGON,
+      SpatialReferences.getWebMercator());
+    Random random = new Random(42);
+    List<Feature> features = new ArrayList<>();
+    for (int i = 0; i < RANDOM_POLYGON_COUNT; i++) {
+      double x = random.nextDouble() * 1000000;
+      double y = random.nextDouble() * 1000000;
+      double size = 100 + random.nextDouble() * 1000;
+      PointCollection points = new PointCollection(SpatialReferences.getWebMercator());
+      points.add(new Point(x, y));
+      points.add(new Point(x + size, y));
+      if (i % 10 == 0) {
+        points.add(new Point(x, y + size));
+        points.add(new Point(x + size, y + size));
+      } else {
+        points.add(new Point(x + size, y + size));
+        points.add(new Point(x, y + size));
+      }
+      features.add(table.createFeature(new HashMap<>(), new Polygon(points)));
+    }
+    table.addFeaturesAsync(features).get();
+    return table;
+  }
+
+  /**
+   * Prints the time since a start time and the feature throughput.
+   */
+  private static void report(String method, long start, long featureCount) {
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("  %-24s %8.2f s %10.0f features/s%n", method, seconds, featureCount / seconds);
+  }
+}
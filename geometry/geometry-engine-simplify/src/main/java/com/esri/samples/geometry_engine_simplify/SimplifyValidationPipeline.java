@@ -0,0 +1,276 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.geometry_engine_simplify;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.esri.arcgisruntime.data.Feature;
+import com.esri.arcgisruntime.data.FeatureCollectionTable;
+import com.esri.arcgisruntime.data.FeatureQueryResult;
+import com.esri.arcgisruntime.data.FeatureTable;
+import com.esri.arcgisruntime.data.Field;
+import com.esri.arcgisruntime.data.QueryParameters;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+
+/**
+ * Validates every feature of a feature table, such as a shapefile, checking that its geometry is topologically simple
+ * and simplifying only the geometries that aren't. The repaired features are written to a feature collection table,
+ * with a summary of the offenders kept for a report.
+ *
+ * <p>Features are read as a stream and checked in batches on a pool, with only a few batches in memory at a time. The
+ * output table can take a copy of every feature, or only the repaired ones to keep it small; either way it keeps the
+ * object ID of each feature's source in a {@link #SOURCE_ID_FIELD} field. A full copy includes the features without a
+ * geometry or with an empty one, passed through unchanged.
+ */
+public class SimplifyValidationPipeline {
+
+  /**
+   * Name of the output field holding the object ID of the source feature.
+   */
+  public static final String SOURCE_ID_FIELD = "SOURCE_ID";
+
+  // number of offending object ID ranges listed in the report
+  private static final int REPORTED_RANGES = 20;
+
+  private final int batchSize;
+  private final boolean copySimpleFeatures;
+
+  private final LongAdder featuresRead = new LongAdder();
+  private final LongAdder emptyGeometries = new LongAdder();
+  private final LongAdder featuresRepaired = new LongAdder();
+  private final LongAdder featuresNotRepaired = new LongAdder();
+  private final LongAdder featuresWritten = new LongAdder();
+  private final BitSet offenderIds = new BitSet();
+
+  /**
+   * Creates a pipeline.
+   *
+   * @param batchSize number of features checked together and written to the output table at once
+   * @param copySimpleFeatures whether to write the features that are already simple, or have no geometry to check, to
+   *     the output table too, making it a full repaired copy instead of only the repairs
+   */
+  public SimplifyValidationPipeline(int batchSize, boolean copySimpleFeatures) {
+    this.batchSize = batchSize;
+    this.copySimpleFeatures = copySimpleFeatures;
+  }
+
+  /**
+   * Creates a feature collection table for the repaired features, with the source table's fields other than its object
+   * ID and global ID, and a field for the source object ID.
+   *
+   * @param source loaded table that will be validated
+   * @return the output table
+   */
+  public static FeatureCollectionTable createOutputTable(FeatureTable source) {
+    List<Field> fields = new ArrayList<>();
+    for (Field field : source.getFields()) {
+      if (field.getFieldType() != Field.Type.OID && field.getFieldType() != Field.Type.GLOBALID) {
+        fields.add(field);
+      }
+    }
+    fields.add(Field.createInteger(SOURCE_ID_FIELD, "Source object ID"));
+    return new FeatureCollectionTable(fields, source.getGeometryType(), source.getSpatialReference());
+  }
+
+  /**
+   * Validates every feature of a loaded source table, writing the repaired features to the output table as they are
+   * made. Blocks until every feature has been validated and written.
+   *
+   * @param source table to read the features from
+   * @param output table to write the features to, as created by {@link #createOutputTable(FeatureTable)}
+   * @param pool pool to validate the batches on
+   * @throws InterruptedException if interrupted while waiting for the features or batches
+   * @throws ExecutionException if reading, simplifying or writing fails
+   */
+  public void run(FeatureTable source, FeatureCollectionTable output, ForkJoinPool pool)
+    throws InterruptedException, ExecutionException {
+
+    // find the object ID field, and the fields the output table doesn't copy
+    String objectIdField = null;
+    Set<String> excludedFields = new HashSet<>();
+    for (Field field : source.getFields()) {
+      if (field.getFieldType() == Field.Type.OID) {
+        objectIdField = field.getName();
+      }
+      if (field.getFieldType() == Field.Type.OID || field.getFieldType() == Field.Type.GLOBALID) {
+        excludedFields.add(field.getName());
+      }
+    }
+
+    QueryParameters queryParameters = new QueryParameters();
+    queryParameters.setWhereClause("1=1");
+    FeatureQueryResult features = source.queryFeaturesAsync(queryParameters).get();
+
+    // keep at most two batches per thread in memory, waiting for the oldest before reading further
+    int maxBatches = 2 * pool.getParallelism();
+    Deque<Future<?>> batches = new ArrayDeque<>();
+    List<Feature> batch = new ArrayList<>(batchSize);
+    int sourceIndex = 0;
+    for (Feature feature : features) {
+      batch.add(feature);
+      featuresRead.increment();
+      if (batch.size() == batchSize) {
+        submitBatch(batch, objectIdField, excludedFields, sourceIndex - batchSize + 1, output, pool, batches,
+          maxBatches);
+        batch = new ArrayList<>(batchSize);
+      }
+      sourceIndex++;
+    }
+    if (!batch.isEmpty()) {
+      submitBatch(batch, objectIdField, excludedFields, sourceIndex - batch.size(), output, pool, batches,
+        maxBatches);
+    }
+    while (!batches.isEmpty()) {
+      batches.removeFirst().get();
+    }
+  }
+
+  /**
+   * Returns a compact report of the validation: the number of features read, repaired and written, and the object IDs
+   * of the features that weren't simple, as ranges.
+   *
+   * @return the report
+   */
+  public String getReport() {
+    StringBuilder report = new StringBuilder();
+    report.append("Features read: ").append(featuresRead.sum())
+      .append("\nEmpty geometries: ").append(emptyGeometries.sum())
+      .append(copySimpleFeatures ? " (passed through)" : " (skipped)")
+      .append("\nNot simple: ").append(featuresRepaired.sum() + featuresNotRepaired.sum())
+      .append(" (repaired ").append(featuresRepaired.sum())
+      .append(", still not simple ").append(featuresNotRepaired.sum()).append(")")
+      .append("\nFeatures written: ").append(featuresWritten.sum());
+
+    synchronized (offenderIds) {
+      if (!offenderIds.isEmpty()) {
+        report.append("\nOffending object IDs: ");
+        int ranges = 0;
+        int start = offenderIds.nextSetBit(0);
+        while (start >= 0 && ranges < REPORTED_RANGES) {
+          int end = offenderIds.nextClearBit(start) - 1;
+          report.append(ranges > 0 ? ", " : "").append(start).append(end > start ? "-" + end : "");
+          ranges++;
+          start = offenderIds.nextSetBit(end + 1);
+        }
+        if (start >= 0) {
+          report.append(", ...");
+        }
+      }
+    }
+    return report.toString();
+  }
+
+  /**
+   * Submits a batch to the pool, first waiting for the oldest batch if too many are in progress.
+   */
+  private void submitBatch(List<Feature> batch, String objectIdField, Set<String> excludedFields,
+                           int firstSourceIndex, FeatureCollectionTable output, ForkJoinPool pool,
+                           Deque<Future<?>> batches, int maxBatches)
+    throws InterruptedException, ExecutionException {
+
+    if (batches.size() >= maxBatches) {
+      batches.removeFirst().get();
+    }
+    batches.addLast(pool.submit(() -> {
+      validateBatch(batch, objectIdField, excludedFields, firstSourceIndex, output);
+      return null;
+    }));
+  }
+
+  /**
+   * Checks a batch of features, simplifies the ones that aren't simple and writes them to the output table.
+   */
+  private void validateBatch(List<Feature> batch, String objectIdField, Set<String> excludedFields,
+                             int firstSourceIndex, FeatureCollectionTable output)
+    throws InterruptedException, ExecutionException {
+
+    List<Geometry> outputGeometries = new ArrayList<>();
+    List<Map<String, Object>> outputAttributes = new ArrayList<>();
+    for (int i = 0; i < batch.size(); i++) {
+      Feature feature = batch.get(i);
+      Geometry geometry = feature.getGeometry();
+      // without an object ID field, identify features by their position in the table
+      int sourceId = objectIdField != null ? ((Number) feature.getAttributes().get(objectIdField)).intValue() :
+        firstSourceIndex + i;
+
+      if (geometry == null || geometry.isEmpty()) {
+        emptyGeometries.increment();
+        if (copySimpleFeatures) {
+          // there is nothing to check, but a full copy keeps the feature and its attributes
+          outputGeometries.add(geometry);
+          outputAttributes.add(copyAttributes(feature, excludedFields, sourceId));
+        }
+        continue;
+      }
+      if (GeometryEngine.isSimple(geometry)) {
+        if (copySimpleFeatures) {
+          outputGeometries.add(geometry);
+          outputAttributes.add(copyAttributes(feature, excludedFields, sourceId));
+        }
+        continue;
+      }
+
+      synchronized (offenderIds) {
+        offenderIds.set(sourceId);
+      }
+      Geometry simplified = GeometryEngine.simplify(geometry);
+      if (simplified != null && !simplified.isEmpty() && GeometryEngine.isSimple(simplified)) {
+        featuresRepaired.increment();
+      } else {
+        featuresNotRepaired.increment();
+      }
+      if (simplified != null || copySimpleFeatures) {
+        // a full copy keeps the original geometry if it couldn't be simplified at all
+        outputGeometries.add(simplified != null ? simplified : geometry);
+        outputAttributes.add(copyAttributes(feature, excludedFields, sourceId));
+      }
+    }
+
+    // create and add the features for the batch in one edit
+    synchronized (output) {
+      List<Feature> outputFeatures = new ArrayList<>(outputGeometries.size());
+      for (int i = 0; i < outputGeometries.size(); i++) {
+        outputFeatures.add(output.createFeature(outputAttributes.get(i), outputGeometries.get(i)));
+      }
+      output.addFeaturesAsync(outputFeatures).get();
+      featuresWritten.add(outputFeatures.size());
+    }
+  }
+
+  /**
+   * Copies a feature's attributes for the output table, replacing its object ID and global ID with the source ID field.
+   */
+  private static Map<String, Object> copyAttributes(Feature feature, Set<String> excludedFields, int sourceId) {
+    Map<String, Object> attributes = new HashMap<>(feature.getAttributes());
+    attributes.keySet().removeAll(excludedFields);
+    attributes.put(SOURCE_ID_FIELD, sourceId);
+    return attributes;
+  }
+}
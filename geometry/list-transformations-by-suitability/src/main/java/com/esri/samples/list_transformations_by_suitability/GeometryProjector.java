@@ -0,0 +1,204 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.list_transformations_by_suitability;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import com.esri.arcgisruntime.geometry.DatumTransformation;
+import com.esri.arcgisruntime.geometry.Envelope;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+import com.esri.arcgisruntime.geometry.TransformationCatalog;
+
+/**
+ * Projects geometries, caching the datum transformations found for each pair of spatial references and area of
+ * interest, and keeps hit rate and latency statistics. Lists of geometries can be projected in parallel.
+ *
+ * <p>Areas of interest are snapped outward to a grid in the spatial reference projected to before they are looked up,
+ * so that areas which differ by a small pan or zoom, such as successive visible areas of a map view, share a cache
+ * entry. The grid's cells are a power of two in size, with four to eight of them across the larger side of the area.
+ */
+public class GeometryProjector {
+
+  // number of transformation lists kept in the cache
+  private static final int CACHE_SIZE = 64;
+  // fewest grid cells across the larger side of an area of interest, before it is snapped outward
+  private static final int GRID_CELLS_ACROSS = 4;
+
+  private final Map<String, List<DatumTransformation>> transformationCache =
+    new LinkedHashMap<String, List<DatumTransformation>>(CACHE_SIZE, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, List<DatumTransformation>> eldest) {
+        return size() > CACHE_SIZE;
+      }
+    };
+
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
+  private final LongAdder lookupNanos = new LongAdder();
+  private final LongAdder geometriesProjected = new LongAdder();
+  private final LongAdder projectNanos = new LongAdder();
+
+  /**
+   * Gets the transformations between two spatial references, ordered by suitability, from the cache if they have been
+   * found before.
+   *
+   * @param from spatial reference to project from
+   * @param to spatial reference to project to
+   * @param areaOfInterest area the transformations should suit, or null for the whole of the spatial references; it is
+   *     snapped outward to the cache's grid
+   * @return the transformations, most suitable first
+   */
+  public List<DatumTransformation> getTransformationsBySuitability(SpatialReference from, SpatialReference to,
+                                                                   Envelope areaOfInterest) {
+    long start = System.nanoTime();
+    Envelope snappedArea = areaOfInterest == null ? null : snapToGrid(areaOfInterest, to);
+    String key = key(from) + ">" + key(to) + (snappedArea == null ? "" : "@" + snappedArea.getXMin() + "," +
+      snappedArea.getYMin() + "," + snappedArea.getXMax() + "," + snappedArea.getYMax() + "," +
+      key(snappedArea.getSpatialReference()));
+
+    List<DatumTransformation> transformations;
+    synchronized (transformationCache) {
+      transformations = transformationCache.get(key);
+    }
+    if (transformations != null) {
+      cacheHits.increment();
+    } else {
+      cacheMisses.increment();
+      transformations = Collections.unmodifiableList(snappedArea == null ?
+        TransformationCatalog.getTransformationsBySuitability(from, to) :
+        TransformationCatalog.getTransformationsBySuitability(from, to, snappedArea));
+      synchronized (transformationCache) {
+        transformationCache.put(key, transformations);
+      }
+    }
+    lookupNanos.add(System.nanoTime() - start);
+    return transformations;
+  }
+
+  /**
+   * Gets the most suitable transformation between two spatial references that has the projection engine files it
+   * needs, from the cache if it has been found before.
+   *
+   * @param from spatial reference to project from
+   * @param to spatial reference to project to
+   * @param areaOfInterest area the transformation should suit, or null for the whole of the spatial references
+   * @return the most suitable usable transformation, or null if none is needed or none is available
+   */
+  public DatumTransformation getTransformation(SpatialReference from, SpatialReference to, Envelope areaOfInterest) {
+    for (DatumTransformation transformation : getTransformationsBySuitability(from, to, areaOfInterest)) {
+      if (!transformation.isMissingProjectionEngineFiles()) {
+        return transformation;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Projects a geometry with the given transformation.
+   *
+   * @param geometry geometry to project
+   * @param to spatial reference to project to
+   * @param transformation transformation to use, or null to let the geometry engine choose
+   * @return the projected geometry
+   */
+  public Geometry project(Geometry geometry, SpatialReference to, DatumTransformation transformation) {
+    long start = System.nanoTime();
+    Geometry projected = transformation == null ? GeometryEngine.project(geometry, to) :
+      GeometryEngine.project(geometry, to, transformation);
+    geometriesProjected.increment();
+    projectNanos.add(System.nanoTime() - start);
+    return projected;
+  }
+
+  /**
+   * Projects a list of geometries in parallel on the given pool, with the same transformation for all of them.
+   *
+   * @param geometries geometries to project
+   * @param to spatial reference to project to
+   * @param transformation transformation to use, or null to let the geometry engine choose
+   * @param pool pool to project on
+   * @return the projected geometries, in the same order
+   * @throws InterruptedException if interrupted while waiting for the projections
+   * @throws ExecutionException if a projection fails
+   */
+  public List<Geometry> projectAll(List<? extends Geometry> geometries, SpatialReference to,
+                                   DatumTransformation transformation, ForkJoinPool pool)
+    throws InterruptedException, ExecutionException {
+    return pool.submit(() -> geometries.parallelStream()
+      .map(geometry -> project(geometry, to, transformation))
+      .collect(Collectors.toList()))
+      .get();
+  }
+
+  /**
+   * Returns a summary of the transformation cache hit rate and the average lookup and projection times.
+   *
+   * @return the statistics
+   */
+  public String getStatistics() {
+    long hits = cacheHits.sum();
+    long lookups = hits + cacheMisses.sum();
+    long projected = geometriesProjected.sum();
+    return "Transformation cache hits: " + hits + " of " + lookups + " lookups" +
+      "\nAverage lookup: " + (lookups == 0 ? 0 : lookupNanos.sum() / lookups / 1000) + " microseconds" +
+      "\nGeometries projected: " + projected +
+      "\nAverage projection: " + (projected == 0 ? 0 : projectNanos.sum() / projected / 1000) + " microseconds";
+  }
+
+  /**
+   * Snaps an area outward to a grid in the given spatial reference, projecting it there first if needed. The grid's
+   * cells are the largest power of two in size that fits at least the minimum number of them across the larger side of
+   * the area.
+   *
+   * @param areaOfInterest area to snap
+   * @param to spatial reference of the grid
+   * @return the snapped area, or the area unchanged if it has no size
+   */
+  private static Envelope snapToGrid(Envelope areaOfInterest, SpatialReference to) {
+    Envelope area = to == null || to.equals(areaOfInterest.getSpatialReference()) ? areaOfInterest :
+      GeometryEngine.project(areaOfInterest, to).getExtent();
+
+    double size = Math.max(area.getWidth(), area.getHeight());
+    double cellSize = Math.pow(2, Math.floor(Math.log(size / GRID_CELLS_ACROSS) / Math.log(2)));
+    if (!(cellSize > 0) || Double.isInfinite(cellSize)) {
+      return area;
+    }
+    return new Envelope(Math.floor(area.getXMin() / cellSize) * cellSize,
+      Math.floor(area.getYMin() / cellSize) * cellSize, Math.ceil(area.getXMax() / cellSize) * cellSize,
+      Math.ceil(area.getYMax() / cellSize) * cellSize, area.getSpatialReference());
+  }
+
+  /**
+   * Gets a key identifying a spatial reference, by its WKID or, for custom spatial references, its well-known text.
+   */
+  private static String key(SpatialReference spatialReference) {
+    if (spatialReference == null) {
+      return "";
+    }
+    return spatialReference.getWkid() != 0 ? Integer.toString(spatialReference.getWkid()) :
+      spatialReference.getWKText();
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.list_transformations_by_suitability;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
+import com.esri.arcgisruntime.geometry.DatumTransformation;
+import com.esri.arcgisruntime.geometry.Envelope;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+
+/**
+ * Measures how many geometries per second {@link GeometryProjector} projects from the British National Grid to Web
+ * Mercator, one at a time and in parallel with {@link GeometryProjector#projectAll}, without showing a UI. It also
+ * looks up the transformations for a series of visible areas panned and zoomed around Greenwich, as the sample does,
+ * to show the cache hit rate with snapped areas of interest.
+ *
+ * <p>Usage: {@code GeometryProjectorBenchmark [geometries] [rounds] [threads]}. All processors are used by default.
+ */
+public class GeometryProjectorBenchmark {
+
+  // number of visible areas looked up
+  private static final int LOOKUPS = 1000;
+  // the Greenwich observatory in Web Mercator
+  private static final double GREENWICH_X = -170;
+  private static final double GREENWICH_Y = 6711650;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args optional number of geometries, number of rounds and number of threads for the parallel projection
+   */
+  public static void main(String[] args) throws Exception {
+
+    int geometryCount = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+    int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+    int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+    // the projections need the runtime, but not a map view
+    ArcGISRuntimeEnvironment.initialize();
+
+    SpatialReference britishNationalGrid = SpatialReference.create(27700);
+    SpatialReference webMercator = SpatialReferences.getWebMercator();
+    GeometryProjector projector = new GeometryProjector();
+
+    // visible areas of about 5 km around Greenwich, panned and zoomed a little each time
+    Random random = new Random(42);
+    long start = System.nanoTime();
+    for (int i = 0; i < LOOKUPS; i++) {
+      double size = 5000 * (1 + random.nextDouble() * 0.5);
+      double x = GREENWICH_X + (random.nextDouble() - 0.5) * size * 0.2;
+      double y = GREENWICH_Y + (random.nextDouble() - 0.5) * size * 0.2;
+      projector.getTransformationsBySuitability(britishNationalGrid, webMercator,
+        new Envelope(x - size / 2, y - size / 2, x + size / 2, y + size / 2, webMercator));
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("%d visible area lookups: %.0f lookups/s%n", LOOKUPS, LOOKUPS / seconds);
+
+    DatumTransformation transformation = projector.getTransformation(britishNationalGrid, webMercator, null);
+    System.out.printf("Transformation: %s%n", transformation == null ? "chosen by the geometry engine" :
+      transformation.getName());
+
+    // points anywhere in Great Britain
+    List<Geometry> geometries = new ArrayList<>(geometryCount);
+    for (int i = 0; i < geometryCount; i++) {
+      geometries.add(new Point(random.nextDouble() * 700000, random.nextDouble() * 1300000, britishNationalGrid));
+    }
+    System.out.printf("%d points, %d rounds%n", geometryCount, rounds);
+
+    start = System.nanoTime();
+    for (int round = 0; round < rounds; round++) {
+      for (Geometry geometry : geometries) {
+        projector.project(geometry, webMercator, transformation);
+      }
+    }
+    report("one at a time", start, (long) geometryCount * rounds);
+
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      start = System.nanoTime();
+      for (int round = 0; round < rounds; round++) {
+        projector.projectAll(geometries, webMercator, transformation, pool);
+      }
+      report("projectAll, " + threads + " threads", start, (long) geometryCount * rounds);
+    } finally {
+      pool.shutdown();
+    }
+
+    System.out.println(projector.getStatistics());
+
+    ArcGISRuntimeEnvironment.dispose();
+  }
+
+  /**
+   * Prints the time since a start time with the projection throughput.
+   */
+  private static void report(String method, long start, long geometryCount) {
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("  %-24s %8.2f s %12.0f geometries/s%n", method, seconds, geometryCount / seconds);
+  }
+}
@@ -25,6 +25,7 @@ import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
 import javafx.scene.control.ListCell;
 import javafx.scene.control.ListView;
 import javafx.scene.layout.Background;
@@ -37,10 +38,8 @@ import javafx.stage.Stage;
 
 import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
 import com.esri.arcgisruntime.geometry.DatumTransformation;
-import com.esri.arcgisruntime.geometry.GeometryEngine;
 import com.esri.arcgisruntime.geometry.Point;
 import com.esri.arcgisruntime.geometry.SpatialReference;
-import com.esri.arcgisruntime.geometry.TransformationCatalog;
 import com.esri.arcgisruntime.mapping.ArcGISMap;
 import com.esri.arcgisruntime.mapping.BasemapStyle;
 import com.esri.arcgisruntime.mapping.view.Graphic;
@@ -120,20 +119,21 @@ public class ListTransformationsBySuitabilitySample extends Application {
 
       });
 
+      // create a projector to cache the transformations found for each spatial reference pair and extent
+      GeometryProjector projector = new GeometryProjector();
+      Label statisticsLabel = new Label(projector.getStatistics());
+
       // if the checkbox is not selected, transformations should be ordered by suitability for the whole
       // spatial reference. If checked, then transformations will be ordered by suitability for the map extent.
       CheckBox suitabilityCheckBox = new CheckBox("Order by extent suitability");
       suitabilityCheckBox.setOnAction(e -> {
         transformationsListView.getItems().clear();
-        List<DatumTransformation> transformations;
-        if (suitabilityCheckBox.isSelected()) {
-          transformations = TransformationCatalog.getTransformationsBySuitability(
-            originalGraphic.getGeometry().getSpatialReference(), map.getSpatialReference(), mapView.getVisibleArea().getExtent());
-        } else {
-          transformations = TransformationCatalog.getTransformationsBySuitability(
-            originalGraphic.getGeometry().getSpatialReference(), map.getSpatialReference());
-        }
+        // the projector only asks the transformation catalog the first time for each extent
+        List<DatumTransformation> transformations = projector.getTransformationsBySuitability(
+          originalGraphic.getGeometry().getSpatialReference(), map.getSpatialReference(),
+          suitabilityCheckBox.isSelected() ? mapView.getVisibleArea().getExtent() : null);
         transformationsListView.getItems().addAll(transformations);
+        statisticsLabel.setText(projector.getStatistics());
       });
 
       // trigger the event to load the initial transformations list when the map is loaded
@@ -144,10 +144,11 @@ public class ListTransformationsBySuitabilitySample extends Application {
       transformButton.setOnAction(e -> {
         DatumTransformation transformation = transformationsListView.getSelectionModel().getSelectedItem();
         if (transformation != null) {
-          Point projectedPoint = (Point) GeometryEngine.project(originalGraphic.getGeometry(), mapView.getSpatialReference(),
+          Point projectedPoint = (Point) projector.project(originalGraphic.getGeometry(), mapView.getSpatialReference(),
             transformation);
           transformedGraphic.setVisible(true);
           transformedGraphic.setGeometry(projectedPoint);
+          statisticsLabel.setText(projector.getStatistics());
         }
       });
 
@@ -158,7 +159,7 @@ public class ListTransformationsBySuitabilitySample extends Application {
       controlsVBox.setPadding(new Insets(10.0));
       controlsVBox.setMaxSize(300, 500);
       controlsVBox.getStyleClass().add("panel-region");
-      controlsVBox.getChildren().addAll(suitabilityCheckBox, transformationsListView, transformButton);
+      controlsVBox.getChildren().addAll(suitabilityCheckBox, transformationsListView, transformButton, statisticsLabel);
 
       // add the map view to stack pane
       stackPane.getChildren().addAll(mapView, controlsVBox);
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.nearest_vertex;
+
+import java.util.Random;
+
+import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.PointCollection;
+import com.esri.arcgisruntime.geometry.Polygon;
+import com.esri.arcgisruntime.geometry.ProximityResult;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+
+/**
+ * Compares the number of nearest vertex and nearest coordinate queries per second answered by {@link VertexIndex} and
+ * by the geometry engine, on a jagged polygon with many vertices, without showing a UI.
+ *
+ * <p>Usage: {@code NearestVertexBenchmark [vertices] [queries]}
+ */
+public class NearestVertexBenchmark {
+
+  // radius of the polygon, in meters
+  private static final double RADIUS = 1000000;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args optional number of polygon vertices and number of queries
+   */
+  public static void main(String[] args) {
+
+    int vertexCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+    int queryCount = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+
+    // the geometry engine needs the runtime, but not a map view
+    ArcGISRuntimeEnvironment.initialize();
+
+    // create a polygon with jagged edges by varying the radius of points around a circle
+    SpatialReference webMercator = SpatialReferences.getWebMercator();
+    Random random = new Random(42);
+    PointCollection points = new PointCollection(webMercator);
+    for (int i = 0; i < vertexCount; i++) {
+      double angle = 2 * Math.PI * i / vertexCount;
+      double radius = RADIUS * (0.9 + 0.1 * random.nextDouble());
+      points.add(new Point(radius * Math.cos(angle), radius * Math.sin(angle)));
+    }
+    Polygon polygon = new Polygon(points);
+
+    // query points inside and around the polygon
+    Point[] queries = new Point[queryCount];
+    for (int i = 0; i < queryCount; i++) {
+      queries[i] = new Point((random.nextDouble() - 0.5) * 3 * RADIUS, (random.nextDouble() - 0.5) * 3 * RADIUS,
+        webMercator);
+    }
+
+    long start = System.nanoTime();
+    VertexIndex vertexIndex = new VertexIndex(polygon);
+    System.out.printf("%d vertices, index built in %.0f ms%n", vertexCount, (System.nanoTime() - start) / 1e6);
+
+    // time the geometry engine calls
+    double[] engineDistances = new double[2 * queryCount];
+    start = System.nanoTime();
+    for (int i = 0; i < queryCount; i++) {
+      ProximityResult nearestVertex = GeometryEngine.nearestVertex(polygon, queries[i]);
+      ProximityResult nearestCoordinate = GeometryEngine.nearestCoordinate(polygon, queries[i]);
+      engineDistances[2 * i] = nearestVertex.getDistance();
+      engineDistances[2 * i + 1] = nearestCoordinate.getDistance();
+    }
+    report("geometry engine", start, queryCount);
+
+    // time the index, checking it finds the same distances
+    double[] indexDistances = new double[2 * queryCount];
+    start = System.nanoTime();
+    for (int i = 0; i < queryCount; i++) {
+      indexDistances[2 * i] = vertexIndex.nearestVertex(queries[i]).getDistance();
+      indexDistances[2 * i + 1] = vertexIndex.nearestCoordinate(queries[i]).getDistance();
+    }
+    report("vertex index", start, queryCount);
+
+    int mismatches = 0;
+    for (int i = 0; i < indexDistances.length; i++) {
+      if (Math.abs(indexDistances[i] - engineDistances[i]) > 1e-6 * RADIUS) {
+        mismatches++;
+      }
+    }
+    System.out.printf("%d of %d distances differ from the geometry engine%n", mismatches, indexDistances.length);
+
+    ArcGISRuntimeEnvironment.dispose();
+  }
+
+  /**
+   * Prints the time since a start time and the query throughput.
+   */
+  private static void report(String method, long start, int queryCount) {
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("  %-16s %8.2f s %10.0f queries/s%n", method, seconds, queryCount / seconds);
+  }
+}
@@ -20,12 +20,14 @@ import java.util.Arrays;
 
 import javafx.application.Application;
 import javafx.beans.binding.Bindings;
+import javafx.event.EventHandler;
 import javafx.geometry.Insets;
 import javafx.geometry.Point2D;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Label;
 import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundFill;
 import javafx.scene.layout.CornerRadii;
@@ -39,7 +41,6 @@ import com.esri.arcgisruntime.geometry.GeometryEngine;
 import com.esri.arcgisruntime.geometry.Point;
 import com.esri.arcgisruntime.geometry.PointCollection;
 import com.esri.arcgisruntime.geometry.Polygon;
-import com.esri.arcgisruntime.geometry.ProximityResult;
 import com.esri.arcgisruntime.geometry.SpatialReferences;
 import com.esri.arcgisruntime.mapping.ArcGISMap;
 import com.esri.arcgisruntime.mapping.BasemapStyle;
@@ -127,30 +128,42 @@ public class NearestVertexSample extends Application {
       controlsVBox.visibleProperty().bind(Bindings.createBooleanBinding(() -> !distancesLabel.getText().equals(""), distancesLabel.textProperty()));
       controlsVBox.managedProperty().bind(controlsVBox.visibleProperty());
 
-      // get the nearest vertex and coordinate where the user clicks
+      // index the polygon's vertices and segments once, so the nearest ones can be found quickly as the mouse moves
+      VertexIndex vertexIndex = new VertexIndex(polygon);
+
+      // get the nearest vertex and coordinate to a mouse location
+      EventHandler<MouseEvent> showNearest = e -> {
+        // create a point from the mouse location
+        Point2D point = new Point2D(e.getX(), e.getY());
+
+        // create a map point from a point
+        Point mapPoint = mapView.screenToLocation(point);
+        if (mapPoint == null) {
+          return;
+        }
+
+        // the map point should be normalized to the central meridian when wrapping around a map, so its value stays within the coordinate system of the map view
+        Point normalizedMapPoint = (Point) GeometryEngine.normalizeCentralMeridian(mapPoint);
+        // show the mouse location
+        clickedLocationGraphic.setGeometry(normalizedMapPoint);
+
+        // show the nearest coordinate and vertex
+        VertexIndex.Nearest nearestCoordinateResult = vertexIndex.nearestCoordinate(normalizedMapPoint);
+        VertexIndex.Nearest nearestVertexResult = vertexIndex.nearestVertex(normalizedMapPoint);
+        nearestVertexGraphic.setGeometry(nearestVertexResult.getCoordinate());
+        nearestCoordinateGraphic.setGeometry(nearestCoordinateResult.getCoordinate());
+
+        // show the distances to the nearest vertex and nearest coordinate rounded to the nearest kilometer
+        int vertexDistance = (int) (nearestVertexResult.getDistance() / 1000.0);
+        int coordinateDistance = (int) (nearestCoordinateResult.getDistance() / 1000.0);
+        distancesLabel.setText("Vertex distance: " + vertexDistance + " km\nCoordinate distance: " + coordinateDistance + " km");
+      };
+
+      // update the nearest vertex and coordinate as the mouse moves over the map, and where the user clicks
+      mapView.setOnMouseMoved(showNearest);
       mapView.setOnMouseClicked(e -> {
         if (e.isStillSincePress() && e.getButton() == MouseButton.PRIMARY) {
-          // create a point from where the user clicked
-          Point2D point = new Point2D(e.getX(), e.getY());
-
-          // create a map point from a point
-          Point mapPoint = mapView.screenToLocation(point);
-
-          // the map point should be normalized to the central meridian when wrapping around a map, so its value stays within the coordinate system of the map view
-          Point normalizedMapPoint = (Point) GeometryEngine.normalizeCentralMeridian(mapPoint);
-          // show where the user clicked
-          clickedLocationGraphic.setGeometry(normalizedMapPoint);
-
-          // show the nearest coordinate and vertex
-          ProximityResult nearestCoordinateResult = GeometryEngine.nearestCoordinate(polygon, normalizedMapPoint);
-          ProximityResult nearestVertexResult = GeometryEngine.nearestVertex(polygon, normalizedMapPoint);
-          nearestVertexGraphic.setGeometry(nearestVertexResult.getCoordinate());
-          nearestCoordinateGraphic.setGeometry(nearestCoordinateResult.getCoordinate());
-
-          // show the distances to the nearest vertex and nearest coordinate rounded to the nearest kilometer
-          int vertexDistance = (int) (nearestVertexResult.getDistance() / 1000.0);
-          int coordinateDistance = (int) (nearestCoordinateResult.getDistance() / 1000.0);
-          distancesLabel.setText("Vertex distance: " + vertexDistance + " km\nCoordinate distance: " + coordinateDistance + " km");
+          showNearest.handle(e);
         }
       });
 
@@ -0,0 +1,520 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.nearest_vertex;
+
+import java.util.Arrays;
+
+import com.esri.arcgisruntime.geometry.ImmutablePart;
+import com.esri.arcgisruntime.geometry.Multipart;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.Polygon;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+
+/**
+ * Answers nearest vertex and nearest coordinate queries against a polygon or polyline without visiting all of its
+ * vertices. The vertices and the segments between them are each put in a packed R-tree when the index is built, and
+ * each query only visits the tree nodes that could hold something closer than the best found so far.
+ *
+ * <p>Distances are planar, in the units of the geometry's spatial reference, as with
+ * {@code GeometryEngine.nearestVertex} and {@code GeometryEngine.nearestCoordinate}. As with those, the nearest
+ * coordinate to a point inside a polygon is the point itself. The index is immutable once built, so it can be queried
+ * from several threads.
+ */
+public class VertexIndex {
+
+  private final SpatialReference spatialReference;
+  private final boolean isPolygon;
+
+  // coordinates of all of the vertices, part after part
+  private final double[] xs;
+  private final double[] ys;
+  // index of the first vertex of each part, followed by the vertex count
+  private final int[] partStarts;
+  // first and last vertex of each segment
+  private final int[] segmentStarts;
+  private final int[] segmentEnds;
+
+  private final PackedRTree vertexTree;
+  private final PackedRTree segmentTree;
+
+  /**
+   * Builds an index of the vertices and segments of a polygon or polyline.
+   *
+   * @param geometry the polygon or polyline
+   */
+  public VertexIndex(Multipart geometry) {
+    spatialReference = geometry.getSpatialReference();
+    isPolygon = geometry instanceof Polygon;
+
+    // copy the vertices out of the geometry once, so queries don't need to call into the runtime
+    int vertexCount = 0;
+    int partCount = 0;
+    for (ImmutablePart part : geometry.getParts()) {
+      vertexCount += part.getPointCount();
+      partCount++;
+    }
+    xs = new double[vertexCount];
+    ys = new double[vertexCount];
+    partStarts = new int[partCount + 1];
+    int vertex = 0;
+    int partIndex = 0;
+    for (ImmutablePart part : geometry.getParts()) {
+      partStarts[partIndex++] = vertex;
+      for (Point point : part.getPoints()) {
+        xs[vertex] = point.getX();
+        ys[vertex] = point.getY();
+        vertex++;
+      }
+    }
+    partStarts[partCount] = vertexCount;
+
+    // join the vertices of each part into segments, closing the rings of a polygon
+    int[] starts = new int[vertexCount];
+    int[] ends = new int[vertexCount];
+    int segmentCount = 0;
+    for (int part = 0; part < partCount; part++) {
+      for (int start = partStarts[part]; start < partStarts[part + 1]; start++) {
+        int end = start + 1 < partStarts[part + 1] ? start + 1 : (isPolygon ? partStarts[part] : -1);
+        if (end >= 0 && end != start) {
+          starts[segmentCount] = start;
+          ends[segmentCount] = end;
+          segmentCount++;
+        }
+      }
+    }
+    segmentStarts = Arrays.copyOf(starts, segmentCount);
+    segmentEnds = Arrays.copyOf(ends, segmentCount);
+
+    double[] vertexBoxes = new double[4 * vertexCount];
+    for (int i = 0; i < vertexCount; i++) {
+      vertexBoxes[4 * i] = vertexBoxes[4 * i + 2] = xs[i];
+      vertexBoxes[4 * i + 1] = vertexBoxes[4 * i + 3] = ys[i];
+    }
+    vertexTree = new PackedRTree(vertexBoxes);
+
+    double[] segmentBoxes = new double[4 * segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      int start = segmentStarts[i];
+      int end = segmentEnds[i];
+      segmentBoxes[4 * i] = Math.min(xs[start], xs[end]);
+      segmentBoxes[4 * i + 1] = Math.min(ys[start], ys[end]);
+      segmentBoxes[4 * i + 2] = Math.max(xs[start], xs[end]);
+      segmentBoxes[4 * i + 3] = Math.max(ys[start], ys[end]);
+    }
+    segmentTree = new PackedRTree(segmentBoxes);
+  }
+
+  /**
+   * Finds the vertex nearest to a point.
+   *
+   * @param point the point, in the geometry's spatial reference
+   * @return the nearest vertex, or null if the geometry has no vertices
+   */
+  public Nearest nearestVertex(Point point) {
+    double x = point.getX();
+    double y = point.getY();
+    int vertex = vertexTree.nearest(x, y, i -> squared(xs[i] - x, ys[i] - y));
+    if (vertex < 0) {
+      return null;
+    }
+    return nearest(xs[vertex], ys[vertex], Math.sqrt(squared(xs[vertex] - x, ys[vertex] - y)), vertex);
+  }
+
+  /**
+   * Finds the coordinate on the geometry nearest to a point. For a point inside a polygon, this is the point itself.
+   *
+   * @param point the point, in the geometry's spatial reference
+   * @return the nearest coordinate, or null if the geometry has no segments
+   */
+  public Nearest nearestCoordinate(Point point) {
+    double x = point.getX();
+    double y = point.getY();
+    int segment = segmentTree.nearest(x, y, i -> squaredDistanceToSegment(x, y, i));
+    if (segment < 0) {
+      return null;
+    }
+    if (isPolygon && contains(x, y)) {
+      return nearest(x, y, 0, segmentStarts[segment]);
+    }
+
+    // project the point onto the segment, clamped to its ends
+    int start = segmentStarts[segment];
+    int end = segmentEnds[segment];
+    double t = segmentFraction(x, y, start, end);
+    double nearestX = xs[start] + t * (xs[end] - xs[start]);
+    double nearestY = ys[start] + t * (ys[end] - ys[start]);
+    return nearest(nearestX, nearestY, Math.sqrt(squared(nearestX - x, nearestY - y)), start);
+  }
+
+  /**
+   * Whether a point is inside the polygon, by counting the segments a ray from the point to the east crosses.
+   */
+  private boolean contains(double x, double y) {
+    int[] crossings = new int[1];
+    segmentTree.visit(x, y, i -> {
+      int start = segmentStarts[i];
+      int end = segmentEnds[i];
+      if ((ys[start] > y) != (ys[end] > y)) {
+        double crossingX = xs[start] + (y - ys[start]) / (ys[end] - ys[start]) * (xs[end] - xs[start]);
+        if (x < crossingX) {
+          crossings[0]++;
+        }
+      }
+    });
+    return crossings[0] % 2 == 1;
+  }
+
+  private double squaredDistanceToSegment(double x, double y, int segment) {
+    int start = segmentStarts[segment];
+    int end = segmentEnds[segment];
+    double t = segmentFraction(x, y, start, end);
+    return squared(xs[start] + t * (xs[end] - xs[start]) - x, ys[start] + t * (ys[end] - ys[start]) - y);
+  }
+
+  /**
+   * Gets how far along a segment, from 0 to 1, the point on it nearest to the given point is.
+   */
+  private double segmentFraction(double x, double y, int start, int end) {
+    double dx = xs[end] - xs[start];
+    double dy = ys[end] - ys[start];
+    double lengthSquared = dx * dx + dy * dy;
+    if (lengthSquared == 0) {
+      return 0;
+    }
+    double t = ((x - xs[start]) * dx + (y - ys[start]) * dy) / lengthSquared;
+    return Math.max(0, Math.min(1, t));
+  }
+
+  private static double squared(double dx, double dy) {
+    return dx * dx + dy * dy;
+  }
+
+  /**
+   * Creates a result, converting the index of a vertex into its part and its index within the part.
+   */
+  private Nearest nearest(double x, double y, double distance, int vertex) {
+    int part = Arrays.binarySearch(partStarts, vertex);
+    // for a vertex inside a part, binarySearch returns -(index of the next part start) - 1
+    part = part >= 0 ? part : -part - 2;
+    // skip over empty parts sharing the same start
+    while (partStarts[part + 1] == vertex) {
+      part++;
+    }
+    return new Nearest(new Point(x, y, spatialReference), distance, part, vertex - partStarts[part]);
+  }
+
+  /**
+   * The result of a nearest vertex or nearest coordinate query.
+   */
+  public static class Nearest {
+
+    private final Point coordinate;
+    private final double distance;
+    private final int partIndex;
+    private final int pointIndex;
+
+    private Nearest(Point coordinate, double distance, int partIndex, int pointIndex) {
+      this.coordinate = coordinate;
+      this.distance = distance;
+      this.partIndex = partIndex;
+      this.pointIndex = pointIndex;
+    }
+
+    /**
+     * Gets the nearest vertex or coordinate.
+     *
+     * @return the nearest vertex or coordinate
+     */
+    public Point getCoordinate() {
+      return coordinate;
+    }
+
+    /**
+     * Gets the planar distance from the query point.
+     *
+     * @return the distance
+     */
+    public double getDistance() {
+      return distance;
+    }
+
+    /**
+     * Gets the index of the part holding the vertex, or the segment the coordinate is on.
+     *
+     * @return the part index
+     */
+    public int getPartIndex() {
+      return partIndex;
+    }
+
+    /**
+     * Gets the index within its part of the vertex, or of the first vertex of the segment the coordinate is on.
+     *
+     * @return the point index
+     */
+    public int getPointIndex() {
+      return pointIndex;
+    }
+  }
+
+  /**
+   * Gives the squared distance from the query point to an item of a tree.
+   */
+  private interface ItemDistance {
+    double squaredDistance(int item);
+  }
+
+  /**
+   * Receives the items of a tree whose boxes a query ray touches.
+   */
+  private interface ItemVisitor {
+    void visit(int item);
+  }
+
+  /**
+   * A static R-tree over a set of boxes. The boxes are sorted along a Z-order curve and packed, a fixed number at a
+   * time, into nodes, which are packed into parent nodes the same way up to a single root.
+   */
+  private static class PackedRTree {
+
+    private static final int NODE_SIZE = 16;
+
+    // boxes of the items, then of each level of nodes, as min x, min y, max x and max y
+    private final double[] boxes;
+    // the item of each leaf, or the first child of each node
+    private final int[] children;
+    // the index after the last child of each node
+    private final int[] childEnds;
+    private final int itemCount;
+
+    private PackedRTree(double[] itemBoxes) {
+      itemCount = itemBoxes.length / 4;
+
+      // find the bounds of the item centers to scale them onto the Z-order curve
+      double minX = Double.POSITIVE_INFINITY;
+      double minY = Double.POSITIVE_INFINITY;
+      double maxX = Double.NEGATIVE_INFINITY;
+      double maxY = Double.NEGATIVE_INFINITY;
+      for (int i = 0; i < itemCount; i++) {
+        minX = Math.min(minX, itemBoxes[4 * i] + itemBoxes[4 * i + 2]);
+        minY = Math.min(minY, itemBoxes[4 * i + 1] + itemBoxes[4 * i + 3]);
+        maxX = Math.max(maxX, itemBoxes[4 * i] + itemBoxes[4 * i + 2]);
+        maxY = Math.max(maxY, itemBoxes[4 * i + 1] + itemBoxes[4 * i + 3]);
+      }
+      double scaleX = maxX > minX ? 0x7FFF / (maxX - minX) : 0;
+      double scaleY = maxY > minY ? 0x7FFF / (maxY - minY) : 0;
+
+      // sort the items by their Z-order code, keeping the item index in the low bits
+      long[] order = new long[itemCount];
+      for (int i = 0; i < itemCount; i++) {
+        int cx = (int) ((itemBoxes[4 * i] + itemBoxes[4 * i + 2] - minX) * scaleX);
+        int cy = (int) ((itemBoxes[4 * i + 1] + itemBoxes[4 * i + 3] - minY) * scaleY);
+        order[i] = ((long) interleave(cx, cy) << 32) | i;
+      }
+      Arrays.sort(order);
+
+      // count the nodes of all of the levels
+      int nodeCount = itemCount;
+      for (int levelSize = itemCount; levelSize > 1; ) {
+        levelSize = (levelSize + NODE_SIZE - 1) / NODE_SIZE;
+        nodeCount += levelSize;
+      }
+      boxes = new double[4 * nodeCount];
+      children = new int[nodeCount];
+      childEnds = new int[nodeCount];
+
+      for (int i = 0; i < itemCount; i++) {
+        int item = (int) order[i];
+        System.arraycopy(itemBoxes, 4 * item, boxes, 4 * i, 4);
+        children[i] = item;
+      }
+
+      // pack each level into the one above it
+      int levelStart = 0;
+      int levelEnd = itemCount;
+      int next = itemCount;
+      while (levelEnd - levelStart > 1) {
+        for (int first = levelStart; first < levelEnd; first += NODE_SIZE) {
+          int last = Math.min(first + NODE_SIZE, levelEnd);
+          double nodeMinX = Double.POSITIVE_INFINITY;
+          double nodeMinY = Double.POSITIVE_INFINITY;
+          double nodeMaxX = Double.NEGATIVE_INFINITY;
+          double nodeMaxY = Double.NEGATIVE_INFINITY;
+          for (int child = first; child < last; child++) {
+            nodeMinX = Math.min(nodeMinX, boxes[4 * child]);
+            nodeMinY = Math.min(nodeMinY, boxes[4 * child + 1]);
+            nodeMaxX = Math.max(nodeMaxX, boxes[4 * child + 2]);
+            nodeMaxY = Math.max(nodeMaxY, boxes[4 * child + 3]);
+          }
+          boxes[4 * next] = nodeMinX;
+          boxes[4 * next + 1] = nodeMinY;
+          boxes[4 * next + 2] = nodeMaxX;
+          boxes[4 * next + 3] = nodeMaxY;
+          children[next] = first;
+          childEnds[next] = last;
+          next++;
+        }
+        levelStart = levelEnd;
+        levelEnd = next;
+      }
+    }
+
+    /**
+     * Finds the item nearest to a point, visiting nodes closest first and stopping once no node can hold anything
+     * closer than the best item found.
+     *
+     * @return the nearest item, or -1 if there are no items
+     */
+    private int nearest(double x, double y, ItemDistance itemDistance) {
+      if (itemCount == 0) {
+        return -1;
+      }
+      NodeQueue queue = new NodeQueue();
+      queue.add(0, boxes.length / 4 - 1);
+      int best = -1;
+      double bestDistance = Double.POSITIVE_INFINITY;
+      while (!queue.isEmpty() && queue.peekDistance() < bestDistance) {
+        int node = queue.poll();
+        if (node < itemCount) {
+          double distance = itemDistance.squaredDistance(children[node]);
+          if (distance < bestDistance) {
+            bestDistance = distance;
+            best = children[node];
+          }
+        } else {
+          for (int child = children[node]; child < childEnds[node]; child++) {
+            double distance = boxDistance(child, x, y);
+            if (distance < bestDistance) {
+              queue.add(distance, child);
+            }
+          }
+        }
+      }
+      return best;
+    }
+
+    /**
+     * Visits every item whose box touches the ray running east from a point.
+     */
+    private void visit(double x, double y, ItemVisitor visitor) {
+      if (itemCount == 0) {
+        return;
+      }
+      int[] stack = new int[64];
+      int size = 0;
+      stack[size++] = boxes.length / 4 - 1;
+      while (size > 0) {
+        int node = stack[--size];
+        if (boxes[4 * node + 2] < x || boxes[4 * node + 1] > y || boxes[4 * node + 3] < y) {
+          continue;
+        }
+        if (node < itemCount) {
+          visitor.visit(children[node]);
+        } else {
+          for (int child = children[node]; child < childEnds[node]; child++) {
+            if (size == stack.length) {
+              stack = Arrays.copyOf(stack, size * 2);
+            }
+            stack[size++] = child;
+          }
+        }
+      }
+    }
+
+    private double boxDistance(int node, double x, double y) {
+      double dx = Math.max(0, Math.max(boxes[4 * node] - x, x - boxes[4 * node + 2]));
+      double dy = Math.max(0, Math.max(boxes[4 * node + 1] - y, y - boxes[4 * node + 3]));
+      return dx * dx + dy * dy;
+    }
+
+    /**
+     * Interleaves the bits of two 15 bit values into a 30 bit Z-order code.
+     */
+    private static int interleave(int x, int y) {
+      return spread(x) | (spread(y) << 1);
+    }
+
+    private static int spread(int value) {
+      value &= 0xFFFF;
+      value = (value | (value << 8)) & 0x00FF00FF;
+      value = (value | (value << 4)) & 0x0F0F0F0F;
+      value = (value | (value << 2)) & 0x33333333;
+      value = (value | (value << 1)) & 0x55555555;
+      return value;
+    }
+  }
+
+  /**
+   * A binary min-heap of tree nodes keyed by their squared distance from the query point.
+   */
+  private static class NodeQueue {
+
+    private double[] distances = new double[64];
+    private int[] nodes = new int[64];
+    private int size;
+
+    private boolean isEmpty() {
+      return size == 0;
+    }
+
+    private double peekDistance() {
+      return distances[0];
+    }
+
+    private void add(double distance, int node) {
+      if (size == nodes.length) {
+        distances = Arrays.copyOf(distances, size * 2);
+        nodes = Arrays.copyOf(nodes, size * 2);
+      }
+      int i = size++;
+      while (i > 0) {
+        int parent = (i - 1) / 2;
+        if (distances[parent] <= distance) {
+          break;
+        }
+        distances[i] = distances[parent];
+        nodes[i] = nodes[parent];
+        i = parent;
+      }
+      distances[i] = distance;
+      nodes[i] = node;
+    }
+
+    private int poll() {
+      int top = nodes[0];
+      size--;
+      double distance = distances[size];
+      int node = nodes[size];
+      int i = 0;
+      while (2 * i + 1 < size) {
+        int child = 2 * i + 1;
+        if (child + 1 < size && distances[child + 1] < distances[child]) {
+          child++;
+        }
+        if (distance <= distances[child]) {
+          break;
+        }
+        distances[i] = distances[child];
+        nodes[i] = nodes[child];
+        i = child;
+      }
+      distances[i] = distance;
+      nodes[i] = node;
+      return top;
+    }
+  }
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.spatial_operations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.esri.arcgisruntime.geometry.Envelope;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+
+/**
+ * Overlays two layers of polygons, given as lists of geometries in the same spatial reference.
+ *
+ * <p>The envelopes of each layer are put in an R-tree, so that each geometry is only paired with the geometries of the
+ * other layer whose envelopes meet its own. The geometries are processed in parallel, and unions of many geometries are
+ * made as a tree reduction: neighboring geometries are unioned in small groups, then the results of those unions, and
+ * so on, instead of adding the geometries to one growing union one at a time.
+ */
+public class LayerOverlay {
+
+  /**
+   * The overlay operations.
+   */
+  public enum Operation {
+    /**
+     * The union of every geometry of both layers, as one geometry.
+     */
+    UNION,
+    /**
+     * Each geometry of the first layer without the parts covered by the second layer.
+     */
+    DIFFERENCE,
+    /**
+     * Each geometry of either layer without the parts covered by the other layer.
+     */
+    SYMMETRIC_DIFFERENCE,
+    /**
+     * The intersection of each pair of geometries from the two layers that intersect.
+     */
+    INTERSECTION
+  }
+
+  // number of geometries unioned together at each step of a tree reduction
+  private static final int UNION_GROUP_SIZE = 8;
+
+  private final List<Geometry> layer1;
+  private final List<Geometry> layer2;
+  private final EnvelopeRTree tree1;
+  private final EnvelopeRTree tree2;
+
+  private final LongAdder candidatePairs = new LongAdder();
+  private final LongAdder operations = new LongAdder();
+
+  /**
+   * Creates an overlay of two layers, indexing the envelopes of both.
+   *
+   * @param layer1 geometries of the first layer
+   * @param layer2 geometries of the second layer
+   */
+  public LayerOverlay(List<? extends Geometry> layer1, List<? extends Geometry> layer2) {
+    this.layer1 = new ArrayList<>(layer1);
+    this.layer2 = new ArrayList<>(layer2);
+    tree1 = new EnvelopeRTree(envelopes(this.layer1));
+    tree2 = new EnvelopeRTree(envelopes(this.layer2));
+  }
+
+  /**
+   * Runs an overlay operation on the given pool.
+   *
+   * @param operation the operation
+   * @param pool pool to run the operation on
+   * @return the non-empty result geometries; a single geometry for a union
+   * @throws InterruptedException if interrupted while waiting for the operation
+   * @throws ExecutionException if the operation fails
+   */
+  public List<Geometry> overlay(Operation operation, ForkJoinPool pool)
+    throws InterruptedException, ExecutionException {
+
+    switch (operation) {
+      case UNION:
+        // union the geometries in the order of a tree over both layers, so that each group holds neighbors
+        List<Geometry> geometries = new ArrayList<>(layer1);
+        geometries.addAll(layer2);
+        EnvelopeRTree tree = new EnvelopeRTree(envelopes(geometries));
+        List<Geometry> ordered = Arrays.stream(tree.getOrder()).mapToObj(geometries::get).collect(Collectors.toList());
+        Geometry union = unionAll(ordered, pool);
+        return union == null ? Collections.emptyList() : Collections.singletonList(union);
+      case DIFFERENCE:
+        return pool.submit(() -> differences(layer1, layer2, tree2).collect(Collectors.toList())).get();
+      case SYMMETRIC_DIFFERENCE:
+        return pool.submit(() -> Stream.concat(differences(layer1, layer2, tree2), differences(layer2, layer1, tree1))
+          .collect(Collectors.toList())).get();
+      case INTERSECTION:
+      default:
+        return pool.submit(() -> IntStream.range(0, layer1.size()).parallel().boxed()
+          .flatMap(i -> {
+            List<Geometry> intersections = new ArrayList<>();
+            tree2.search(tree1.getEnvelopes(), i, j -> {
+              candidatePairs.increment();
+              operations.increment();
+              intersections.add(GeometryEngine.intersection(layer1.get(i), layer2.get(j)));
+            });
+            return intersections.stream();
+          })
+          .filter(geometry -> geometry != null && !geometry.isEmpty())
+          .collect(Collectors.toList())).get();
+    }
+  }
+
+  /**
+   * Unions a list of geometries as a tree reduction on the given pool. Each round unions groups of neighboring
+   * geometries in parallel, until a single geometry is left.
+   *
+   * @param geometries geometries to union, ideally ordered so that neighbors in the list are near each other
+   * @param pool pool to union on
+   * @return the union, or null if there are no geometries
+   * @throws InterruptedException if interrupted while waiting for a round
+   * @throws ExecutionException if a union fails
+   */
+  public Geometry unionAll(List<? extends Geometry> geometries, ForkJoinPool pool)
+    throws InterruptedException, ExecutionException {
+
+    List<Geometry> round = new ArrayList<>(geometries);
+    round.removeIf(Objects::isNull);
+    if (round.isEmpty()) {
+      return null;
+    }
+    while (round.size() > 1) {
+      List<Geometry> groups = round;
+      int groupCount = (groups.size() + UNION_GROUP_SIZE - 1) / UNION_GROUP_SIZE;
+      round = pool.submit(() -> IntStream.range(0, groupCount).parallel()
+        .mapToObj(group -> {
+          List<Geometry> members = groups.subList(group * UNION_GROUP_SIZE,
+            Math.min(groups.size(), (group + 1) * UNION_GROUP_SIZE));
+          operations.increment();
+          return members.size() == 1 ? members.get(0) : GeometryEngine.union(members);
+        })
+        .collect(Collectors.toList())).get();
+    }
+    return round.get(0);
+  }
+
+  /**
+   * Returns a summary of the candidate pairs found through the R-trees and the operations made by the geometry engine,
+   * compared with pairing every geometry of one layer with every geometry of the other.
+   *
+   * @return the statistics
+   */
+  public String getStatistics() {
+    return "Layers: " + layer1.size() + " and " + layer2.size() + " geometries" +
+      "\nCandidate pairs: " + candidatePairs.sum() + " of " + (long) layer1.size() * layer2.size() +
+      "\nGeometry engine operations: " + operations.sum();
+  }
+
+  /**
+   * Subtracts from each geometry of a layer the union of the geometries of the other layer whose envelopes meet its
+   * own, in parallel.
+   */
+  private Stream<Geometry> differences(List<Geometry> layer, List<Geometry> otherLayer, EnvelopeRTree otherTree) {
+    double[] layerEnvelopes = (layer == layer1 ? tree1 : tree2).getEnvelopes();
+    return IntStream.range(0, layer.size()).parallel()
+      .mapToObj(i -> {
+        List<Geometry> candidates = new ArrayList<>();
+        otherTree.search(layerEnvelopes, i, j -> candidates.add(otherLayer.get(j)));
+        candidatePairs.add(candidates.size());
+        if (candidates.isEmpty()) {
+          return layer.get(i);
+        }
+        operations.add(2);
+        Geometry covering = candidates.size() == 1 ? candidates.get(0) : GeometryEngine.union(candidates);
+        return GeometryEngine.difference(layer.get(i), covering);
+      })
+      .filter(geometry -> geometry != null && !geometry.isEmpty());
+  }
+
+  /**
+   * Gets the envelopes of the geometries as xmin, ymin, xmax and ymax, four values per geometry. Null and empty
+   * geometries get NaN envelopes, which meet nothing.
+   */
+  private static double[] envelopes(List<Geometry> geometries) {
+    double[] envelopes = new double[4 * geometries.size()];
+    for (int i = 0; i < geometries.size(); i++) {
+      Geometry geometry = geometries.get(i);
+      Envelope envelope = geometry == null || geometry.isEmpty() ? null : geometry.getExtent();
+      envelopes[4 * i] = envelope == null ? Double.NaN : envelope.getXMin();
+      envelopes[4 * i + 1] = envelope == null ? Double.NaN : envelope.getYMin();
+      envelopes[4 * i + 2] = envelope == null ? Double.NaN : envelope.getXMax();
+      envelopes[4 * i + 3] = envelope == null ? Double.NaN : envelope.getYMax();
+    }
+    return envelopes;
+  }
+
+  /**
+   * A static R-tree over envelopes, packed with the sort-tile-recursive method: the envelopes are sorted into vertical
+   * slices by their centers' x, each slice is sorted by y, and runs of envelopes become the leaves. Each level above
+   * groups runs of the nodes below it.
+   */
+  private static class EnvelopeRTree {
+
+    private static final int NODE_SIZE = 16;
+
+    private final double[] envelopes;
+    private final int[] order;
+    // node boxes, four values per node, with the items first and the root last
+    private final double[] boxes;
+    // for an item, its index in the envelopes; for a node, the position of its first child
+    private final int[] indices;
+    // the position after the last node of each level, from the items up
+    private final int[] levelEnds;
+
+    private EnvelopeRTree(double[] envelopes) {
+      this.envelopes = envelopes;
+      int count = envelopes.length / 4;
+
+      // sort the items into slices by x, then each slice by y
+      Integer[] sorted = new Integer[count];
+      for (int i = 0; i < count; i++) {
+        sorted[i] = i;
+      }
+      Arrays.sort(sorted, Comparator.comparingDouble(i -> envelopes[4 * i] + envelopes[4 * i + 2]));
+      int sliceSize = NODE_SIZE * (int) Math.ceil(Math.sqrt(Math.ceil(count / (double) NODE_SIZE)));
+      for (int start = 0; start < count; start += sliceSize) {
+        Arrays.sort(sorted, start, Math.min(count, start + sliceSize),
+          Comparator.comparingDouble(i -> envelopes[4 * i + 1] + envelopes[4 * i + 3]));
+      }
+      order = Arrays.stream(sorted).mapToInt(Integer::intValue).toArray();
+
+      // count the nodes of each level
+      List<Integer> ends = new ArrayList<>();
+      int levelSize = count;
+      int total = count;
+      ends.add(total);
+      while (levelSize > 1) {
+        levelSize = (levelSize + NODE_SIZE - 1) / NODE_SIZE;
+        total += levelSize;
+        ends.add(total);
+      }
+      levelEnds = ends.stream().mapToInt(Integer::intValue).toArray();
+
+      // fill in the items, then each level's nodes from the level below
+      boxes = new double[4 * total];
+      indices = new int[total];
+      for (int i = 0; i < count; i++) {
+        System.arraycopy(envelopes, 4 * order[i], boxes, 4 * i, 4);
+        indices[i] = order[i];
+      }
+      for (int level = 1; level < levelEnds.length; level++) {
+        int childStart = level == 1 ? 0 : levelEnds[level - 2];
+        int childEnd = levelEnds[level - 1];
+        int position = childEnd;
+        for (int child = childStart; child < childEnd; child += NODE_SIZE, position++) {
+          double xMin = Double.POSITIVE_INFINITY;
+          double yMin = Double.POSITIVE_INFINITY;
+          double xMax = Double.NEGATIVE_INFINITY;
+          double yMax = Double.NEGATIVE_INFINITY;
+          for (int c = child; c < Math.min(child + NODE_SIZE, childEnd); c++) {
+            // NaN boxes of empty geometries fail every comparison, so they are left out
+            if (boxes[4 * c] < xMin) {
+              xMin = boxes[4 * c];
+            }
+            if (boxes[4 * c + 1] < yMin) {
+              yMin = boxes[4 * c + 1];
+            }
+            if (boxes[4 * c + 2] > xMax) {
+              xMax = boxes[4 * c + 2];
+            }
+            if (boxes[4 * c + 3] > yMax) {
+              yMax = boxes[4 * c + 3];
+            }
+          }
+          boxes[4 * position] = xMin;
+          boxes[4 * position + 1] = yMin;
+          boxes[4 * position + 2] = xMax;
+          boxes[4 * position + 3] = yMax;
+          indices[position] = child;
+        }
+      }
+    }
+
+    /**
+     * Gets the envelopes the tree was built from.
+     */
+    private double[] getEnvelopes() {
+      return envelopes;
+    }
+
+    /**
+     * Gets the indices of the envelopes in the order of the tree's leaves, which keeps neighbors together.
+     */
+    private int[] getOrder() {
+      return order;
+    }
+
+    /**
+     * Calls back with the index of each envelope in the tree that meets an envelope of another list.
+     */
+    private void search(double[] queryEnvelopes, int query, IntConsumer found) {
+      double xMin = queryEnvelopes[4 * query];
+      double yMin = queryEnvelopes[4 * query + 1];
+      double xMax = queryEnvelopes[4 * query + 2];
+      double yMax = queryEnvelopes[4 * query + 3];
+      if (Double.isNaN(xMin) || indices.length == 0) {
+        return;
+      }
+
+      // depth first from the root, keeping each node's position and level
+      int[] stack = new int[2 * NODE_SIZE * levelEnds.length];
+      int size = 0;
+      stack[size++] = indices.length - 1;
+      stack[size++] = levelEnds.length - 1;
+      while (size > 0) {
+        int level = stack[--size];
+        int position = stack[--size];
+        if (!(boxes[4 * position] <= xMax && xMin <= boxes[4 * position + 2] &&
+          boxes[4 * position + 1] <= yMax && yMin <= boxes[4 * position + 3])) {
+          continue;
+        }
+        if (level == 0) {
+          found.accept(indices[position]);
+        } else {
+          int childEnd = Math.min(indices[position] + NODE_SIZE, levelEnds[level - 1]);
+          for (int child = indices[position]; child < childEnd; child++) {
+            stack[size++] = child;
+            stack[size++] = level - 1;
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.spatial_operations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.PointCollection;
+import com.esri.arcgisruntime.geometry.Polygon;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+
+/**
+ * Overlays a layer of parcel polygons with a layer of zone polygons using {@link LayerOverlay}, without showing a UI,
+ * and compares it with intersecting every parcel with every zone and with unioning the parcels one at a time.
+ *
+ * <p>The parcels are a grid of slightly shrunken squares, and the zones are irregular polygons each covering a few
+ * dozen parcels.
+ *
+ * <p>Usage: {@code LayerOverlayBenchmark [parcels] [threads]}
+ */
+public class LayerOverlayBenchmark {
+
+  // width of a parcel's grid cell, in meters
+  private static final double PARCEL_SIZE = 50;
+  // number of parcels for each zone
+  private static final int PARCELS_PER_ZONE = 50;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args optional number of parcels and thread count
+   */
+  public static void main(String[] args) throws Exception {
+
+    int parcelCount = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+    int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+    // the geometry engine needs the runtime, but not a map view
+    ArcGISRuntimeEnvironment.initialize();
+
+    Random random = new Random(42);
+    int parcelsPerSide = (int) Math.ceil(Math.sqrt(parcelCount));
+    List<Polygon> parcels = createParcels(parcelsPerSide, random);
+    List<Polygon> zones = createZones(parcelsPerSide * PARCEL_SIZE, parcels.size() / PARCELS_PER_ZONE, random);
+    System.out.printf("%d parcels, %d zones%n", parcels.size(), zones.size());
+
+    // intersect every parcel with every zone, one at a time
+    long start = System.nanoTime();
+    List<Geometry> intersections = new ArrayList<>();
+    for (Polygon parcel : parcels) {
+      for (Polygon zone : zones) {
+        Geometry intersection = GeometryEngine.intersection(parcel, zone);
+        if (intersection != null && !intersection.isEmpty()) {
+          intersections.add(intersection);
+        }
+      }
+    }
+    report("intersection, every pair", start, intersections);
+
+    // union every parcel and zone into one growing geometry
+    start = System.nanoTime();
+    Geometry union = null;
+    for (Polygon polygon : parcels) {
+      union = union == null ? polygon : GeometryEngine.union(union, polygon);
+    }
+    for (Polygon polygon : zones) {
+      union = GeometryEngine.union(union, polygon);
+    }
+    List<Geometry> unions = new ArrayList<>();
+    unions.add(union);
+    report("union, linear fold", start, unions);
+
+    // overlay the layers with each operation, on one thread and on all of them
+    for (int threadCount : new int[] {1, threads}) {
+      ForkJoinPool pool = new ForkJoinPool(threadCount);
+      try {
+        for (LayerOverlay.Operation operation : LayerOverlay.Operation.values()) {
+          LayerOverlay overlay = new LayerOverlay(parcels, zones);
+          start = System.nanoTime();
+          List<Geometry> results = overlay.overlay(operation, pool);
+          report(operation.name().toLowerCase() + ", " + threadCount + " threads", start, results);
+          System.out.println(overlay.getStatistics().replaceAll("(?m)^", "    "));
+        }
+      } finally {
+        pool.shutdown();
+      }
+    }
+
+    ArcGISRuntimeEnvironment.dispose();
+  }
+
+  /**
+   * Creates a square grid of parcels, each shrunk from its cell by a random margin of up to a meter on each side.
+   */
+  private static List<Polygon> createParcels(int parcelsPerSide, Random random) {
+    List<Polygon> parcels = new ArrayList<>();
+    for (int row = 0; row < parcelsPerSide; row++) {
+      for (int column = 0; column < parcelsPerSide; column++) {
+        double x = column * PARCEL_SIZE;
+        double y = row * PARCEL_SIZE;
+        PointCollection points = new PointCollection(SpatialReferences.getWebMercator());
+        points.add(new Point(x + random.nextDouble(), y + random.nextDouble()));
+        points.add(new Point(x + PARCEL_SIZE - random.nextDouble(), y + random.nextDouble()));
+        points.add(new Point(x + PARCEL_SIZE - random.nextDouble(), y + PARCEL_SIZE - random.nextDouble()));
+        points.add(new Point(x + random.nextDouble(), y + PARCEL_SIZE - random.nextDouble()));
+        parcels.add(new Polygon(points));
+      }
+    }
+    return parcels;
+  }
+
+  /**
+   * Creates irregular 12-sided zones at random positions over the parcels, each about as large as the parcels it
+   * should cover.
+   */
+  private static List<Polygon> createZones(double areaSize, int zoneCount, Random random) {
+    double radius = PARCEL_SIZE * Math.sqrt(PARCELS_PER_ZONE / Math.PI);
+    List<Polygon> zones = new ArrayList<>();
+    for (int i = 0; i < Math.max(1, zoneCount); i++) {
+      double x = random.nextDouble() * areaSize;
+      double y = random.nextDouble() * areaSize;
+      PointCollection points = new PointCollection(SpatialReferences.getWebMercator());
+      for (int j = 0; j < 12; j++) {
+        double angle = 2 * Math.PI * j / 12;
+        double distance = radius * (0.7 + 0.6 * random.nextDouble());
+        points.add(new Point(x + distance * Math.cos(angle), y + distance * Math.sin(angle)));
+      }
+      zones.add(new Polygon(points));
+    }
+    return zones;
+  }
+
+  /**
+   * Prints the time since a start time with the number and total area of the result geometries.
+   */
+  private static void report(String method, long start, List<Geometry> results) {
+    double seconds = (System.nanoTime() - start) / 1e9;
+    double area = 0;
+    for (Geometry result : results) {
+      area += GeometryEngine.area(result);
+    }
+    System.out.printf("  %-36s %8.2f s %8d geometries %14.0f square meters%n", method, seconds, results.size(), area);
+  }
+}
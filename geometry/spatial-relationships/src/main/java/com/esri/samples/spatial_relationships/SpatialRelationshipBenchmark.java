@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.spatial_relationships;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.PointCollection;
+import com.esri.arcgisruntime.geometry.Polygon;
+import com.esri.arcgisruntime.geometry.Polyline;
+import com.esri.arcgisruntime.geometry.SpatialReference;
+import com.esri.arcgisruntime.geometry.SpatialReferences;
+import com.esri.samples.spatial_relationships.SpatialRelationshipMatrix.SpatialRelationship;
+
+/**
+ * Measures the throughput of {@link SpatialRelationshipMatrix} for N x M random polygons and polylines, without
+ * showing a UI, against testing all seven relationships for every pair one at a time.
+ *
+ * <p>Usage: {@code SpatialRelationshipBenchmark [rows] [columns] [threads]}
+ */
+public class SpatialRelationshipBenchmark {
+
+  // width of the square area the random geometries are spread over
+  private static final double AREA_SIZE = 1000000;
+  // largest width of a random geometry
+  private static final double GEOMETRY_SIZE = 20000;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args optional number of row polygons, number of column polylines and thread count
+   */
+  public static void main(String[] args) throws Exception {
+
+    int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+    int columnCount = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+    int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+    // the geometry engine needs the runtime, but not a map view
+    ArcGISRuntimeEnvironment.initialize();
+
+    SpatialReference webMercator = SpatialReferences.getWebMercator();
+    Random random = new Random(42);
+    List<Geometry> polygons = new ArrayList<>(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      // simplify, as random vertices can make the polygon self-intersect
+      polygons.add(GeometryEngine.simplify(new Polygon(randomPoints(random, 5, webMercator))));
+    }
+    List<Geometry> polylines = new ArrayList<>(columnCount);
+    for (int i = 0; i < columnCount; i++) {
+      polylines.add(GeometryEngine.simplify(new Polyline(randomPoints(random, 4, webMercator))));
+    }
+    long pairs = (long) rowCount * columnCount;
+    System.out.printf("%d polygons x %d polylines = %d pairs%n", rowCount, columnCount, pairs);
+
+    // test every relationship of every pair, one at a time
+    long start = System.nanoTime();
+    List<Set<SpatialRelationship>> expected = new ArrayList<>();
+    for (Geometry polygon : polygons) {
+      for (Geometry polyline : polylines) {
+        expected.add(allRelationships(polygon, polyline));
+      }
+    }
+    report("every test, 1 thread", start, pairs, pairs * 7);
+
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      for (boolean useIndex : new boolean[] {false, true}) {
+        start = System.nanoTime();
+        SpatialRelationshipMatrix matrix = SpatialRelationshipMatrix.compute(polygons, polylines, useIndex, pool);
+        report("matrix" + (useIndex ? " with index, " : ", ") + threads + " threads", start, pairs,
+          matrix.getRelationshipTests());
+
+        // check the matrix agrees with testing every relationship
+        for (int row = 0; row < rowCount; row++) {
+          for (int column = 0; column < columnCount; column++) {
+            if (!matrix.get(row, column).equals(expected.get(row * columnCount + column))) {
+              System.out.printf("  mismatch at %d, %d%n", row, column);
+            }
+          }
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+
+    ArcGISRuntimeEnvironment.dispose();
+  }
+
+  /**
+   * Creates random points close together somewhere in the benchmark area.
+   */
+  private static PointCollection randomPoints(Random random, int count, SpatialReference spatialReference) {
+    double x = random.nextDouble() * AREA_SIZE;
+    double y = random.nextDouble() * AREA_SIZE;
+    PointCollection points = new PointCollection(spatialReference);
+    for (int i = 0; i < count; i++) {
+      points.add(new Point(x + random.nextDouble() * GEOMETRY_SIZE, y + random.nextDouble() * GEOMETRY_SIZE));
+    }
+    return points;
+  }
+
+  /**
+   * Tests all seven relationships of a pair, as the sample used to.
+   */
+  private static Set<SpatialRelationship> allRelationships(Geometry a, Geometry b) {
+    Set<SpatialRelationship> relationships = EnumSet.noneOf(SpatialRelationship.class);
+    if (GeometryEngine.crosses(a, b)) relationships.add(SpatialRelationship.CROSSES);
+    if (GeometryEngine.contains(a, b)) relationships.add(SpatialRelationship.CONTAINS);
+    if (GeometryEngine.disjoint(a, b)) relationships.add(SpatialRelationship.DISJOINT);
+    if (GeometryEngine.intersects(a, b)) relationships.add(SpatialRelationship.INTERSECTS);
+    if (GeometryEngine.overlaps(a, b)) relationships.add(SpatialRelationship.OVERLAPS);
+    if (GeometryEngine.touches(a, b)) relationships.add(SpatialRelationship.TOUCHES);
+    if (GeometryEngine.within(a, b)) relationships.add(SpatialRelationship.WITHIN);
+    return relationships;
+  }
+
+  /**
+   * Prints the time since a start time with the pair throughput and the number of relationship tests made.
+   */
+  private static void report(String method, long start, long pairs, long tests) {
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("  %-32s %8.2f s %12.0f pairs/s %12d tests%n", method, seconds, pairs / seconds, tests);
+  }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.esri.samples.spatial_relationships;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import com.esri.arcgisruntime.geometry.Envelope;
+import com.esri.arcgisruntime.geometry.Geometry;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+
+/**
+ * The spatial relationships between every geometry of one list and every geometry of another, stored as one byte of
+ * relationship flags per pair.
+ *
+ * <p>Pairs are tested with as few calls to the geometry engine as possible. Pairs whose envelopes don't meet are
+ * disjoint without any calls, as are pairs that don't intersect after one call. Contains and within are only tested when
+ * one envelope covers the other, overlaps only between geometries of the same dimension, and crosses and touches only
+ * between dimensions they can hold for. Optionally, the column envelopes are put in a grid so that each row is only
+ * compared with the columns near it. Rows are computed in parallel.
+ */
+public class SpatialRelationshipMatrix {
+
+  /**
+   * The spatial relationships one geometry can have to another.
+   */
+  public enum SpatialRelationship {
+    CROSSES, CONTAINS, DISJOINT, INTERSECTS, OVERLAPS, TOUCHES, WITHIN;
+
+    private byte flag() {
+      return (byte) (1 << ordinal());
+    }
+  }
+
+  private final int rowCount;
+  private final int columnCount;
+  private final byte[] relationships;
+  private final LongAdder relationshipTests = new LongAdder();
+
+  private SpatialRelationshipMatrix(int rowCount, int columnCount) {
+    this.rowCount = rowCount;
+    this.columnCount = columnCount;
+    relationships = new byte[rowCount * columnCount];
+  }
+
+  /**
+   * Computes the relationships each row geometry has to each column geometry. The geometries must share a spatial
+   * reference.
+   *
+   * @param rows geometries whose relationships are found
+   * @param columns geometries the relationships are to
+   * @param useIndex whether to index the column envelopes in a grid, which pays off when most pairs are far apart
+   * @param pool pool to compute the rows on
+   * @return the relationship matrix
+   * @throws InterruptedException if interrupted while waiting for the rows
+   * @throws ExecutionException if computing a row fails
+   */
+  public static SpatialRelationshipMatrix compute(List<? extends Geometry> rows, List<? extends Geometry> columns,
+      boolean useIndex, ForkJoinPool pool) throws InterruptedException, ExecutionException {
+
+    SpatialRelationshipMatrix matrix = new SpatialRelationshipMatrix(rows.size(), columns.size());
+    double[] rowEnvelopes = envelopes(rows);
+    double[] columnEnvelopes = envelopes(columns);
+    EnvelopeGrid grid = useIndex ? new EnvelopeGrid(columnEnvelopes) : null;
+
+    pool.submit(() -> IntStream.range(0, matrix.rowCount).parallel().forEach(row -> {
+      // every pair is disjoint until shown otherwise
+      for (int column = 0; column < matrix.columnCount; column++) {
+        matrix.relationships[row * matrix.columnCount + column] = SpatialRelationship.DISJOINT.flag();
+      }
+      if (grid != null) {
+        for (int column : grid.candidates(rowEnvelopes, row)) {
+          matrix.computePair(rows, columns, rowEnvelopes, columnEnvelopes, row, column);
+        }
+      } else {
+        for (int column = 0; column < matrix.columnCount; column++) {
+          matrix.computePair(rows, columns, rowEnvelopes, columnEnvelopes, row, column);
+        }
+      }
+    })).get();
+
+    return matrix;
+  }
+
+  /**
+   * Gets the relationships the geometry of a row has to the geometry of a column.
+   *
+   * @param row index of the row geometry
+   * @param column index of the column geometry
+   * @return the relationships
+   */
+  public Set<SpatialRelationship> get(int row, int column) {
+    Set<SpatialRelationship> set = EnumSet.noneOf(SpatialRelationship.class);
+    for (SpatialRelationship relationship : SpatialRelationship.values()) {
+      if (has(row, column, relationship)) {
+        set.add(relationship);
+      }
+    }
+    return set;
+  }
+
+  /**
+   * Whether the geometry of a row has the given relationship to the geometry of a column.
+   *
+   * @param row index of the row geometry
+   * @param column index of the column geometry
+   * @param relationship the relationship
+   * @return true if the relationship holds
+   */
+  public boolean has(int row, int column, SpatialRelationship relationship) {
+    return (relationships[row * columnCount + column] & relationship.flag()) != 0;
+  }
+
+  /**
+   * Gets the number of row geometries.
+   *
+   * @return the number of rows
+   */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Gets the number of column geometries.
+   *
+   * @return the number of columns
+   */
+  public int getColumnCount() {
+    return columnCount;
+  }
+
+  /**
+   * Gets the number of relationship tests made with the geometry engine, compared with seven per pair when every
+   * relationship is tested.
+   *
+   * @return the number of relationship tests
+   */
+  public long getRelationshipTests() {
+    return relationshipTests.sum();
+  }
+
+  /**
+   * Computes the relationships of one pair of geometries, skipping tests that can't hold for their envelopes and
+   * dimensions.
+   */
+  private void computePair(List<? extends Geometry> rows, List<? extends Geometry> columns, double[] rowEnvelopes,
+                           double[] columnEnvelopes, int row, int column) {
+
+    if (!envelopesIntersect(rowEnvelopes, row, columnEnvelopes, column)) {
+      return;
+    }
+
+    Geometry a = rows.get(row);
+    Geometry b = columns.get(column);
+    relationshipTests.increment();
+    if (!GeometryEngine.intersects(a, b)) {
+      return;
+    }
+
+    byte flags = SpatialRelationship.INTERSECTS.flag();
+    int dimensionA = dimension(a);
+    int dimensionB = dimension(b);
+
+    // a geometry can only contain geometries whose envelopes are inside its own
+    if (envelopeContains(rowEnvelopes, row, columnEnvelopes, column)) {
+      flags |= test(GeometryEngine.contains(a, b), SpatialRelationship.CONTAINS);
+    }
+    if (envelopeContains(columnEnvelopes, column, rowEnvelopes, row)) {
+      flags |= test(GeometryEngine.within(a, b), SpatialRelationship.WITHIN);
+    }
+    // overlaps is only defined between geometries of the same dimension
+    if (dimensionA == dimensionB) {
+      flags |= test(GeometryEngine.overlaps(a, b), SpatialRelationship.OVERLAPS);
+    }
+    // two areas or two points can't cross
+    if (dimensionA != dimensionB || dimensionA == 1) {
+      flags |= test(GeometryEngine.crosses(a, b), SpatialRelationship.CROSSES);
+    }
+    // points have no boundary, so two points can't touch
+    if (dimensionA != 0 || dimensionB != 0) {
+      flags |= test(GeometryEngine.touches(a, b), SpatialRelationship.TOUCHES);
+    }
+
+    relationships[row * columnCount + column] = flags;
+  }
+
+  /**
+   * Counts a relationship test and returns the relationship's flag if it holds.
+   */
+  private byte test(boolean holds, SpatialRelationship relationship) {
+    relationshipTests.increment();
+    return holds ? relationship.flag() : 0;
+  }
+
+  /**
+   * Gets the topological dimension of a geometry: 0 for points, 1 for lines and 2 for areas.
+   */
+  private static int dimension(Geometry geometry) {
+    switch (geometry.getGeometryType()) {
+      case POINT:
+      case MULTIPOINT:
+        return 0;
+      case POLYLINE:
+        return 1;
+      default:
+        return 2;
+    }
+  }
+
+  /**
+   * Gets the envelopes of the geometries as xmin, ymin, xmax and ymax, four values per geometry.
+   */
+  private static double[] envelopes(List<? extends Geometry> geometries) {
+    double[] envelopes = new double[4 * geometries.size()];
+    for (int i = 0; i < geometries.size(); i++) {
+      Envelope envelope = geometries.get(i).getExtent();
+      envelopes[4 * i] = envelope.getXMin();
+      envelopes[4 * i + 1] = envelope.getYMin();
+      envelopes[4 * i + 2] = envelope.getXMax();
+      envelopes[4 * i + 3] = envelope.getYMax();
+    }
+    return envelopes;
+  }
+
+  private static boolean isEmpty(double[] envelopes, int i) {
+    return Double.isNaN(envelopes[4 * i]);
+  }
+
+  private static boolean envelopesIntersect(double[] a, int i, double[] b, int j) {
+    return a[4 * i] <= b[4 * j + 2] && b[4 * j] <= a[4 * i + 2] &&
+      a[4 * i + 1] <= b[4 * j + 3] && b[4 * j + 1] <= a[4 * i + 3];
+  }
+
+  private static boolean envelopeContains(double[] a, int i, double[] b, int j) {
+    return a[4 * i] <= b[4 * j] && a[4 * i + 1] <= b[4 * j + 1] &&
+      a[4 * i + 2] >= b[4 * j + 2] && a[4 * i + 3] >= b[4 * j + 3];
+  }
+
+  /**
+   * A uniform grid over a set of envelopes, listing in each cell the envelopes that overlap it.
+   */
+  private static class EnvelopeGrid {
+
+    private final double xMin;
+    private final double yMin;
+    private final double cellWidth;
+    private final double cellHeight;
+    private final int size;
+    private final List<List<Integer>> cells;
+
+    private EnvelopeGrid(double[] envelopes) {
+      int envelopeCount = envelopes.length / 4;
+      double xMax = Double.NEGATIVE_INFINITY;
+      double yMax = Double.NEGATIVE_INFINITY;
+      double minX = Double.POSITIVE_INFINITY;
+      double minY = Double.POSITIVE_INFINITY;
+      for (int i = 0; i < envelopeCount; i++) {
+        if (isEmpty(envelopes, i)) {
+          continue;
+        }
+        minX = Math.min(minX, envelopes[4 * i]);
+        minY = Math.min(minY, envelopes[4 * i + 1]);
+        xMax = Math.max(xMax, envelopes[4 * i + 2]);
+        yMax = Math.max(yMax, envelopes[4 * i + 3]);
+      }
+      xMin = minX;
+      yMin = minY;
+
+      // aim for about one envelope per cell
+      size = Math.max(1, (int) Math.sqrt(envelopeCount));
+      cellWidth = Math.max((xMax - xMin) / size, Double.MIN_NORMAL);
+      cellHeight = Math.max((yMax - yMin) / size, Double.MIN_NORMAL);
+      cells = new ArrayList<>(size * size);
+      for (int i = 0; i < size * size; i++) {
+        cells.add(new ArrayList<>(2));
+      }
+      for (int i = 0; i < envelopeCount; i++) {
+        if (isEmpty(envelopes, i)) {
+          continue;
+        }
+        for (int y = cell(envelopes[4 * i + 1], yMin, cellHeight); y <= cell(envelopes[4 * i + 3], yMin, cellHeight); y++) {
+          for (int x = cell(envelopes[4 * i], xMin, cellWidth); x <= cell(envelopes[4 * i + 2], xMin, cellWidth); x++) {
+            cells.get(y * size + x).add(i);
+          }
+        }
+      }
+    }
+
+    /**
+     * Lists the indexed envelopes in the cells an envelope overlaps, each once and in index order.
+     */
+    private int[] candidates(double[] envelopes, int i) {
+      if (isEmpty(envelopes, i)) {
+        return new int[0];
+      }
+      IntStream.Builder found = IntStream.builder();
+      for (int y = cell(envelopes[4 * i + 1], yMin, cellHeight); y <= cell(envelopes[4 * i + 3], yMin, cellHeight); y++) {
+        for (int x = cell(envelopes[4 * i], xMin, cellWidth); x <= cell(envelopes[4 * i + 2], xMin, cellWidth); x++) {
+          cells.get(y * size + x).forEach(found::add);
+        }
+      }
+      // an envelope spanning several cells is listed in each of them
+      return found.build().sorted().distinct().toArray();
+    }
+
+    private int cell(double coordinate, double origin, double cellSize) {
+      return Math.min(size - 1, Math.max(0, (int) ((coordinate - origin) / cellSize)));
+    }
+  }
+}
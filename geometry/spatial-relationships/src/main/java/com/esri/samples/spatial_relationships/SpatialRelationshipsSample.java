@@ -16,10 +16,10 @@
 
 package com.esri.samples.spatial_relationships;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 import javafx.application.Application;
 import javafx.geometry.Insets;
@@ -35,8 +35,6 @@ import javafx.stage.Stage;
 import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
 import com.esri.arcgisruntime.concurrent.ListenableFuture;
 import com.esri.arcgisruntime.geometry.Geometry;
-import com.esri.arcgisruntime.geometry.GeometryEngine;
-import com.esri.arcgisruntime.geometry.GeometryType;
 import com.esri.arcgisruntime.geometry.Point;
 import com.esri.arcgisruntime.geometry.PointCollection;
 import com.esri.arcgisruntime.geometry.Polygon;
@@ -56,10 +54,6 @@ public class SpatialRelationshipsSample extends Application {
 
   private MapView mapView;
 
-  private enum SpatialRelationship {
-    CROSSES, CONTAINS, DISJOINT, INTERSECTS, OVERLAPS, TOUCHES, WITHIN
-  }
-
   @Override
   public void start(Stage stage) {
 
@@ -123,6 +117,12 @@ public class SpatialRelationshipsSample extends Application {
       Graphic pointGraphic = new Graphic(point, locationMarker);
       graphicsOverlay.getGraphics().add(pointGraphic);
 
+      // the graphics don't move, so find the spatial relationships between each pair of them once up front
+      List<Graphic> graphics = Arrays.asList(pointGraphic, polylineGraphic, polygonGraphic);
+      List<Geometry> geometries = Arrays.asList(point, polyline, polygon);
+      SpatialRelationshipMatrix relationshipMatrix = SpatialRelationshipMatrix.compute(geometries, geometries, false,
+          ForkJoinPool.commonPool());
+
       // create a tree view to show the spatial relationships between each graphic and the selected graphic
       TreeView<String> relationships = new TreeView<>();
       relationships.setMaxSize(200, 300);
@@ -135,7 +135,9 @@ public class SpatialRelationshipsSample extends Application {
       polylineRelationships.setExpanded(true);
       TreeItem<String> polygonRelationships = new TreeItem<>("Polygon");
       polygonRelationships.setExpanded(true);
-      rootItem.getChildren().addAll(Arrays.asList(pointRelationships, polylineRelationships, polygonRelationships));
+      List<TreeItem<String>> relationshipItems = Arrays.asList(pointRelationships, polylineRelationships,
+          polygonRelationships);
+      rootItem.getChildren().addAll(relationshipItems);
 
       // and a mouse click listener to identify the selected graphic
       mapView.setOnMouseClicked(e -> {
@@ -150,31 +152,28 @@ public class SpatialRelationshipsSample extends Application {
               IdentifyGraphicsOverlayResult result = identifyGraphics.get();
               List<Graphic> identifiedGraphics = result.getGraphics();
               if (identifiedGraphics.size() > 0) {
+                // ignore graphics that aren't in the relationship matrix
+                Graphic identifiedGraphic = identifiedGraphics.get(0);
+                int selected = graphics.indexOf(identifiedGraphic);
+                if (selected < 0) {
+                  return;
+                }
+
                 // clear previous results
-                pointRelationships.getChildren().clear();
-                polylineRelationships.getChildren().clear();
-                polygonRelationships.getChildren().clear();
-                
+                relationshipItems.forEach(relationshipItem -> relationshipItem.getChildren().clear());
+
                 // select the identified graphic
                 graphicsOverlay.clearSelection();
-                Graphic identifiedGraphic = identifiedGraphics.get(0);
                 identifiedGraphic.setSelected(true);
-                Geometry selectedGeometry = identifiedGraphic.getGeometry();
-                GeometryType selectedGeometryType = selectedGeometry.getGeometryType();
-                
+
                 // populate the tree view with the spatial relationships the selected graphic has to the other graphics
-                // ignore testing relationships between the geometry and itself
-                if (selectedGeometryType != GeometryType.POINT) {
-                  getSpatialRelationships(selectedGeometry, pointGraphic.getGeometry()).forEach(relationship ->
-                      pointRelationships.getChildren().add(new TreeItem<>(relationship.toString())));
-                }
-                if (selectedGeometryType != GeometryType.POLYLINE) {
-                  getSpatialRelationships(selectedGeometry, polylineGraphic.getGeometry()).forEach(relationship ->
-                      polylineRelationships.getChildren().add(new TreeItem<>(relationship.toString())));
-                }
-                if (selectedGeometryType != GeometryType.POLYGON) {
-                  getSpatialRelationships(selectedGeometry, polygonGraphic.getGeometry()).forEach(relationship ->
-                      polygonRelationships.getChildren().add(new TreeItem<>(relationship.toString())));
+                // ignore the relationships between the geometry and itself
+                for (int other = 0; other < graphics.size(); other++) {
+                  if (other != selected) {
+                    TreeItem<String> relationshipItem = relationshipItems.get(other);
+                    relationshipMatrix.get(selected, other).forEach(relationship ->
+                        relationshipItem.getChildren().add(new TreeItem<>(relationship.toString())));
+                  }
                 }
               }
             } catch (InterruptedException | ExecutionException ex) {
@@ -194,25 +193,6 @@ public class SpatialRelationshipsSample extends Application {
     }
   }
 
-  /**
-   * Gets a list of spatial relationships that the first geometry has to the second geometry.
-   * 
-   * @param a first geometry
-   * @param b second geometry
-   * @return list of relationships a has to b
-   */
-  private List<SpatialRelationship> getSpatialRelationships(Geometry a, Geometry b) {
-    List<SpatialRelationship> relationships = new ArrayList<>();
-    if (GeometryEngine.crosses(a, b)) relationships.add(SpatialRelationship.CROSSES);
-    if (GeometryEngine.contains(a, b)) relationships.add(SpatialRelationship.CONTAINS);
-    if (GeometryEngine.disjoint(a, b)) relationships.add(SpatialRelationship.DISJOINT);
-    if (GeometryEngine.intersects(a, b)) relationships.add(SpatialRelationship.INTERSECTS);
-    if (GeometryEngine.overlaps(a, b)) relationships.add(SpatialRelationship.OVERLAPS);
-    if (GeometryEngine.touches(a, b)) relationships.add(SpatialRelationship.TOUCHES);
-    if (GeometryEngine.within(a, b)) relationships.add(SpatialRelationship.WITHIN);
-    return relationships;
-  }
-
   /**
    * Stops and releases all resources used in application.
    */
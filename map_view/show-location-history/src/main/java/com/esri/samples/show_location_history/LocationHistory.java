@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.samples.show_location_history;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.PointCollection;
+import com.esri.arcgisruntime.geometry.Polyline;
+import com.esri.arcgisruntime.mapping.view.Graphic;
+import com.esri.arcgisruntime.mapping.view.GraphicsOverlay;
+
+/**
+ * Draws a bounded location history into a pair of graphics overlays. Each new position appends a point graphic and a
+ * single two-point segment graphic, so the work per position doesn't grow with the length of the track. Once enough
+ * segments have built up they are merged into one generalized polyline, and the oldest points and merged polylines
+ * are dropped once the history reaches its cap.
+ */
+public class LocationHistory {
+
+  private final GraphicsOverlay pointOverlay;
+  private final GraphicsOverlay lineOverlay;
+  private final int maxPoints;
+  private final int maxMergedLines;
+  private final int segmentsPerMerge;
+  private final double mergeTolerance;
+
+  private final Deque<Graphic> pointGraphics = new ArrayDeque<>();
+  private final Deque<Graphic> segmentGraphics = new ArrayDeque<>();
+  private final Deque<Graphic> mergedLineGraphics = new ArrayDeque<>();
+  private PointCollection segmentPoints;
+  private Point lastPoint;
+
+  /**
+   * Creates a location history that draws into the given overlays.
+   *
+   * @param pointOverlay overlay for the history points
+   * @param lineOverlay overlay for the lines connecting the history points
+   * @param maxPoints number of most recent points to keep
+   * @param segmentsPerMerge number of segments merged into a single generalized polyline
+   * @param maxMergedLines number of most recent merged polylines to keep
+   * @param mergeTolerance maximum deviation allowed when generalizing merged polylines, in map units
+   */
+  public LocationHistory(GraphicsOverlay pointOverlay, GraphicsOverlay lineOverlay, int maxPoints,
+                         int segmentsPerMerge, int maxMergedLines, double mergeTolerance) {
+    this.pointOverlay = pointOverlay;
+    this.lineOverlay = lineOverlay;
+    this.maxPoints = maxPoints;
+    this.segmentsPerMerge = segmentsPerMerge;
+    this.maxMergedLines = maxMergedLines;
+    this.mergeTolerance = mergeTolerance;
+  }
+
+  /**
+   * Adds a position to the history.
+   *
+   * @param point the position to add
+   */
+  public void add(Point point) {
+
+    // add a graphic for the point, dropping the oldest point once the cap is reached
+    Graphic pointGraphic = new Graphic(point);
+    pointGraphics.addLast(pointGraphic);
+    pointOverlay.getGraphics().add(pointGraphic);
+    if (pointGraphics.size() > maxPoints) {
+      pointOverlay.getGraphics().remove(pointGraphics.removeFirst());
+    }
+
+    if (lastPoint == null) {
+      segmentPoints = new PointCollection(point.getSpatialReference());
+      segmentPoints.add(point);
+    } else {
+      // append a segment from the previous point, leaving the rest of the line untouched
+      PointCollection segment = new PointCollection(point.getSpatialReference());
+      segment.add(lastPoint);
+      segment.add(point);
+      Graphic segmentGraphic = new Graphic(new Polyline(segment));
+      segmentGraphics.addLast(segmentGraphic);
+      lineOverlay.getGraphics().add(segmentGraphic);
+      segmentPoints.add(point);
+
+      if (segmentGraphics.size() >= segmentsPerMerge) {
+        mergeSegments();
+      }
+    }
+    lastPoint = point;
+  }
+
+  /**
+   * Replaces the individual segment graphics with a single generalized polyline, and drops the oldest merged polyline
+   * once the cap is reached.
+   */
+  private void mergeSegments() {
+
+    Polyline merged = (Polyline) GeometryEngine.generalize(new Polyline(segmentPoints), mergeTolerance, true);
+    Graphic mergedGraphic = new Graphic(merged);
+    mergedLineGraphics.addLast(mergedGraphic);
+    lineOverlay.getGraphics().add(mergedGraphic);
+    lineOverlay.getGraphics().removeAll(segmentGraphics);
+    segmentGraphics.clear();
+
+    if (mergedLineGraphics.size() > maxMergedLines) {
+      lineOverlay.getGraphics().remove(mergedLineGraphics.removeFirst());
+    }
+
+    // start the next run of segments from the last merged point so the line stays connected
+    Point joinPoint = segmentPoints.get(segmentPoints.size() - 1);
+    segmentPoints = new PointCollection(joinPoint.getSpatialReference());
+    segmentPoints.add(joinPoint);
+  }
+}
@@ -40,7 +40,6 @@ import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
 import com.esri.arcgisruntime.geometry.Geometry;
 import com.esri.arcgisruntime.geometry.Point;
 import com.esri.arcgisruntime.geometry.Polyline;
-import com.esri.arcgisruntime.geometry.PolylineBuilder;
 import com.esri.arcgisruntime.geometry.SpatialReferences;
 import com.esri.arcgisruntime.loadable.LoadStatus;
 import com.esri.arcgisruntime.location.LocationDataSource;
@@ -50,7 +49,6 @@ import com.esri.arcgisruntime.location.SimulationParameters;
 import com.esri.arcgisruntime.mapping.ArcGISMap;
 import com.esri.arcgisruntime.mapping.BasemapStyle;
 import com.esri.arcgisruntime.mapping.Viewpoint;
-import com.esri.arcgisruntime.mapping.view.Graphic;
 import com.esri.arcgisruntime.mapping.view.GraphicsOverlay;
 import com.esri.arcgisruntime.mapping.view.LocationDisplay;
 import com.esri.arcgisruntime.mapping.view.MapView;
@@ -65,6 +63,13 @@ public class ShowLocationHistorySample extends Application {
   private MapView mapView;
   private Point position;
 
+  // limits on the location history kept on the map
+  private static final int MAX_HISTORY_POINTS = 500;
+  private static final int SEGMENTS_PER_MERGE = 50;
+  // keep as many merged lines as cover the history points, so the line doesn't outlive the points
+  private static final int MAX_MERGED_LINES = MAX_HISTORY_POINTS / SEGMENTS_PER_MERGE;
+  private static final double MERGE_TOLERANCE = 1.0;
+
   @Override
   public void start(Stage stage) {
 
@@ -121,8 +126,9 @@ public class ShowLocationHistorySample extends Application {
       // add the graphics overlays to the map view
       mapView.getGraphicsOverlays().addAll(Arrays.asList(locationHistoryOverlay, locationHistoryLineOverlay));
 
-      // create a polyline builder to connect the location points
-      PolylineBuilder polylineBuilder = new PolylineBuilder(SpatialReferences.getWebMercator());
+      // create a bounded history of the location points, connected by lines that are merged and generalized as they age
+      LocationHistory locationHistory = new LocationHistory(locationHistoryOverlay, locationHistoryLineOverlay,
+        MAX_HISTORY_POINTS, SEGMENTS_PER_MERGE, MAX_MERGED_LINES, MERGE_TOLERANCE);
 
       // access the json of the location points
       String polylineData = IOUtils.toString(getClass().getResourceAsStream("/show_location_history/polyline_data.json"), StandardCharsets.UTF_8);
@@ -145,21 +151,12 @@ public class ShowLocationHistorySample extends Application {
       LocationChangedListener locationChangedListener =
         (LocationDataSource.LocationChangedEvent locationChangedEvent) -> {
 
-        // reset the old polyline connecting the points
-        locationHistoryLineOverlay.getGraphics().clear();
-
-        // add any previous position to the history
+        // add any previous position to the history, extending the line connecting the points
         if (position != null) {
-          // add the new point to the polyline
-          polylineBuilder.addPoint(position);
-          // add the new point to the graphics overlay
-          locationHistoryOverlay.getGraphics().add(new Graphic(position));
+          locationHistory.add(position);
         }
         // store the current position
         position = locationChangedEvent.getLocation().getPosition();
-
-        // add the updated polyline to the graphics overlay
-        locationHistoryLineOverlay.getGraphics().add(new Graphic(polylineBuilder.toGeometry()));
       };
 
       trackingButton.setOnAction(event -> {
@@ -0,0 +1,608 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.samples.identify_raster_cell;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads pixel values straight from a GeoTIFF file, without going through a native identify. The file is memory-mapped,
+ * and the strips or tiles holding the requested pixels are decoded on demand and kept in a small LRU cache.
+ *
+ * <p>Supports single-image, chunky (or single band) GeoTIFFs that are uncompressed, LZW or Deflate compressed, with or
+ * without horizontal differencing, and georeferenced by a tie point and pixel scale. {@link #open(Path)} throws an
+ * {@link IOException} for anything else, so callers can fall back to identifying the raster layer.
+ *
+ * <p>Instances are not thread safe.
+ */
+public class GeoTiffSampler implements Closeable {
+
+  // TIFF tags
+  private static final int IMAGE_WIDTH = 256;
+  private static final int IMAGE_LENGTH = 257;
+  private static final int BITS_PER_SAMPLE = 258;
+  private static final int COMPRESSION = 259;
+  private static final int STRIP_OFFSETS = 273;
+  private static final int SAMPLES_PER_PIXEL = 277;
+  private static final int ROWS_PER_STRIP = 278;
+  private static final int STRIP_BYTE_COUNTS = 279;
+  private static final int PLANAR_CONFIGURATION = 284;
+  private static final int PREDICTOR = 317;
+  private static final int TILE_WIDTH = 322;
+  private static final int TILE_LENGTH = 323;
+  private static final int TILE_OFFSETS = 324;
+  private static final int TILE_BYTE_COUNTS = 325;
+  private static final int SAMPLE_FORMAT = 339;
+  private static final int MODEL_PIXEL_SCALE = 33550;
+  private static final int MODEL_TIEPOINT = 33922;
+  private static final int GDAL_NODATA = 42113;
+
+  // compression and sample format values
+  private static final int COMPRESSION_NONE = 1;
+  private static final int COMPRESSION_LZW = 5;
+  private static final int COMPRESSION_DEFLATE = 8;
+  private static final int COMPRESSION_DEFLATE_OLD = 32946;
+  private static final int SAMPLE_FORMAT_INT = 2;
+  private static final int SAMPLE_FORMAT_FLOAT = 3;
+
+  // number of decoded strips or tiles kept in memory
+  private static final int BLOCK_CACHE_SIZE = 64;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer file;
+  private final ByteOrder byteOrder;
+
+  private int width;
+  private int height;
+  private int bandCount = 1;
+  private int bytesPerSample;
+  private int sampleFormat = 1;
+  private int compression = COMPRESSION_NONE;
+  private int predictor = 1;
+  private int blockWidth;
+  private int blockHeight;
+  private int blocksAcross;
+  private long[] blockOffsets;
+  private long[] blockByteCounts;
+  private double noData = Double.NaN;
+
+  // georeferencing
+  private double[] pixelScale;
+  private double[] tiePoint;
+
+  private final Map<Integer, ByteBuffer> blockCache = new LinkedHashMap<Integer, ByteBuffer>(BLOCK_CACHE_SIZE, 0.75f,
+    true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Integer, ByteBuffer> eldest) {
+      return size() > BLOCK_CACHE_SIZE;
+    }
+  };
+
+  /**
+   * Opens a GeoTIFF file for sampling.
+   *
+   * @param path path to the GeoTIFF file
+   * @return a sampler for the file
+   * @throws IOException if the file can't be read or uses features this sampler doesn't support
+   */
+  public static GeoTiffSampler open(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      return new GeoTiffSampler(channel);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e instanceof IOException ? (IOException) e : new IOException("Unable to read GeoTIFF " + path, e);
+    }
+  }
+
+  private GeoTiffSampler(FileChannel channel) throws IOException {
+    this.channel = channel;
+    if (channel.size() > Integer.MAX_VALUE) {
+      throw new IOException("GeoTIFF files larger than 2 GB are not supported");
+    }
+    file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+    // read the byte order and check the header
+    short order = file.getShort(0);
+    if (order == 0x4949) {
+      byteOrder = ByteOrder.LITTLE_ENDIAN;
+    } else if (order == 0x4D4D) {
+      byteOrder = ByteOrder.BIG_ENDIAN;
+    } else {
+      throw new IOException("Not a TIFF file");
+    }
+    file.order(byteOrder);
+    if (file.getShort(2) != 42) {
+      throw new IOException("Only classic TIFF files are supported");
+    }
+
+    readImageFileDirectory(Integer.toUnsignedLong(file.getInt(4)));
+  }
+
+  /**
+   * Gets the number of bands in the raster.
+   *
+   * @return the band count
+   */
+  public int getBandCount() {
+    return bandCount;
+  }
+
+  /**
+   * Gets the extent of the raster.
+   *
+   * @return the minimum x, minimum y, maximum x and maximum y, in the spatial reference of the raster
+   */
+  public double[] getExtent() {
+    double xMin = tiePoint[3] - tiePoint[0] * pixelScale[0];
+    double yMax = tiePoint[4] + tiePoint[1] * pixelScale[1];
+    return new double[] {xMin, yMax - height * pixelScale[1], xMin + width * pixelScale[0], yMax};
+  }
+
+  /**
+   * Gets whether the samples are floating point values rather than integers.
+   *
+   * @return true if the samples are floating point
+   */
+  public boolean isFloatingPoint() {
+    return sampleFormat == SAMPLE_FORMAT_FLOAT;
+  }
+
+  /**
+   * Gets the origin of the pixel containing the given location, the corner with the minimum x and y.
+   *
+   * @param x x coordinate, in the spatial reference of the raster
+   * @param y y coordinate, in the spatial reference of the raster
+   * @return the minimum x and minimum y of the pixel, or null if the location is outside the raster
+   */
+  public double[] getCellOrigin(double x, double y) {
+    double column = (x - tiePoint[3]) / pixelScale[0] + tiePoint[0];
+    double row = (tiePoint[4] - y) / pixelScale[1] + tiePoint[1];
+    if (!(column >= 0 && column < width && row >= 0 && row < height)) {
+      return null;
+    }
+    // rows go down from the tie point, so the minimum y is at the bottom of the pixel
+    return new double[] {tiePoint[3] + ((int) column - tiePoint[0]) * pixelScale[0],
+      tiePoint[4] - ((int) row + 1 - tiePoint[1]) * pixelScale[1]};
+  }
+
+  /**
+   * Gets the values of each band of the pixel containing the given location.
+   *
+   * @param x x coordinate, in the spatial reference of the raster
+   * @param y y coordinate, in the spatial reference of the raster
+   * @return the value of each band, with no data values as NaN, or null if the location is outside the raster
+   */
+  public double[] sample(double x, double y) {
+
+    // convert the location to a pixel using the tie point and pixel scale
+    double column = (x - tiePoint[3]) / pixelScale[0] + tiePoint[0];
+    double row = (tiePoint[4] - y) / pixelScale[1] + tiePoint[1];
+    if (!(column >= 0 && column < width && row >= 0 && row < height)) {
+      return null;
+    }
+    int pixelColumn = (int) column;
+    int pixelRow = (int) row;
+
+    // find the block holding the pixel and the pixel's position within it
+    int block = (pixelRow / blockHeight) * blocksAcross + pixelColumn / blockWidth;
+    int pixelIndex = (pixelRow % blockHeight) * blockWidth + pixelColumn % blockWidth;
+    ByteBuffer data = blockCache.get(block);
+    if (data == null) {
+      data = readBlock(block);
+      blockCache.put(block, data);
+    }
+
+    double[] values = new double[bandCount];
+    int position = pixelIndex * bandCount * bytesPerSample;
+    for (int band = 0; band < bandCount; band++, position += bytesPerSample) {
+      double value = readValue(data, position);
+      values[band] = isNoData(value) ? Double.NaN : value;
+    }
+    return values;
+  }
+
+  @Override
+  public void close() throws IOException {
+    blockCache.clear();
+    channel.close();
+  }
+
+  /**
+   * Checks whether a sample is the no data value, compared in the precision of the samples. GDAL writes the no data
+   * value as text, so for 32-bit float samples it only matches once rounded to a float, such as -3.4028235e+38.
+   *
+   * @param value the sample value
+   * @return true if the sample is the no data value
+   */
+  private boolean isNoData(double value) {
+    if (sampleFormat == SAMPLE_FORMAT_FLOAT && bytesPerSample == 4) {
+      return (float) value == (float) noData;
+    }
+    return value == noData;
+  }
+
+  /**
+   * Reads the tags of the first image file directory.
+   *
+   * @param offset offset of the directory in the file
+   * @throws IOException if the directory uses unsupported features
+   */
+  private void readImageFileDirectory(long offset) throws IOException {
+
+    int planarConfiguration = 1;
+    int rowsPerStrip = Integer.MAX_VALUE;
+    long[] stripOffsets = null;
+    long[] stripByteCounts = null;
+    long[] tileOffsets = null;
+    long[] tileByteCounts = null;
+    int tileWidth = 0;
+    int tileHeight = 0;
+
+    int entryCount = Short.toUnsignedInt(file.getShort((int) offset));
+    for (int i = 0; i < entryCount; i++) {
+      int entry = (int) offset + 2 + i * 12;
+      int tag = Short.toUnsignedInt(file.getShort(entry));
+      switch (tag) {
+        case IMAGE_WIDTH:
+          width = (int) readLongs(entry)[0];
+          break;
+        case IMAGE_LENGTH:
+          height = (int) readLongs(entry)[0];
+          break;
+        case BITS_PER_SAMPLE:
+          long bits = readLongs(entry)[0];
+          if (bits != 8 && bits != 16 && bits != 32 && bits != 64) {
+            throw new IOException("Unsupported bits per sample: " + bits);
+          }
+          bytesPerSample = (int) bits / 8;
+          break;
+        case COMPRESSION:
+          compression = (int) readLongs(entry)[0];
+          break;
+        case STRIP_OFFSETS:
+          stripOffsets = readLongs(entry);
+          break;
+        case SAMPLES_PER_PIXEL:
+          bandCount = (int) readLongs(entry)[0];
+          break;
+        case ROWS_PER_STRIP:
+          rowsPerStrip = (int) Math.min(readLongs(entry)[0], Integer.MAX_VALUE);
+          break;
+        case STRIP_BYTE_COUNTS:
+          stripByteCounts = readLongs(entry);
+          break;
+        case PLANAR_CONFIGURATION:
+          planarConfiguration = (int) readLongs(entry)[0];
+          break;
+        case PREDICTOR:
+          predictor = (int) readLongs(entry)[0];
+          break;
+        case TILE_WIDTH:
+          tileWidth = (int) readLongs(entry)[0];
+          break;
+        case TILE_LENGTH:
+          tileHeight = (int) readLongs(entry)[0];
+          break;
+        case TILE_OFFSETS:
+          tileOffsets = readLongs(entry);
+          break;
+        case TILE_BYTE_COUNTS:
+          tileByteCounts = readLongs(entry);
+          break;
+        case SAMPLE_FORMAT:
+          sampleFormat = (int) readLongs(entry)[0];
+          break;
+        case MODEL_PIXEL_SCALE:
+          pixelScale = readDoubles(entry);
+          break;
+        case MODEL_TIEPOINT:
+          tiePoint = readDoubles(entry);
+          break;
+        case GDAL_NODATA:
+          String noDataText = readAscii(entry).trim();
+          if (!noDataText.isEmpty()) {
+            noData = Double.parseDouble(noDataText);
+          }
+          break;
+        default:
+          break;
+      }
+    }
+
+    if (compression != COMPRESSION_NONE && compression != COMPRESSION_LZW && compression != COMPRESSION_DEFLATE &&
+      compression != COMPRESSION_DEFLATE_OLD) {
+      throw new IOException("Unsupported compression: " + compression);
+    }
+    if (predictor != 1 && (predictor != 2 || sampleFormat == SAMPLE_FORMAT_FLOAT)) {
+      throw new IOException("Unsupported predictor: " + predictor);
+    }
+    if (planarConfiguration != 1 && bandCount > 1) {
+      throw new IOException("Only chunky pixel layouts are supported");
+    }
+    if (pixelScale == null || tiePoint == null) {
+      throw new IOException("GeoTIFF must be georeferenced by a tie point and pixel scale");
+    }
+
+    // treat strips as tiles the full width of the image
+    if (tileOffsets != null) {
+      blockWidth = tileWidth;
+      blockHeight = tileHeight;
+      blockOffsets = tileOffsets;
+      blockByteCounts = tileByteCounts;
+    } else {
+      blockWidth = width;
+      blockHeight = Math.min(rowsPerStrip, height);
+      blockOffsets = stripOffsets;
+      blockByteCounts = stripByteCounts;
+    }
+    if (blockOffsets == null || blockByteCounts == null || blockWidth <= 0 || blockHeight <= 0) {
+      throw new IOException("GeoTIFF has no strips or tiles");
+    }
+    blocksAcross = (width + blockWidth - 1) / blockWidth;
+  }
+
+  /**
+   * Reads a strip or tile, decompressing it if needed.
+   *
+   * @param block index of the strip or tile
+   * @return the uncompressed pixel data of the block
+   */
+  private ByteBuffer readBlock(int block) {
+
+    int offset = (int) blockOffsets[block];
+    int byteCount = (int) blockByteCounts[block];
+    int expected = blockWidth * blockHeight * bandCount * bytesPerSample;
+
+    ByteBuffer compressed = file.duplicate();
+    compressed.position(offset).limit(offset + byteCount);
+    compressed = compressed.slice();
+
+    // uncompressed blocks are read straight from the mapped file
+    if (compression == COMPRESSION_NONE) {
+      return compressed.order(byteOrder);
+    }
+
+    byte[] data = new byte[expected];
+    if (compression == COMPRESSION_LZW) {
+      decodeLzw(compressed, data);
+    } else {
+      Inflater inflater = new Inflater();
+      try {
+        inflater.setInput(compressed);
+        int length = 0;
+        while (length < expected && !inflater.finished() && !inflater.needsInput()) {
+          length += inflater.inflate(data, length, expected - length);
+        }
+      } catch (DataFormatException e) {
+        throw new IllegalStateException("Corrupt Deflate data in GeoTIFF", e);
+      } finally {
+        inflater.end();
+      }
+    }
+
+    ByteBuffer buffer = ByteBuffer.wrap(data).order(byteOrder);
+    if (predictor == 2) {
+      undoHorizontalDifferencing(buffer);
+    }
+    return buffer;
+  }
+
+  /**
+   * Decodes TIFF flavoured LZW data.
+   *
+   * @param input compressed data
+   * @param output array to fill with uncompressed data
+   */
+  private static void decodeLzw(ByteBuffer input, byte[] output) {
+
+    final int clearCode = 256;
+    final int endOfInformation = 257;
+    byte[][] table = new byte[4096][];
+    for (int i = 0; i < 256; i++) {
+      table[i] = new byte[] {(byte) i};
+    }
+    int nextCode = 258;
+    int codeLength = 9;
+    byte[] previous = null;
+    int outputPosition = 0;
+
+    int bitBuffer = 0;
+    int bitCount = 0;
+    while (outputPosition < output.length) {
+      // read the next code, most significant bit first
+      while (bitCount < codeLength && input.hasRemaining()) {
+        bitBuffer = (bitBuffer << 8) | (input.get() & 0xFF);
+        bitCount += 8;
+      }
+      if (bitCount < codeLength) {
+        break;
+      }
+      int code = (bitBuffer >>> (bitCount - codeLength)) & ((1 << codeLength) - 1);
+      bitCount -= codeLength;
+
+      if (code == endOfInformation) {
+        break;
+      }
+      if (code == clearCode) {
+        nextCode = 258;
+        codeLength = 9;
+        previous = null;
+        continue;
+      }
+
+      byte[] entry;
+      if (code < nextCode && table[code] != null) {
+        entry = table[code];
+        if (previous != null) {
+          addLzwEntry(table, nextCode++, previous, entry[0]);
+        }
+      } else if (previous != null) {
+        entry = addLzwEntry(table, nextCode++, previous, previous[0]);
+      } else {
+        throw new IllegalStateException("Corrupt LZW data in GeoTIFF");
+      }
+
+      int length = Math.min(entry.length, output.length - outputPosition);
+      System.arraycopy(entry, 0, output, outputPosition, length);
+      outputPosition += length;
+      previous = entry;
+
+      // the code length grows one code early in TIFF's flavour of LZW
+      if (nextCode + 1 >= (1 << codeLength) && codeLength < 12) {
+        codeLength++;
+      }
+    }
+  }
+
+  private static byte[] addLzwEntry(byte[][] table, int code, byte[] prefix, byte suffix) {
+    byte[] entry = new byte[prefix.length + 1];
+    System.arraycopy(prefix, 0, entry, 0, prefix.length);
+    entry[prefix.length] = suffix;
+    if (code < table.length) {
+      table[code] = entry;
+    }
+    return entry;
+  }
+
+  /**
+   * Reverses horizontal differencing, where each sample is stored as the difference from the same band of the pixel
+   * to its left.
+   *
+   * @param data uncompressed block data
+   */
+  private void undoHorizontalDifferencing(ByteBuffer data) {
+    int rowSamples = blockWidth * bandCount;
+    for (int row = 0; row < blockHeight; row++) {
+      int rowStart = row * rowSamples;
+      for (int i = bandCount; i < rowSamples; i++) {
+        int position = (rowStart + i) * bytesPerSample;
+        int left = position - bandCount * bytesPerSample;
+        switch (bytesPerSample) {
+          case 1:
+            data.put(position, (byte) (data.get(position) + data.get(left)));
+            break;
+          case 2:
+            data.putShort(position, (short) (data.getShort(position) + data.getShort(left)));
+            break;
+          case 4:
+            data.putInt(position, data.getInt(position) + data.getInt(left));
+            break;
+          default:
+            data.putLong(position, data.getLong(position) + data.getLong(left));
+            break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads a single sample value from block data.
+   *
+   * @param data block data
+   * @param position byte position of the sample
+   * @return the sample value
+   */
+  private double readValue(ByteBuffer data, int position) {
+    switch (bytesPerSample) {
+      case 1:
+        return sampleFormat == SAMPLE_FORMAT_INT ? data.get(position) : data.get(position) & 0xFF;
+      case 2:
+        return sampleFormat == SAMPLE_FORMAT_INT ? data.getShort(position) : data.getShort(position) & 0xFFFF;
+      case 4:
+        if (sampleFormat == SAMPLE_FORMAT_FLOAT) {
+          return data.getFloat(position);
+        }
+        return sampleFormat == SAMPLE_FORMAT_INT ? data.getInt(position) :
+          Integer.toUnsignedLong(data.getInt(position));
+      default:
+        return sampleFormat == SAMPLE_FORMAT_FLOAT ? data.getDouble(position) : data.getLong(position);
+    }
+  }
+
+  /**
+   * Reads the values of an integer tag.
+   *
+   * @param entry offset of the tag's directory entry
+   * @return the tag values
+   */
+  private long[] readLongs(int entry) {
+    int type = Short.toUnsignedInt(file.getShort(entry + 2));
+    int count = file.getInt(entry + 4);
+    int size = type == 3 || type == 8 ? 2 : type == 1 || type == 6 ? 1 : 4;
+    int offset = count * size <= 4 ? entry + 8 : file.getInt(entry + 8);
+    long[] values = new long[count];
+    for (int i = 0; i < count; i++) {
+      switch (size) {
+        case 1:
+          values[i] = file.get(offset + i) & 0xFF;
+          break;
+        case 2:
+          values[i] = file.getShort(offset + i * 2) & 0xFFFF;
+          break;
+        default:
+          values[i] = Integer.toUnsignedLong(file.getInt(offset + i * 4));
+          break;
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Reads the values of a double tag.
+   *
+   * @param entry offset of the tag's directory entry
+   * @return the tag values
+   */
+  private double[] readDoubles(int entry) {
+    int count = file.getInt(entry + 4);
+    int offset = file.getInt(entry + 8);
+    double[] values = new double[count];
+    for (int i = 0; i < count; i++) {
+      values[i] = file.getDouble(offset + i * 8);
+    }
+    return values;
+  }
+
+  /**
+   * Reads the value of an ASCII tag.
+   *
+   * @param entry offset of the tag's directory entry
+   * @return the tag value, without its terminating null
+   */
+  private String readAscii(int entry) {
+    int count = file.getInt(entry + 4);
+    int offset = count <= 4 ? entry + 8 : file.getInt(entry + 8);
+    byte[] bytes = new byte[count];
+    for (int i = 0; i < count; i++) {
+      bytes[i] = file.get(offset + i);
+    }
+    int length = count > 0 && bytes[count - 1] == 0 ? count - 1 : count;
+    return new String(bytes, 0, length, StandardCharsets.US_ASCII);
+  }
+}
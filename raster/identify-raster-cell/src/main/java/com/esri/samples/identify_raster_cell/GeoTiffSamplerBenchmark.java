@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.samples.identify_raster_cell;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures how many samples per second {@link GeoTiffSampler} reads from a GeoTIFF, without showing a UI, and the
+ * time each sample takes.
+ *
+ * <p>Two patterns are measured, each with a freshly opened sampler: points scattered at random over the whole raster,
+ * which decode a new strip or tile for most samples, and a random walk of small steps, like the mouse hovering over
+ * the map.
+ *
+ * <p>Usage: {@code GeoTiffSamplerBenchmark [GeoTIFF path] [samples]}. The EVI raster of the sample is read by default.
+ */
+public class GeoTiffSamplerBenchmark {
+
+  // largest step of the random walk, as a fraction of the raster's width and height
+  private static final double WALK_STEP = 0.002;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args optional GeoTIFF path and number of samples
+   */
+  public static void main(String[] args) throws Exception {
+
+    File rasterFile = args.length > 0 ? new File(args[0]) : new File(System.getProperty("data.dir"),
+      "./samples-data/SA_EVI_8Day_03May20/SA_EVI_8Day_03May20.tif");
+    int sampleCount = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+
+    double[] extent;
+    try (GeoTiffSampler sampler = GeoTiffSampler.open(rasterFile.toPath())) {
+      extent = sampler.getExtent();
+    }
+    double width = extent[2] - extent[0];
+    double height = extent[3] - extent[1];
+    System.out.printf("%s, %d samples%n", rasterFile.getName(), sampleCount);
+
+    // points anywhere in the raster
+    Random random = new Random(42);
+    double[] coordinates = new double[2 * sampleCount];
+    for (int i = 0; i < sampleCount; i++) {
+      coordinates[2 * i] = extent[0] + random.nextDouble() * width;
+      coordinates[2 * i + 1] = extent[1] + random.nextDouble() * height;
+    }
+    measure("random points", rasterFile, coordinates);
+
+    // small steps from the previous point, staying in the raster
+    double x = extent[0] + width / 2;
+    double y = extent[1] + height / 2;
+    for (int i = 0; i < sampleCount; i++) {
+      x = Math.min(extent[2] - 1e-9, Math.max(extent[0], x + (random.nextDouble() - 0.5) * WALK_STEP * width));
+      y = Math.min(extent[3] - 1e-9, Math.max(extent[1], y + (random.nextDouble() - 0.5) * WALK_STEP * height));
+      coordinates[2 * i] = x;
+      coordinates[2 * i + 1] = y;
+    }
+    measure("hover walk", rasterFile, coordinates);
+  }
+
+  /**
+   * Samples every point with a new sampler, then prints the throughput and the median, 99th percentile and largest
+   * time per sample.
+   */
+  private static void measure(String pattern, File rasterFile, double[] coordinates) throws Exception {
+    int sampleCount = coordinates.length / 2;
+    long[] times = new long[sampleCount];
+    int noData = 0;
+
+    long start = System.nanoTime();
+    try (GeoTiffSampler sampler = GeoTiffSampler.open(rasterFile.toPath())) {
+      for (int i = 0; i < sampleCount; i++) {
+        long sampleStart = System.nanoTime();
+        double[] values = sampler.sample(coordinates[2 * i], coordinates[2 * i + 1]);
+        times[i] = System.nanoTime() - sampleStart;
+        if (values == null || Double.isNaN(values[0])) {
+          noData++;
+        }
+      }
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    Arrays.sort(times);
+    System.out.printf("  %-16s %8.2f s %12.0f samples/s   median %6.2f us   p99 %8.2f us   max %9.2f us" +
+        "   %d no data%n", pattern, seconds, sampleCount / seconds, times[sampleCount / 2] / 1e3,
+      times[(int) (sampleCount * 0.99)] / 1e3, times[sampleCount - 1] / 1e3, noData);
+  }
+}
@@ -17,31 +17,36 @@
 package com.esri.samples.identify_raster_cell;
 
 import java.io.File;
-import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.io.IOException;
 
 import javafx.application.Application;
+import javafx.geometry.Insets;
 import javafx.geometry.Point2D;
+import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
 import javafx.stage.Stage;
 
 import com.esri.arcgisruntime.ArcGISRuntimeEnvironment;
-import com.esri.arcgisruntime.concurrent.ListenableFuture;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
 import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.geometry.SpatialReference;
 import com.esri.arcgisruntime.layers.RasterLayer;
 import com.esri.arcgisruntime.loadable.LoadStatus;
 import com.esri.arcgisruntime.mapping.ArcGISMap;
 import com.esri.arcgisruntime.mapping.BasemapStyle;
-import com.esri.arcgisruntime.mapping.GeoElement;
 import com.esri.arcgisruntime.mapping.view.Callout;
-import com.esri.arcgisruntime.mapping.view.IdentifyLayerResult;
 import com.esri.arcgisruntime.mapping.view.MapView;
 import com.esri.arcgisruntime.raster.Raster;
-import com.esri.arcgisruntime.raster.RasterCell;
 
 public class IdentifyRasterCellSample extends Application {
 
@@ -49,6 +54,11 @@ public class IdentifyRasterCellSample extends Application {
   private Callout callout;
   private MapView mapView;
   private RasterLayer rasterLayer;
+  private RasterCellIdentifier rasterCellIdentifier;
+  private Label statisticsLabel;
+  private GeoTiffSampler geoTiffSampler;
+  private long samplesRead;
+  private long samplingNanos;
 
   @Override
   public void start(Stage stage) {
@@ -77,7 +87,15 @@ public class IdentifyRasterCellSample extends Application {
       mapView.setMap(map);
 
       // create a raster from a local raster file
-      Raster raster = new Raster(new File(System.getProperty("data.dir"), "./samples-data/SA_EVI_8Day_03May20/SA_EVI_8Day_03May20.tif").getAbsolutePath());
+      File rasterFile = new File(System.getProperty("data.dir"), "./samples-data/SA_EVI_8Day_03May20/SA_EVI_8Day_03May20.tif");
+      Raster raster = new Raster(rasterFile.getAbsolutePath());
+
+      // read pixel values for hover straight from the file where possible, otherwise fall back to identifying the layer
+      try {
+        geoTiffSampler = GeoTiffSampler.open(rasterFile.toPath());
+      } catch (IOException e) {
+        geoTiffSampler = null;
+      }
 
       // create a raster layer
       rasterLayer = new RasterLayer(raster);
@@ -101,6 +119,13 @@ public class IdentifyRasterCellSample extends Application {
       // make the callout transparent to mouse interactions, so that we keep identifying raster cells behind it
       callout.setMouseTransparent(true);
 
+      // identify at most once per pulse while the mouse moves, showing the latest identified cell in the callout
+      rasterCellIdentifier = new RasterCellIdentifier(mapView, rasterLayer, (mapPoint, detail) -> {
+        callout.setDetail(detail);
+        callout.showCalloutAt(mapPoint);
+        statisticsLabel.setText(rasterCellIdentifier.getStatistics());
+      });
+
       // start identifying on-the-fly if the mouse enters the map view, and the callout is not locked
       mapView.setOnMouseEntered(mouseEvent -> {
         if (!calloutLocked) {
@@ -135,8 +160,18 @@ public class IdentifyRasterCellSample extends Application {
         }
       });
 
-      // add the map view to stack pane
-      stackPane.getChildren().addAll(mapView);
+      // show how many identify requests were issued, answered from the cache or coalesced
+      statisticsLabel = new Label(rasterCellIdentifier.getStatistics());
+      statisticsLabel.setMouseTransparent(true);
+      statisticsLabel.setPadding(new Insets(10));
+      statisticsLabel.setBackground(new Background(new BackgroundFill(Paint.valueOf("rgba(0,0,0,0.3)"), CornerRadii.EMPTY,
+        Insets.EMPTY)));
+      statisticsLabel.setTextFill(Color.WHITE);
+
+      // add the map view and label to stack pane
+      stackPane.getChildren().addAll(mapView, statisticsLabel);
+      StackPane.setAlignment(statisticsLabel, Pos.TOP_LEFT);
+      StackPane.setMargin(statisticsLabel, new Insets(10, 0, 0, 10));
 
     } catch (Exception e) {
       // on any error, display the stack trace
@@ -145,61 +180,54 @@ public class IdentifyRasterCellSample extends Application {
   }
 
   /**
-   * Identifies the raster cell at the mouse event's location and displays a callout at that location.
+   * Shows the value of the raster cell at the mouse event's location in a callout at that location. The value is read
+   * from the GeoTIFF file when it can be, otherwise an identify of the raster cell is requested.
    *
    * @param mouseEvent the mouse event used to identify the raster cell and show the callout
    */
   private void identifyRasterCell(MouseEvent mouseEvent) {
 
-    // get the map point where the user clicked
-    Point2D point = new Point2D(mouseEvent.getX(), mouseEvent.getY());
-    Point mapPoint = mapView.screenToLocation(point);
-
-    // identify the layers at the clicked location
-    ListenableFuture<IdentifyLayerResult> identifyLayerResultFuture
-      = mapView.identifyLayerAsync(rasterLayer, point, 10, false, 1);
-
-    identifyLayerResultFuture.addDoneListener(() -> {
-      try {
-        // get the result of the query
-        IdentifyLayerResult identifyLayerResult = identifyLayerResultFuture.get();
-
-        // get the read only list of geo-elements (they contain RasterCells)
-        List<GeoElement> geoElements = identifyLayerResult.getElements();
-
-        // create a StringBuilder to display information to the user
-        StringBuilder stringBuilder = new StringBuilder();
-
-        // loop through each RasterCell
-        for (GeoElement geoElement : geoElements) {
-
-          if (geoElement instanceof RasterCell) {
-            RasterCell rasterCell = (RasterCell) geoElement;
-
-            // loop through the attributes (key/value pairs)
-            rasterCell.getAttributes().forEach((key, value) ->
-              // add the key-value pair to the string builder
-              stringBuilder.append(key).append(": ").append(value).append("\n")
-            );
-
-            // get and format the X and Y values for the cell
-            double x = rasterCell.getGeometry().getExtent().getXMin();
-            double y = rasterCell.getGeometry().getExtent().getYMin();
-            String string = "X: " + Math.round(x) + " Y: " + Math.round(y);
+    Point2D screenPoint = new Point2D(mouseEvent.getX(), mouseEvent.getY());
+    SpatialReference rasterSpatialReference = rasterLayer.getSpatialReference();
+    if (geoTiffSampler == null || rasterSpatialReference == null) {
+      rasterCellIdentifier.request(screenPoint);
+      return;
+    }
 
-            // add the X & Y coordinates where the user clicked raster cell to the string builder
-            stringBuilder.append(string);
+    Point mapPoint = mapView.screenToLocation(screenPoint);
+    if (mapPoint == null) {
+      return;
+    }
 
-            // define a callout based on the string builder
-            callout.setDetail(stringBuilder.toString());
-            callout.showCalloutAt(mapPoint);
-          }
+    // sample the pixel under the mouse, timing how long it takes
+    long start = System.nanoTime();
+    Point rasterPoint = (Point) GeometryEngine.project(mapPoint, rasterSpatialReference);
+    double[] values = geoTiffSampler.sample(rasterPoint.getX(), rasterPoint.getY());
+    samplingNanos += System.nanoTime() - start;
+    samplesRead++;
+
+    double[] cellOrigin = geoTiffSampler.getCellOrigin(rasterPoint.getX(), rasterPoint.getY());
+    if (values != null && cellOrigin != null) {
+      // add each band's value to the callout, without a decimal part for integer bands
+      StringBuilder stringBuilder = new StringBuilder();
+      for (int band = 0; band < values.length; band++) {
+        stringBuilder.append("Band ").append(band + 1).append(": ");
+        if (geoTiffSampler.isFloatingPoint() || Double.isNaN(values[band])) {
+          stringBuilder.append(values[band]);
+        } else {
+          stringBuilder.append((long) values[band]);
         }
-      } catch (InterruptedException | ExecutionException e) {
-        new Alert(Alert.AlertType.ERROR, "Error identifying layer").show();
+        stringBuilder.append("\n");
       }
-    });
-
+      // add the X & Y coordinates of the cell's origin, as the identified cells show
+      stringBuilder.append("X: ").append(Math.round(cellOrigin[0])).append(" Y: ").append(Math.round(cellOrigin[1]));
+      callout.setDetail(stringBuilder.toString());
+      callout.showCalloutAt(mapPoint);
+    } else {
+      callout.dismiss();
+    }
+    statisticsLabel.setText("Samples read from file: " + samplesRead + "\nAverage sample time: " +
+      samplingNanos / samplesRead / 1000 + " \u00B5s");
   }
 
   /**
@@ -208,6 +236,16 @@ public class IdentifyRasterCellSample extends Application {
   @Override
   public void stop() {
 
+    if (rasterCellIdentifier != null) {
+      rasterCellIdentifier.cancel();
+    }
+    if (geoTiffSampler != null) {
+      try {
+        geoTiffSampler.close();
+      } catch (IOException e) {
+        // nothing more to release
+      }
+    }
     if (mapView != null) {
       mapView.dispose();
     }
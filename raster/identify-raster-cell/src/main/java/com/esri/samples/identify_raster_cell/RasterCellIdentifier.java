@@ -0,0 +1,226 @@
+/*
+ * Copyright 2021 Esri.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.esri.samples.identify_raster_cell;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Point2D;
+import javafx.scene.control.Alert;
+
+import com.esri.arcgisruntime.concurrent.ListenableFuture;
+import com.esri.arcgisruntime.geometry.Envelope;
+import com.esri.arcgisruntime.geometry.GeometryEngine;
+import com.esri.arcgisruntime.geometry.Point;
+import com.esri.arcgisruntime.layers.RasterLayer;
+import com.esri.arcgisruntime.mapping.GeoElement;
+import com.esri.arcgisruntime.mapping.view.IdentifyLayerResult;
+import com.esri.arcgisruntime.mapping.view.MapView;
+import com.esri.arcgisruntime.raster.RasterCell;
+
+/**
+ * Identifies raster cells under a moving mouse, issuing at most one identify per JavaFX pulse. Only the latest request
+ * matters: an identify still running when a newer one starts is cancelled, and results of superseded identifies are
+ * dropped. The formatted attributes of recently identified cells are cached by pixel, so moving within a cell, or back
+ * to a recent one, doesn't need another identify.
+ *
+ * <p>All methods must be called on the JavaFX application thread.
+ */
+public class RasterCellIdentifier {
+
+  // number of formatted raster cells kept in the cache
+  private static final int CACHE_SIZE = 256;
+
+  private final MapView mapView;
+  private final RasterLayer rasterLayer;
+  private final BiConsumer<Point, String> onIdentified;
+  private final AnimationTimer timer;
+  private final Map<Long, String> cellCache = new LinkedHashMap<Long, String>(CACHE_SIZE, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+      return size() > CACHE_SIZE;
+    }
+  };
+
+  private Point2D pendingScreenPoint;
+  private ListenableFuture<IdentifyLayerResult> runningIdentify;
+  private long latestRequest;
+
+  // origin and size of a raster cell, known once the first cell has been identified
+  private Envelope cellEnvelope;
+
+  private long requestsReceived;
+  private long identifiesIssued;
+  private long cacheHits;
+
+  /**
+   * Creates an identifier for the given raster layer.
+   *
+   * @param mapView the map view displaying the layer
+   * @param rasterLayer the raster layer to identify
+   * @param onIdentified called with the map location and the formatted cell attributes when a cell is identified
+   */
+  public RasterCellIdentifier(MapView mapView, RasterLayer rasterLayer, BiConsumer<Point, String> onIdentified) {
+    this.mapView = mapView;
+    this.rasterLayer = rasterLayer;
+    this.onIdentified = onIdentified;
+    timer = new AnimationTimer() {
+      @Override
+      public void handle(long now) {
+        stop();
+        identifyPendingPoint();
+      }
+    };
+  }
+
+  /**
+   * Requests an identify at the given screen point. Requests made before the next pulse replace this one.
+   *
+   * @param screenPoint the screen point to identify
+   */
+  public void request(Point2D screenPoint) {
+    requestsReceived++;
+    pendingScreenPoint = screenPoint;
+    timer.start();
+  }
+
+  /**
+   * Cancels any pending or running identify.
+   */
+  public void cancel() {
+    timer.stop();
+    pendingScreenPoint = null;
+    latestRequest++;
+    if (runningIdentify != null) {
+      runningIdentify.cancel(true);
+      runningIdentify = null;
+    }
+  }
+
+  /**
+   * Returns a summary of how many requests were received, issued as identifies, answered from the cache or coalesced.
+   *
+   * @return the request statistics
+   */
+  public String getStatistics() {
+    long coalesced = requestsReceived - identifiesIssued - cacheHits;
+    return "Requests: " + requestsReceived + "\nIdentifies issued: " + identifiesIssued + "\nCache hits: " + cacheHits +
+      "\nCoalesced: " + coalesced;
+  }
+
+  /**
+   * Identifies the most recently requested screen point, or answers it from the cache.
+   */
+  private void identifyPendingPoint() {
+
+    Point2D screenPoint = pendingScreenPoint;
+    pendingScreenPoint = null;
+    Point mapPoint = screenPoint == null ? null : mapView.screenToLocation(screenPoint);
+    if (mapPoint == null) {
+      return;
+    }
+
+    // answer from the cache if the cell under the point was identified recently
+    Long cellKey = cellKey(mapPoint);
+    String cached = cellKey == null ? null : cellCache.get(cellKey);
+    if (cached != null) {
+      cacheHits++;
+      // the cached cell is the latest answer, so ignore any identify still running
+      cancel();
+      onIdentified.accept(mapPoint, cached);
+      return;
+    }
+
+    // cancel the identify still running for an older point, its result is no longer wanted
+    if (runningIdentify != null) {
+      runningIdentify.cancel(true);
+    }
+
+    identifiesIssued++;
+    long request = ++latestRequest;
+    ListenableFuture<IdentifyLayerResult> identify = mapView.identifyLayerAsync(rasterLayer, screenPoint, 10, false, 1);
+    runningIdentify = identify;
+
+    identify.addDoneListener(() -> {
+      // drop results that arrive after a newer request was made
+      if (request != latestRequest || identify.isCancelled()) {
+        return;
+      }
+      runningIdentify = null;
+      try {
+        for (GeoElement geoElement : identify.get().getElements()) {
+          if (geoElement instanceof RasterCell) {
+            RasterCell rasterCell = (RasterCell) geoElement;
+            if (cellEnvelope == null) {
+              cellEnvelope = rasterCell.getGeometry().getExtent();
+            }
+            String detail = formatRasterCell(rasterCell);
+            cellCache.put(cellKey(rasterCell.getGeometry().getExtent().getCenter()), detail);
+            onIdentified.accept(mapPoint, detail);
+          }
+        }
+      } catch (InterruptedException | ExecutionException e) {
+        new Alert(Alert.AlertType.ERROR, "Error identifying layer").show();
+      }
+    });
+  }
+
+  /**
+   * Gets a key for the raster cell containing the given point, based on the position and size of the first cell
+   * identified.
+   *
+   * @param point point in the map
+   * @return the cell key, or null if no cell has been identified yet
+   */
+  private Long cellKey(Point point) {
+    if (cellEnvelope == null) {
+      return null;
+    }
+    Point rasterPoint = (Point) GeometryEngine.project(point, cellEnvelope.getSpatialReference());
+    long column = (long) Math.floor((rasterPoint.getX() - cellEnvelope.getXMin()) / cellEnvelope.getWidth());
+    long row = (long) Math.floor((rasterPoint.getY() - cellEnvelope.getYMin()) / cellEnvelope.getHeight());
+    return (column << 32) ^ (row & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Formats the attributes and location of a raster cell for display.
+   *
+   * @param rasterCell the raster cell
+   * @return the formatted cell
+   */
+  private static String formatRasterCell(RasterCell rasterCell) {
+
+    // create a StringBuilder to display information to the user
+    StringBuilder stringBuilder = new StringBuilder();
+
+    // loop through the attributes (key/value pairs)
+    rasterCell.getAttributes().forEach((key, value) ->
+      // add the key-value pair to the string builder
+      stringBuilder.append(key).append(": ").append(value).append("\n")
+    );
+
+    // add the X & Y coordinates of the raster cell to the string builder
+    double x = rasterCell.getGeometry().getExtent().getXMin();
+    double y = rasterCell.getGeometry().getExtent().getYMin();
+    stringBuilder.append("X: ").append(Math.round(x)).append(" Y: ").append(Math.round(y));
+
+    return stringBuilder.toString();
+  }
+}
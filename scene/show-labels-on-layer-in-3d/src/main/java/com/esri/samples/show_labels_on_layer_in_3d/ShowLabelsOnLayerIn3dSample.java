@@ -18,11 +18,18 @@
 package com.esri.samples.show_labels_on_layer_in_3d;
 
 import javafx.application.Application;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
 import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
 import javafx.stage.Stage;
 
 import com.esri.arcgisruntime.arcgisservices.LabelingPlacement;
@@ -31,6 +38,7 @@ import com.esri.arcgisruntime.layers.FeatureLayer;
 import com.esri.arcgisruntime.loadable.LoadStatus;
 import com.esri.arcgisruntime.mapping.ArcGISScene;
 import com.esri.arcgisruntime.mapping.labeling.ArcadeLabelExpression;
+import com.esri.arcgisruntime.mapping.view.DrawStatus;
 import com.esri.arcgisruntime.mapping.view.SceneView;
 import com.esri.arcgisruntime.portal.Portal;
 import com.esri.arcgisruntime.portal.PortalItem;
@@ -40,6 +48,9 @@ import com.esri.arcgisruntime.symbology.TextSymbol;
 public class ShowLabelsOnLayerIn3dSample extends Application {
 
   private SceneView sceneView;
+  private long drawStart;
+  private long drawCount;
+  private long totalDrawMilliseconds;
 
   @Override
   public void start(Stage stage) {
@@ -68,7 +79,30 @@ public class ShowLabelsOnLayerIn3dSample extends Application {
       // create a progress indicator and display it to indicate loading is in progress
       var progressIndicator = new ProgressIndicator();
       progressIndicator.setVisible(true);
-      stackPane.getChildren().addAll(sceneView, progressIndicator);
+
+      // show how long the scene view takes to draw, including placing the labels, after each navigation
+      var drawTimeLabel = new Label("Waiting for the scene to draw");
+      drawTimeLabel.setMouseTransparent(true);
+      drawTimeLabel.setPadding(new Insets(10));
+      drawTimeLabel.setBackground(new Background(new BackgroundFill(Paint.valueOf("rgba(0,0,0,0.3)"), CornerRadii.EMPTY,
+        Insets.EMPTY)));
+      drawTimeLabel.setTextFill(Color.WHITE);
+      sceneView.addDrawStatusChangedListener(drawStatusChangedEvent -> {
+        if (drawStatusChangedEvent.getDrawStatus() == DrawStatus.IN_PROGRESS) {
+          drawStart = System.nanoTime();
+        } else if (drawStatusChangedEvent.getDrawStatus() == DrawStatus.COMPLETED && drawStart != 0) {
+          long milliseconds = (System.nanoTime() - drawStart) / 1000000;
+          drawStart = 0;
+          drawCount++;
+          totalDrawMilliseconds += milliseconds;
+          drawTimeLabel.setText("Drawn in " + milliseconds + " ms\nAverage over " + drawCount + " draws: " +
+            totalDrawMilliseconds / drawCount + " ms");
+        }
+      });
+
+      stackPane.getChildren().addAll(sceneView, progressIndicator, drawTimeLabel);
+      StackPane.setAlignment(drawTimeLabel, Pos.TOP_LEFT);
+      StackPane.setMargin(drawTimeLabel, new Insets(10, 0, 0, 10));
 
       scene.addDoneLoadingListener(() -> {
         if (scene.getLoadStatus() == LoadStatus.LOADED) {